@@ -0,0 +1,43 @@
+package com.sensys.sse_engine.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date decoding through CustomDateDeserializer, one parameter per supported format
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateDeserializerBenchmark {
+
+    @Param({
+        "2024-05-01T12:30:45.123Z",
+        "2024-05-01T12:30:45.123",
+        "Wed, 01 May 2024 12:30:45 UTC",
+        "2024-05-01",
+        "12:30:45 UTC"
+    })
+    private String value;
+
+    private byte[] payload;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() {
+        payload = ("\"" + value + "\"").getBytes();
+        reader = Fixtures.OBJECT_MAPPER.readerFor(Date.class);
+    }
+
+    @Benchmark
+    public Date deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sensys.sse_engine.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sensys.sse_engine.config.JacksonConfig;
+import com.sensys.sse_engine.config.NiFiProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Loads the checked-in NiFi payload fixtures and scales them to the requested size by
+ * replicating their entries with unique IDs, so larger payloads keep a realistic shape.
+ */
+public final class Fixtures {
+
+    public static final ObjectMapper OBJECT_MAPPER = JacksonConfig.createObjectMapper(new NiFiProperties().getStatusDecoding());
+
+    /**
+     * Mapper for the given status decoding, to compare the two modes
+     */
+    public static ObjectMapper objectMapper(NiFiProperties.StatusDecoding statusDecoding) {
+        return JacksonConfig.createObjectMapper(statusDecoding);
+    }
+
+    private static final String RESOURCES_FIXTURE = "/fixtures/resources-1000.json";
+    private static final String STATUS_FIXTURE = "/fixtures/status-100-processors.json";
+
+    private Fixtures() {
+    }
+
+    /**
+     * A {@code /nifi-api/resources} payload with the given number of resources
+     */
+    public static byte[] resources(int resourceCount) {
+        ObjectNode root = (ObjectNode) load(RESOURCES_FIXTURE);
+        root.set("resources", replicate((ArrayNode) root.get("resources"), resourceCount, "identifier"));
+        return write(root);
+    }
+
+    /**
+     * A {@code /nifi-api/flow/process-groups/{id}/status} payload with the given number of
+     * processors and as many connections
+     */
+    public static byte[] status(int processorCount) {
+        ObjectNode root = (ObjectNode) load(STATUS_FIXTURE);
+        ObjectNode snapshot = (ObjectNode) root.get("processGroupStatus").get("aggregateSnapshot");
+        snapshot.set("processorStatusSnapshots",
+            replicate((ArrayNode) snapshot.get("processorStatusSnapshots"), processorCount, "id"));
+        snapshot.set("connectionStatusSnapshots",
+            replicate((ArrayNode) snapshot.get("connectionStatusSnapshots"), processorCount, "id"));
+        return write(root);
+    }
+
+    private static ArrayNode replicate(ArrayNode template, int count, String idField) {
+        ArrayNode result = OBJECT_MAPPER.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            JsonNode entry = template.get(i % template.size());
+            int copy = i / template.size();
+            if (copy == 0) {
+                result.add(entry);
+                continue;
+            }
+            ObjectNode clone = entry.deepCopy();
+            clone.put(idField, entry.get(idField).asText() + "-" + copy);
+            result.add(clone);
+        }
+        return result;
+    }
+
+    private static JsonNode load(String resource) {
+        try (InputStream in = Fixtures.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark fixture: " + resource);
+            }
+            return OBJECT_MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] write(JsonNode node) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
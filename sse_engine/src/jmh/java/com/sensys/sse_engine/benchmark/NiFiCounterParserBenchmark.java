@@ -0,0 +1,31 @@
+package com.sensys.sse_engine.benchmark;
+
+import com.sensys.sse_engine.helper.NiFiCounterParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of formatted NiFi counters such as the queued and input strings
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NiFiCounterParserBenchmark {
+
+    @Param({"0 (0 bytes)", "1,234 (5.6 MB)", "12,345,678 (1.25 GB)"})
+    private String value;
+
+    @Benchmark
+    public long parseCount() {
+        return NiFiCounterParser.parseCount(value);
+    }
+
+    @Benchmark
+    public long parseSize() {
+        return NiFiCounterParser.parseSize(value);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sensys.sse_engine.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sensys.sse_engine.dto.NiFiResource;
+import com.sensys.sse_engine.dto.NiFiResourcesDTO;
+import com.sensys.sse_engine.dto.ProcessorStatusEntity;
+import com.sensys.sse_engine.dto.StatusResponse;
+import com.sensys.sse_engine.helper.JsonArrayStreamDecoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson decoding of the two largest NiFi payloads at realistic sizes, buffered whole
+ * and streamed element by element from network sized chunks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NiFiDecodingBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final JsonArrayStreamDecoder STREAM_DECODER = new JsonArrayStreamDecoder(Fixtures.OBJECT_MAPPER);
+
+    @State(Scope.Benchmark)
+    public static class ResourcesPayload {
+        @Param({"1000", "10000", "100000"})
+        int resourceCount;
+
+        byte[] payload;
+        ObjectReader reader;
+
+        @Setup
+        public void setUp() {
+            payload = Fixtures.resources(resourceCount);
+            reader = Fixtures.OBJECT_MAPPER.readerFor(NiFiResourcesDTO.class);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StatusPayload {
+        @Param({"100", "1000", "10000"})
+        int processorCount;
+
+        byte[] payload;
+        ObjectReader reader;
+
+        @Setup
+        public void setUp() {
+            payload = Fixtures.status(processorCount);
+            reader = Fixtures.OBJECT_MAPPER.readerFor(StatusResponse.class);
+        }
+    }
+
+    @Benchmark
+    public NiFiResourcesDTO decodeResources(ResourcesPayload state) throws IOException {
+        return state.reader.readValue(state.payload);
+    }
+
+    @Benchmark
+    public StatusResponse decodeStatus(StatusPayload state) throws IOException {
+        return state.reader.readValue(state.payload);
+    }
+
+    @Benchmark
+    public void streamResources(ResourcesPayload state, Blackhole blackhole) {
+        STREAM_DECODER.decode(chunks(state.payload), "resources", NiFiResource.class)
+            .doOnNext(blackhole::consume)
+            .blockLast();
+    }
+
+    @Benchmark
+    public void streamProcessorStatuses(StatusPayload state, Blackhole blackhole) {
+        STREAM_DECODER.decodeEvery(chunks(state.payload), "processorStatusSnapshots", ProcessorStatusEntity.class)
+            .doOnNext(blackhole::consume)
+            .blockLast();
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] payload) {
+        return Flux.range(0, (payload.length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+            .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(
+                payload, chunk * CHUNK_SIZE, Math.min(payload.length, (chunk + 1) * CHUNK_SIZE))));
+    }
+}
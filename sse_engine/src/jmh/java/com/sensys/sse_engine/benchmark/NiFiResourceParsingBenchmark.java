@@ -0,0 +1,48 @@
+package com.sensys.sse_engine.benchmark;
+
+import com.sensys.sse_engine.dto.NiFiResource;
+import com.sensys.sse_engine.dto.NiFiResourcesDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identifier parsing done by NiFiResource.getType() and getId() on every lookup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NiFiResourceParsingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int resourceCount;
+
+    private List<NiFiResource> resources;
+
+    @Setup
+    public void setUp() throws IOException {
+        resources = Fixtures.OBJECT_MAPPER
+            .readValue(Fixtures.resources(resourceCount), NiFiResourcesDTO.class)
+            .getResources();
+    }
+
+    @Benchmark
+    public void getType(Blackhole blackhole) {
+        for (NiFiResource resource : resources) {
+            blackhole.consume(resource.getType());
+        }
+    }
+
+    @Benchmark
+    public void getId(Blackhole blackhole) {
+        for (NiFiResource resource : resources) {
+            blackhole.consume(resource.getId());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sensys.sse_engine.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.dto.StatusResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status response decoding through reflective Jackson binding against the hand-specialised
+ * status deserializers, reported as decoded responses per second
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatusDecodingBenchmark {
+
+    @Param({"REFLECTIVE", "SPECIALISED"})
+    NiFiProperties.StatusDecoding decoding;
+
+    @Param({"100", "1000", "10000"})
+    int processorCount;
+
+    byte[] payload;
+    ObjectReader reader;
+
+    @Setup
+    public void setUp() {
+        payload = Fixtures.status(processorCount);
+        reader = Fixtures.objectMapper(decoding).readerFor(StatusResponse.class);
+    }
+
+    @Benchmark
+    public StatusResponse decodeStatus() throws IOException {
+        return reader.readValue(payload);
+    }
+}
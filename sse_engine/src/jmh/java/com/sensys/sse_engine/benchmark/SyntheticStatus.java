@@ -0,0 +1,91 @@
+package com.sensys.sse_engine.benchmark;
+
+import com.sensys.sse_engine.dto.ConnectionStatusEntity;
+import com.sensys.sse_engine.dto.ConnectionStatusSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.ProcessorStatusEntity;
+import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds deterministic, synthetic process group status graphs for benchmarks
+ */
+public final class SyntheticStatus {
+
+    private static final String[] RUN_STATUSES = {"RUNNING", "RUNNING", "RUNNING", "STOPPED", "INVALID", "DISABLED"};
+
+    private SyntheticStatus() {
+    }
+
+    /**
+     * Process group with the given number of processors and one connection per processor
+     */
+    public static ProcessGroupStatus processGroup(int processorCount) {
+        Random random = new Random(42);
+        String groupId = "00000000-0000-0000-0000-000000000000";
+
+        List<ProcessorStatusEntity> processors = new ArrayList<>(processorCount);
+        List<ConnectionStatusEntity> connections = new ArrayList<>(processorCount);
+        for (int i = 0; i < processorCount; i++) {
+            ProcessorStatusSnapshot processor = new ProcessorStatusSnapshot();
+            processor.setId("processor-" + i);
+            processor.setGroupId(groupId);
+            processor.setName("Processor " + i);
+            processor.setType("org.apache.nifi.processors.standard.UpdateAttribute");
+            processor.setRunStatus(RUN_STATUSES[random.nextInt(RUN_STATUSES.length)]);
+            processor.setFlowFilesIn(random.nextInt(100_000));
+            processor.setBytesIn(random.nextLong(1L << 34));
+            processor.setFlowFilesOut(random.nextInt(100_000));
+            processor.setBytesOut(random.nextLong(1L << 34));
+            processor.setTaskCount(random.nextInt(10_000));
+            processor.setTasksDurationNanos(random.nextLong(1L << 40));
+            processor.setActiveThreadCount(random.nextInt(4));
+
+            ProcessorStatusEntity processorEntity = new ProcessorStatusEntity();
+            processorEntity.setId(processor.getId());
+            processorEntity.setProcessorStatusSnapshot(processor);
+            processors.add(processorEntity);
+
+            ConnectionStatusSnapshot connection = new ConnectionStatusSnapshot();
+            connection.setId("connection-" + i);
+            connection.setGroupId(groupId);
+            connection.setSourceName(processor.getName());
+            connection.setDestinationName("Processor " + (i + 1));
+            connection.setFlowFilesIn(random.nextInt(100_000));
+            connection.setFlowFilesOut(random.nextInt(100_000));
+            connection.setFlowFilesQueued(random.nextInt(4) == 0 ? random.nextInt(10_000) : 0);
+            connection.setBytesQueued(random.nextLong(1L << 30));
+            connection.setQueuedSize(connection.getBytesQueued() + " bytes");
+
+            ConnectionStatusEntity connectionEntity = new ConnectionStatusEntity();
+            connectionEntity.setId(connection.getId());
+            connectionEntity.setConnectionStatusSnapshot(connection);
+            connections.add(connectionEntity);
+        }
+
+        ProcessGroupSnapshot snapshot = new ProcessGroupSnapshot();
+        snapshot.setId(groupId);
+        snapshot.setName("Synthetic group");
+        snapshot.setProcessorStatusSnapshots(processors);
+        snapshot.setConnectionStatusSnapshots(connections);
+        snapshot.setFlowFilesIn(1_000);
+        snapshot.setBytesIn(1L << 30);
+        snapshot.setFlowFilesOut(1_000);
+        snapshot.setBytesOut(1L << 30);
+        snapshot.setFlowFilesTransferred(2_000);
+        snapshot.setBytesTransferred(1L << 31);
+        snapshot.setFlowFilesReceived(0);
+        snapshot.setFlowFilesSent(0);
+
+        ProcessGroupStatus status = new ProcessGroupStatus();
+        status.setId(groupId);
+        status.setName(snapshot.getName());
+        status.setStatsLastRefreshed("12:00:00 UTC");
+        status.setAggregateSnapshot(snapshot);
+        return status;
+    }
+}
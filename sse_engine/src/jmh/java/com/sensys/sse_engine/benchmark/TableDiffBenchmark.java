@@ -0,0 +1,95 @@
+package com.sensys.sse_engine.benchmark;
+
+import com.sensys.sse_engine.DatabaseService;
+import com.sensys.sse_engine.model.ColumnMetadata;
+import com.sensys.sse_engine.model.SchemaDiff;
+import com.sensys.sse_engine.model.TableComparisonResult;
+import com.sensys.sse_engine.model.TableMetadata;
+import com.sensys.sse_engine.schema.SchemaDiffEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table-name diffing of DatabaseService.compareTables and structural diffing of
+ * compareSchemas, without the JDBC round trips
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableDiffBenchmark {
+
+    @Param({"1000", "10000", "40000"})
+    private int tableCount;
+
+    private List<String> sourceTables;
+    private List<String> destTables;
+    private List<TableMetadata> sourceStructures;
+    private List<TableMetadata> destStructures;
+
+    @Setup
+    public void setUp() {
+        // Destination misses every 50th source table and has a few extra tables of its own
+        sourceTables = new ArrayList<>(tableCount);
+        destTables = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            String table = "warehouse.fact_table_" + i;
+            sourceTables.add(table);
+            if (i % 50 != 0) {
+                destTables.add(table);
+            }
+            if (i % 100 == 0) {
+                destTables.add("warehouse.staging_table_" + i);
+            }
+        }
+
+        // Same layout with columns; every 20th shared table has a changed column type
+        sourceStructures = new ArrayList<>(tableCount);
+        destStructures = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            sourceStructures.add(table("fact_table_" + i, "VARCHAR(255)"));
+            if (i % 50 != 0) {
+                destStructures.add(table("fact_table_" + i, i % 20 == 0 ? "TEXT" : "VARCHAR(255)"));
+            }
+            if (i % 100 == 0) {
+                destStructures.add(table("staging_table_" + i, "VARCHAR(255)"));
+            }
+        }
+    }
+
+    private static TableMetadata table(String name, String labelType) {
+        List<ColumnMetadata> columns = List.of(
+            ColumnMetadata.builder().name("id").position(1).type("BIGINT").defaultValue("autoincrement").build(),
+            ColumnMetadata.builder().name("label").position(2).type(labelType).nullable(true).build(),
+            ColumnMetadata.builder().name("amount").position(3).type("DECIMAL(12,2)").nullable(true).build(),
+            ColumnMetadata.builder().name("created_at").position(4).type("TIMESTAMP").defaultValue("current_timestamp").build());
+        return TableMetadata.builder()
+            .schema("warehouse")
+            .name(name)
+            .columns(columns)
+            .primaryKey(List.of("id"))
+            .indexes(List.of())
+            .foreignKeys(List.of())
+            .build();
+    }
+
+    @Benchmark
+    public TableComparisonResult diffQualifiedNames() {
+        return DatabaseService.diffTableNames(sourceTables, destTables, false);
+    }
+
+    @Benchmark
+    public TableComparisonResult diffStrippedNames() {
+        return DatabaseService.diffTableNames(sourceTables, destTables, true);
+    }
+
+    @Benchmark
+    public SchemaDiff diffStructures() {
+        return SchemaDiffEngine.diff(sourceStructures, destStructures, false);
+    }
+}
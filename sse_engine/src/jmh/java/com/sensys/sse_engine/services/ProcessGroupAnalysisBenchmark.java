@@ -0,0 +1,166 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.benchmark.SyntheticStatus;
+import com.sensys.sse_engine.dto.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.DecimalFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the single-pass analysis against the previous multi-pass, stream-based
+ * implementation on a synthetic snapshot. Both produce the same analysis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessGroupAnalysisBenchmark {
+
+    @Param({"1000", "10000"})
+    private int processorCount;
+
+    private ProcessGroupStatus status;
+    private NiFiStatusAnalysisService analysisService;
+    private LegacyAnalysis legacyAnalysis;
+
+    @Setup
+    public void setUp() {
+        status = SyntheticStatus.processGroup(processorCount);
+        analysisService = new NiFiStatusAnalysisService(null, null);
+        legacyAnalysis = new LegacyAnalysis();
+    }
+
+    @Benchmark
+    public ProcessGroupAnalysis singlePass() {
+        return analysisService.extractProcessGroupAnalysis(status, ProcessGroupRateTracker.REQUEST_SERIES);
+    }
+
+    @Benchmark
+    public ProcessGroupAnalysis legacyMultiPass() {
+        return legacyAnalysis.extract(status);
+    }
+
+    /**
+     * The analysis as it was before the single-pass rewrite, kept as the baseline. It does
+     * the same work as the single pass, group totals and rate sampling included, but walks
+     * the snapshot once per section and samples rates in passes of their own.
+     */
+    static final class LegacyAnalysis {
+        private static final double BYTES_TO_KB = 1024.0;
+        private static final double BYTES_TO_MB = 1024.0 * 1024.0;
+        private static final DecimalFormat df = new DecimalFormat("#,##0.00");
+        private final ProcessGroupRateTracker rateTracker = new ProcessGroupRateTracker();
+
+        ProcessGroupAnalysis extract(ProcessGroupStatus status) {
+            ProcessGroupSnapshot snapshot = status.getAggregateSnapshot();
+            ProcessGroupAnalysis.ProcessGroupAnalysisBuilder analysis = ProcessGroupAnalysis.builder()
+                .processGroupId(status.getId())
+                .processGroupName(status.getName())
+                .queueConnections(snapshot.getConnectionStatusSnapshots().stream()
+                    .filter(conn -> conn.getConnectionStatusSnapshot().getFlowFilesQueued() != null
+                        && conn.getConnectionStatusSnapshot().getFlowFilesQueued() > 0)
+                    .map(conn -> QueueConnectionInfo.builder()
+                        .connectionId(conn.getConnectionStatusSnapshot().getId())
+                        .sourceProcessor(conn.getConnectionStatusSnapshot().getSourceName())
+                        .destinationProcessor(conn.getConnectionStatusSnapshot().getDestinationName())
+                        .queuedCount(conn.getConnectionStatusSnapshot().getFlowFilesQueued())
+                        .queuedSize(conn.getConnectionStatusSnapshot().getQueuedSize())
+                        .build())
+                    .collect(Collectors.toList()))
+                .stoppedProcessors(snapshot.getProcessorStatusSnapshots().stream()
+                    .map(ProcessorStatusEntity::getProcessorStatusSnapshot)
+                    .filter(proc -> "STOPPED".equalsIgnoreCase(proc.getRunStatus()))
+                    .map(this::stateInfo)
+                    .collect(Collectors.toList()))
+                .notRunningProcessors(snapshot.getProcessorStatusSnapshots().stream()
+                    .map(ProcessorStatusEntity::getProcessorStatusSnapshot)
+                    .filter(proc -> !"RUNNING".equalsIgnoreCase(proc.getRunStatus()))
+                    .filter(proc -> !"STOPPED".equalsIgnoreCase(proc.getRunStatus()))
+                    .map(this::stateInfo)
+                    .collect(Collectors.toList()))
+                .processorTransfers(snapshot.getProcessorStatusSnapshots().stream()
+                    .map(proc -> transferInfo(proc.getProcessorStatusSnapshot()))
+                    .collect(Collectors.toList()))
+                .groupTotalTransfer(groupTotal(snapshot));
+
+            ProcessGroupRateTracker.GroupRates rates = rateTracker.begin(status.getId(),
+                ProcessGroupRateTracker.REQUEST_SERIES, snapshot.getProcessorStatusSnapshots().size(),
+                snapshot.getConnectionStatusSnapshots().size());
+            snapshot.getProcessorStatusSnapshots().forEach(proc -> rates.addProcessor(proc.getProcessorStatusSnapshot()));
+            snapshot.getConnectionStatusSnapshots().forEach(conn -> rates.addConnection(conn.getConnectionStatusSnapshot()));
+            rates.applyTo(analysis, snapshot);
+            return analysis.build();
+        }
+
+        private ProcessorStateInfo stateInfo(ProcessorStatusSnapshot processor) {
+            return ProcessorStateInfo.builder()
+                .processorId(processor.getId())
+                .processorName(processor.getName())
+                .processorType(processor.getType())
+                .runStatus(processor.getRunStatus())
+                .build();
+        }
+
+        private ProcessorTransferInfo transferInfo(ProcessorStatusSnapshot processor) {
+            long nanos = processor.getTasksDurationNanos() != null ? processor.getTasksDurationNanos() : 0L;
+            long tasks = processor.getTaskCount() != null ? processor.getTaskCount() : 0L;
+            return ProcessorTransferInfo.builder()
+                .processorId(processor.getId())
+                .processorName(processor.getName())
+                .processorType(processor.getType())
+                .input(metrics(processor.getFlowFilesIn(), processor.getBytesIn()))
+                .output(metrics(processor.getFlowFilesOut(), processor.getBytesOut()))
+                .timing(ProcessorTimingInfo.builder()
+                    .tasksDurationNanos(nanos)
+                    .processingTimeSeconds(nanos / 1_000_000_000.0)
+                    .taskCount(tasks)
+                    .averageTaskDurationMs(tasks > 0 ? (nanos / 1_000_000.0) / tasks : 0.0)
+                    .formattedProcessingTime(duration(nanos))
+                    .build())
+                .build();
+        }
+
+        private String duration(long nanos) {
+            if (nanos == 0) return "0 ms";
+            long ms = nanos / 1_000_000;
+            if (ms < 1000) return ms + " ms";
+            long seconds = ms / 1000;
+            if (seconds < 60) return df.format(seconds) + " seconds";
+            long minutes = seconds / 60;
+            seconds = seconds % 60;
+            if (minutes < 60) return String.format("%d minutes %d seconds", minutes, seconds);
+            return String.format("%d hours %d minutes", minutes / 60, minutes % 60);
+        }
+
+        private TransferMetrics groupTotal(ProcessGroupSnapshot snapshot) {
+            long flowFiles = snapshot.getFlowFilesIn() + snapshot.getFlowFilesOut() + snapshot.getFlowFilesTransferred()
+                + snapshot.getFlowFilesReceived() + snapshot.getFlowFilesSent();
+            long bytes = (snapshot.getBytesIn() != null ? snapshot.getBytesIn() : 0L)
+                + (snapshot.getBytesOut() != null ? snapshot.getBytesOut() : 0L)
+                + (snapshot.getBytesTransferred() != null ? snapshot.getBytesTransferred() : 0L)
+                + (snapshot.getBytesReceived() != null ? snapshot.getBytesReceived() : 0L)
+                + (snapshot.getBytesSent() != null ? snapshot.getBytesSent() : 0L);
+            return metrics(flowFiles, bytes);
+        }
+
+        private TransferMetrics metrics(long flowFiles, Long bytes) {
+            long byteSize = bytes != null ? bytes : 0;
+            if (byteSize < BYTES_TO_KB) {
+                return TransferMetrics.builder().flowFileCount(flowFiles).size(byteSize)
+                    .sizeUnit("bytes").formattedSize(byteSize + " bytes").build();
+            } else if (byteSize < BYTES_TO_MB) {
+                double kb = byteSize / BYTES_TO_KB;
+                return TransferMetrics.builder().flowFileCount(flowFiles).size(kb)
+                    .sizeUnit("KB").formattedSize(df.format(kb) + " KB").build();
+            }
+            double mb = byteSize / BYTES_TO_MB;
+            return TransferMetrics.builder().flowFileCount(flowFiles).size(mb)
+                .sizeUnit("MB").formattedSize(df.format(mb) + " MB").build();
+        }
+    }
+}
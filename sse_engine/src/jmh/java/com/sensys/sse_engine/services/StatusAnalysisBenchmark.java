@@ -0,0 +1,41 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.benchmark.Fixtures;
+import com.sensys.sse_engine.dto.ProcessGroupAnalysis;
+import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.StatusResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NiFiStatusAnalysisService analysis of status payloads decoded from the fixtures
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatusAnalysisBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int processorCount;
+
+    private ProcessGroupStatus status;
+    private NiFiStatusAnalysisService analysisService;
+
+    @Setup
+    public void setUp() throws IOException {
+        status = Fixtures.OBJECT_MAPPER
+            .readValue(Fixtures.status(processorCount), StatusResponse.class)
+            .getProcessGroupStatus();
+        analysisService = new NiFiStatusAnalysisService(null, null);
+    }
+
+    @Benchmark
+    public ProcessGroupAnalysis analyze() {
+        return analysisService.extractProcessGroupAnalysis(status, ProcessGroupRateTracker.REQUEST_SERIES);
+    }
+}
@@ -3,24 +3,46 @@ package com.sensys.sse_engine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Scope;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.stereotype.Service;
 
-import javax.sql.DataSource;
+import com.zaxxer.hikari.pool.HikariPool.PoolInitializationException;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLInvalidAuthorizationSpecException;
 import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.sensys.sse_engine.config.DatabaseExecutor;
+import com.sensys.sse_engine.config.DatabasePoolRegistry;
+import com.sensys.sse_engine.config.DatabaseProperties;
 import com.sensys.sse_engine.exception.DatabaseConfigException;
+import com.sensys.sse_engine.model.CompareTimings;
+import com.sensys.sse_engine.model.DataCompareRequest;
+import com.sensys.sse_engine.model.DataComparisonResult;
 import com.sensys.sse_engine.model.DatabaseConfig;
+import com.sensys.sse_engine.model.SchemaDiff;
 import com.sensys.sse_engine.model.TableComparisonResult;
+import com.sensys.sse_engine.model.TableMetadata;
+import com.sensys.sse_engine.schema.ConnectionSource;
+import com.sensys.sse_engine.schema.ParallelReads;
+import com.sensys.sse_engine.schema.SchemaDiffEngine;
+import com.sensys.sse_engine.schema.SchemaMetadataReaders;
+import com.sensys.sse_engine.verify.DataVerifier;
 
 @Service
 @Scope("prototype")
@@ -28,29 +50,60 @@ public class DatabaseService {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseService.class);
 
-    public Connection createRawConnection(DatabaseConfig config) {
+    private final DatabasePoolRegistry poolRegistry;
+    private final DatabaseProperties databaseProperties;
+    // Shared by all instances of this prototype bean, and closed with the context
+    private final ExecutorService metadataExecutor;
+
+    private record SideMetadata<T>(T data, long connectMillis, long metadataMillis) {
+    }
+
+    private record Sides<T>(SideMetadata<T> source, SideMetadata<T> destination, long startedAt, long finishedAt) {
+    }
+
+    @FunctionalInterface
+    private interface MetadataRead<T> {
+        T read(DatabaseConfig config, ConnectionSource connections) throws SQLException, InterruptedException;
+    }
+
+    public DatabaseService(DatabasePoolRegistry poolRegistry, DatabaseProperties databaseProperties,
+                           DatabaseExecutor databaseExecutor) {
+        this.poolRegistry = poolRegistry;
+        this.databaseProperties = databaseProperties;
+        this.metadataExecutor = databaseExecutor.get();
+    }
+
+    public Connection getConnection(DatabaseConfig config) {
         String jdbcUrl = buildJdbcUrl(config);
-        logger.info("Creating raw connection with URL: {}", jdbcUrl);
+        logger.debug("Borrowing pooled connection for URL: {}", jdbcUrl);
         try {
-            return DriverManager.getConnection(jdbcUrl, config.getUsername(), config.getPassword());
-        } catch (SQLInvalidAuthorizationSpecException e) {
-            throw new DatabaseConfigException(401, "Invalid username or password for the database.");
-        } catch (SQLNonTransientConnectionException e) {
-            throw new DatabaseConfigException(503, "Unable to connect to the database. Please check the host and port.");
+            return poolRegistry.getConnection(config, jdbcUrl, getDriverClassName(config.getDatabaseType()));
+        } catch (PoolInitializationException e) {
+            // The pool could not open its first connection, so it was never registered
+            throw toConfigException(e.getCause() instanceof SQLException sqlException
+                ? sqlException
+                : new SQLException(e.getMessage(), e));
         } catch (SQLException e) {
-            throw new DatabaseConfigException(500, "Database connection error: " + e.getMessage());
+            // Do not keep an unused pool whose credentials or host stopped working
+            poolRegistry.evict(config, jdbcUrl);
+            throw toConfigException(e);
         }
     }
 
-    public DataSource createDataSource(DatabaseConfig config) {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        String jdbcUrl = buildJdbcUrl(config);
-        logger.info("Creating DataSource with URL: {}", jdbcUrl);
-        dataSource.setDriverClassName(getDriverClassName(config.getDatabaseType()));
-        dataSource.setUrl(jdbcUrl);
-        dataSource.setUsername(config.getUsername());
-        dataSource.setPassword(config.getPassword());
-        return dataSource;
+    private DatabaseConfigException toConfigException(SQLException e) {
+        // A pool timeout carries the error of its last connection attempt
+        if (e instanceof SQLTransientConnectionException && e.getCause() instanceof SQLException cause) {
+            return toConfigException(cause);
+        }
+        String sqlState = e.getSQLState();
+        if (e instanceof SQLInvalidAuthorizationSpecException || (sqlState != null && sqlState.startsWith("28"))) {
+            return new DatabaseConfigException(401, "Invalid username or password for the database.");
+        }
+        if (e instanceof SQLNonTransientConnectionException || e instanceof SQLTransientConnectionException
+                || (sqlState != null && sqlState.startsWith("08"))) {
+            return new DatabaseConfigException(503, "Unable to connect to the database. Please check the host and port.");
+        }
+        return new DatabaseConfigException(500, "Database connection error: " + e.getMessage());
     }
 
     public String buildJdbcUrl(DatabaseConfig config) {
@@ -62,6 +115,10 @@ public class DatabaseService {
             case "postgresql":
                 baseUrl = "jdbc:postgresql://";
                 break;
+            case "oracle":
+                // The database of an Oracle config is its service name
+                baseUrl = "jdbc:oracle:thin:@//";
+                break;
             default:
                 throw new DatabaseConfigException(400, "Unsupported database type: " + config.getDatabaseType());
         }
@@ -75,13 +132,15 @@ public class DatabaseService {
                 return "com.mysql.cj.jdbc.Driver";
             case "postgresql":
                 return "org.postgresql.Driver";
+            case "oracle":
+                return "oracle.jdbc.OracleDriver";
             default:
                 throw new DatabaseConfigException(400, "Unsupported database type: " + databaseType);
         }
     }
     
 
-    private List<String> stripDatabaseNames(List<String> tables) {
+    private static List<String> stripDatabaseNames(List<String> tables) {
         List<String> strippedTables = new ArrayList<>();
         for (String table : tables) {
             // Split the schema/catalog from the table name by the period (.)
@@ -95,44 +154,247 @@ public class DatabaseService {
     // ... (You can remove migrateDatabase() and transferSchemaUsingFlyway() 
     //      since you're not using Flyway for comparison) ...
     public TableComparisonResult compareTables(DatabaseConfig sourceConfig, DatabaseConfig destConfig, boolean compareByTableNamesOnly) {
-        try (Connection sourceConn = createRawConnection(sourceConfig);
-             Connection destConn = createRawConnection(destConfig)) {
+        logger.info("Comparing tables between {} and {}", sourceConfig.getDatabase(), destConfig.getDatabase());
+        Sides<List<String>> sides = readSides(sourceConfig, destConfig, this::readTableNames);
 
-            logger.info("Comparing tables between {} and {}", sourceConfig.getDatabase(), destConfig.getDatabase());
+        long diffStartedAt = System.nanoTime();
+        TableComparisonResult result = diffTableNames(sides.source().data(), sides.destination().data(), compareByTableNamesOnly);
+        result.setTimings(timings(sides, diffStartedAt));
+        return result;
+    }
 
-            // Get table names
-            List<String> sourceTables = getTableNames(sourceConn.getMetaData(), sourceConfig.getDatabase());
-            List<String> destTables = getTableNames(destConn.getMetaData(), destConfig.getDatabase());
+    /**
+     * Compare the structure of two databases: tables, columns, primary keys, indexes and
+     * foreign keys
+     *
+     * @param sourceConfig Source database
+     * @param destConfig Destination database
+     * @param compareByTableNamesOnly Match tables by name, ignoring schema or database names
+     * @return Diff of all tables that are missing on one side or differ
+     */
+    public SchemaDiff compareSchemas(DatabaseConfig sourceConfig, DatabaseConfig destConfig, boolean compareByTableNamesOnly) {
+        logger.info("Comparing schemas between {} and {}", sourceConfig.getDatabase(), destConfig.getDatabase());
+        Sides<List<TableMetadata>> sides = readSchemas(sourceConfig, destConfig);
 
-            if (compareByTableNamesOnly) {
-                sourceTables = stripDatabaseNames(sourceTables);
-                destTables = stripDatabaseNames(destTables);
-            }
+        long diffStartedAt = System.nanoTime();
+        SchemaDiff diff = SchemaDiffEngine.diff(sides.source().data(), sides.destination().data(), compareByTableNamesOnly);
+        diff.setTimings(timings(sides, diffStartedAt));
+        return diff;
+    }
 
-            logger.info("Source tables: {}", sourceTables);
-            logger.info("Destination tables: {}", destTables);
+    /**
+     * Verify the rows of the tables on both sides through chunked checksums computed in the
+     * databases
+     *
+     * @param request Databases, tables and chunk size
+     * @return Outcome per table, with the keys of differing rows
+     */
+    public DataComparisonResult compareData(DataCompareRequest request) {
+        DatabaseConfig sourceConfig = request.getSourceConfig();
+        DatabaseConfig destConfig = request.getDestConfig();
+        logger.info("Verifying data between {} and {}", sourceConfig.getDatabase(), destConfig.getDatabase());
+        Sides<List<TableMetadata>> sides = readSchemas(sourceConfig, destConfig);
 
-            List<String> tablesOnlyInSource = new ArrayList<>(sourceTables);
-            tablesOnlyInSource.removeAll(destTables);
+        long verifyStartedAt = System.nanoTime();
+        DataVerifier verifier = new DataVerifier(metadataExecutor, databaseProperties.getVerify(),
+            new DataVerifier.Side(sourceConfig.getDatabaseType(), () -> openReadOnly(sourceConfig)),
+            new DataVerifier.Side(destConfig.getDatabaseType(), () -> openReadOnly(destConfig)));
+        DataComparisonResult result;
+        try {
+            result = verifier.verify(sides.source().data(), sides.destination().data(),
+                request.isCompareByTableNamesOnly(), request.getTables(), request.getChunkSize());
+        } catch (SQLException e) {
+            logger.error("Error verifying data: ", e);
+            throw new DatabaseConfigException(500, "Error verifying data: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseConfigException(500, "Interrupted while verifying data");
+        }
+        result.setTimings(timings(sides, verifyStartedAt));
+        return result;
+    }
 
-            List<String> tablesOnlyInDestination = new ArrayList<>(destTables);
-            tablesOnlyInDestination.removeAll(sourceTables);
+    private Sides<List<TableMetadata>> readSchemas(DatabaseConfig sourceConfig, DatabaseConfig destConfig) {
+        DatabaseProperties.Compare settings = databaseProperties.getCompare();
+        // Each side is read with the reader of its own database type
+        return readSides(sourceConfig, destConfig, (config, connections) ->
+            SchemaMetadataReaders.forDatabaseType(config.getDatabaseType(), settings)
+                .read(config, connections));
+    }
 
-            boolean schemasMatch = tablesOnlyInSource.isEmpty() && tablesOnlyInDestination.isEmpty();
+    /**
+     * Reads both sides at the same time, each on its own virtual thread and connections,
+     * within the side timeout
+     */
+    private <T> Sides<T> readSides(DatabaseConfig sourceConfig, DatabaseConfig destConfig, MetadataRead<T> read) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(databaseProperties.getCompare().getSideTimeout());
 
-            return new TableComparisonResult(schemasMatch, tablesOnlyInSource, tablesOnlyInDestination);  
+        Future<SideMetadata<T>> source = metadataExecutor.submit(() -> readSide(sourceConfig, read));
+        Future<SideMetadata<T>> destination = metadataExecutor.submit(() -> readSide(destConfig, read));
+        try {
+            SideMetadata<T> sourceMetadata = await(source, "source", deadline);
+            SideMetadata<T> destMetadata = await(destination, "destination", deadline);
+            return new Sides<>(sourceMetadata, destMetadata, startedAt, System.nanoTime());
+        } finally {
+            // Stops the other side once one failed
+            source.cancel(true);
+            destination.cancel(true);
+        }
+    }
 
+    private <T> SideMetadata<T> readSide(DatabaseConfig config, MetadataRead<T> read)
+            throws SQLException, InterruptedException {
+        long startedAt = System.nanoTime();
+        AtomicLong connectedAt = new AtomicLong();
+        T data = read.read(config, () -> {
+            Connection conn = openReadOnly(config);
+            connectedAt.compareAndSet(0, System.nanoTime());
+            return conn;
+        });
+        long finishedAt = System.nanoTime();
+        long connected = connectedAt.get() != 0 ? connectedAt.get() : finishedAt;
+        return new SideMetadata<>(data, TimeUnit.NANOSECONDS.toMillis(connected - startedAt),
+            TimeUnit.NANOSECONDS.toMillis(finishedAt - connected));
+    }
+
+    private Connection openReadOnly(DatabaseConfig config) throws SQLException {
+        Connection conn = getConnection(config);
+        try {
+            // Compares never write; the pool resets the flag when the connection returns
+            conn.setReadOnly(true);
         } catch (SQLException e) {
-            logger.error("Error comparing tables: ", e);
-            throw new DatabaseConfigException(500, "Error comparing tables: " + e.getMessage());
+            conn.close();
+            throw e;
+        }
+        return conn;
+    }
+
+    private <T> SideMetadata<T> await(Future<SideMetadata<T>> side, String name, long deadline) {
+        try {
+            return side.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DatabaseConfigException(504, "Reading the " + name + " database metadata timed out after "
+                + databaseProperties.getCompare().getSideTimeout() + " ms");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DatabaseConfigException configException) {
+                throw configException;
+            }
+            logger.error("Error reading {} database metadata: ", name, e.getCause());
+            throw new DatabaseConfigException(500, "Error reading " + name + " database metadata: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseConfigException(500, "Interrupted while reading database metadata");
+        }
+    }
+
+    private static CompareTimings timings(Sides<?> sides, long diffStartedAt) {
+        long finishedAt = System.nanoTime();
+        CompareTimings timings = new CompareTimings();
+        timings.setSourceConnectMillis(sides.source().connectMillis());
+        timings.setSourceMetadataMillis(sides.source().metadataMillis());
+        timings.setDestinationConnectMillis(sides.destination().connectMillis());
+        timings.setDestinationMetadataMillis(sides.destination().metadataMillis());
+        timings.setExtractionMillis(TimeUnit.NANOSECONDS.toMillis(sides.finishedAt() - sides.startedAt()));
+        timings.setDiffMillis(TimeUnit.NANOSECONDS.toMillis(finishedAt - diffStartedAt));
+        timings.setTotalMillis(TimeUnit.NANOSECONDS.toMillis(finishedAt - sides.startedAt()));
+        return timings;
+    }
+
+    private List<String> readTableNames(DatabaseConfig config, ConnectionSource connections)
+            throws SQLException, InterruptedException {
+        List<String> schemas;
+        try (Connection conn = connections.open()) {
+            if ("oracle".equalsIgnoreCase(config.getDatabaseType())) {
+                // Oracle has no catalogs, and every schema would include the dictionary
+                DatabaseMetaData metaData = conn.getMetaData();
+                return getTableNames(metaData, null, escapePattern(metaData, conn.getSchema()));
+            }
+            if (!"postgresql".equalsIgnoreCase(config.getDatabaseType())) {
+                return getTableNames(conn.getMetaData(), config.getDatabase(), null);
+            }
+            schemas = getUserSchemas(conn.getMetaData(), config.getDatabase());
+        }
+
+        // The listing connection went back to the pool, so the schema reads can use it
+        List<Callable<List<String>>> reads = new ArrayList<>(schemas.size());
+        for (String schema : schemas) {
+            reads.add(() -> {
+                try (Connection conn = connections.open()) {
+                    DatabaseMetaData metaData = conn.getMetaData();
+                    return getTableNames(metaData, config.getDatabase(), escapePattern(metaData, schema));
+                }
+            });
+        }
+        // Joined in schema order, so the result matches a single listing
+        List<String> tables = new ArrayList<>();
+        for (List<String> schemaTables : ParallelReads.runAll(metadataExecutor, reads,
+                databaseProperties.getCompare().getReadConcurrency())) {
+            tables.addAll(schemaTables);
+        }
+        return tables;
+    }
+
+    private List<String> getUserSchemas(DatabaseMetaData metaData, String databaseName) throws SQLException {
+        List<String> schemas = new ArrayList<>();
+        try (ResultSet rs = metaData.getSchemas(databaseName, null)) {
+            while (rs.next()) {
+                String schema = rs.getString("TABLE_SCHEM");
+                if (!schema.equals("information_schema") && !schema.startsWith("pg_")) {
+                    schemas.add(schema);
+                }
+            }
         }
+        Collections.sort(schemas);
+        return schemas;
     }
 
-    private List<String> getTableNames(DatabaseMetaData metaData, String databaseName) throws SQLException {
+    /**
+     * Diff the table names of two databases, without reading them
+     *
+     * @param sourceTables Qualified table names of the source database
+     * @param destTables Qualified table names of the destination database
+     * @param compareByTableNamesOnly Match tables by name, ignoring schema or database names
+     * @return Tables present on one side only
+     */
+    public static TableComparisonResult diffTableNames(List<String> sourceTables, List<String> destTables,
+                                                       boolean compareByTableNamesOnly) {
+        if (compareByTableNamesOnly) {
+            sourceTables = stripDatabaseNames(sourceTables);
+            destTables = stripDatabaseNames(destTables);
+        }
+
+        logger.info("Source tables: {}", sourceTables);
+        logger.info("Destination tables: {}", destTables);
+
+        // Hash lookups instead of List.removeAll, which is quadratic on large schemas
+        Set<String> sourceSet = new HashSet<>(sourceTables);
+        Set<String> destSet = new HashSet<>(destTables);
+
+        List<String> tablesOnlyInSource = new ArrayList<>();
+        for (String table : sourceTables) {
+            if (!destSet.contains(table)) {
+                tablesOnlyInSource.add(table);
+            }
+        }
+
+        List<String> tablesOnlyInDestination = new ArrayList<>();
+        for (String table : destTables) {
+            if (!sourceSet.contains(table)) {
+                tablesOnlyInDestination.add(table);
+            }
+        }
+
+        boolean schemasMatch = tablesOnlyInSource.isEmpty() && tablesOnlyInDestination.isEmpty();
+
+        return new TableComparisonResult(schemasMatch, tablesOnlyInSource, tablesOnlyInDestination);
+    }
+
+    private List<String> getTableNames(DatabaseMetaData metaData, String databaseName, String schemaPattern) throws SQLException {
         List<String> tables = new ArrayList<>();
 
-        // Use null for schemaPattern to get tables from all schemas (or catalogs)
-        try (ResultSet rs = metaData.getTables(databaseName, null, "%", new String[]{"TABLE"})) {
+        // A null schemaPattern gets tables from all schemas (or catalogs)
+        try (ResultSet rs = metaData.getTables(databaseName, schemaPattern, "%", new String[]{"TABLE"})) {
             while (rs.next()) {
                 // Use catalog name if schema is null (especially relevant for MySQL)
                 String schemaOrCatalog = rs.getString("TABLE_SCHEM");
@@ -146,4 +408,15 @@ public class DatabaseService {
         return tables;
     }
 
+    /**
+     * Escape the pattern characters of a schema name for the pattern arguments of DatabaseMetaData
+     */
+    private static String escapePattern(DatabaseMetaData metaData, String name) throws SQLException {
+        if (name == null) {
+            return null;
+        }
+        String escape = metaData.getSearchStringEscape();
+        return name.replace(escape, escape + escape).replace("_", escape + "_").replace("%", escape + "%");
+    }
+
 }
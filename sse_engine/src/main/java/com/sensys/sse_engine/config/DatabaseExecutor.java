@@ -0,0 +1,27 @@
+package com.sensys.sse_engine.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual-thread executor shared by the metadata reads and data verification of every
+ * DatabaseService instance. It is held by a component rather than exposed as an Executor
+ * bean, which would replace Spring Boot's application task executor.
+ */
+@Component
+public class DatabaseExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ExecutorService get() {
+        return executor;
+    }
+
+    @PreDestroy
+    void close() {
+        executor.close();
+    }
+}
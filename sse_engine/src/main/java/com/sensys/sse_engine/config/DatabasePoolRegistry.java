@@ -0,0 +1,280 @@
+package com.sensys.sse_engine.config;
+
+import com.sensys.sse_engine.exception.DatabaseConfigException;
+import com.sensys.sse_engine.model.DatabaseConfig;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection pools of the databases compared through the API, one per JDBC URL and user.
+ * The number of pools and the connections across all of them are capped; pools that went
+ * unused for a while are closed.
+ */
+@Slf4j
+@Component
+public class DatabasePoolRegistry {
+
+    private final DatabaseProperties.Pool settings;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong sequence = new AtomicLong();
+    // Access order, so iteration starts at the least recently used pool
+    private final Map<PoolKey, PooledDataSource> pools = new LinkedHashMap<>(16, 0.75f, true);
+    private final Disposable eviction;
+    private int reservedConnections;
+    // Pools being created outside the lock, counted against the pool cap
+    private int pendingPools;
+
+    private record PoolKey(String jdbcUrl, String username, String password) {
+        @Override
+        public String toString() {
+            return username + "@" + jdbcUrl;
+        }
+    }
+
+    private static final class PooledDataSource {
+        private final HikariDataSource dataSource;
+        private final int maxSize;
+        private volatile long lastUsed = System.nanoTime();
+        // Borrows in progress, guarded by the registry lock
+        private int leases;
+
+        PooledDataSource(HikariDataSource dataSource, int maxSize) {
+            this.dataSource = dataSource;
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Must hold the registry lock
+         */
+        boolean isIdle() {
+            if (leases > 0) return false;
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null || pool.getActiveConnections() == 0;
+        }
+    }
+
+    public DatabasePoolRegistry(DatabaseProperties databaseProperties, MeterRegistry meterRegistry) {
+        this.settings = databaseProperties.getPool();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("database.pools.open", this, registry -> registry.openPools())
+            .description("Open database connection pools")
+            .register(meterRegistry);
+        Gauge.builder("database.pools.reserved.connections", this, registry -> registry.reservedConnections())
+            .description("Connections the open database pools may hold in total")
+            .register(meterRegistry);
+
+        Duration interval = Duration.ofMillis(settings.getEvictionInterval());
+        this.eviction = Flux.interval(interval, interval)
+            .onBackpressureDrop()
+            .publishOn(Schedulers.boundedElastic())
+            .subscribe(tick -> evictIdlePools());
+    }
+
+    /**
+     * Borrow a connection from the pool of a database, creating the pool on first use. The
+     * pool is leased until the borrow completes, so it cannot be closed in between.
+     *
+     * @param config Database to connect to
+     * @param jdbcUrl JDBC URL built from the config
+     * @param driverClassName JDBC driver of the database type
+     * @return Pooled connection, returned to the pool when closed
+     * @throws DatabaseConfigException with status 503 when the connection cap leaves no room
+     *         for another pool
+     * @throws SQLException when the pool could not hand out a connection
+     */
+    public Connection getConnection(DatabaseConfig config, String jdbcUrl, String driverClassName)
+            throws SQLException {
+        PooledDataSource pooled = lease(new PoolKey(jdbcUrl, config.getUsername(), config.getPassword()),
+            config, jdbcUrl, driverClassName);
+        try {
+            return pooled.dataSource.getConnection();
+        } finally {
+            synchronized (this) {
+                pooled.leases--;
+            }
+        }
+    }
+
+    /**
+     * Get the pool of a database with a lease taken, creating the pool on first use
+     */
+    private PooledDataSource lease(PoolKey key, DatabaseConfig config, String jdbcUrl, String driverClassName) {
+        List<PooledDataSource> evicted = new ArrayList<>();
+        int maxSize;
+        synchronized (this) {
+            PooledDataSource pooled = pools.get(key);
+            if (pooled != null) {
+                pooled.lastUsed = System.nanoTime();
+                pooled.leases++;
+                return pooled;
+            }
+            maxSize = reserve(evicted);
+        }
+        close(evicted);
+
+        // Created outside the lock, the first connection can take seconds
+        HikariDataSource dataSource;
+        try {
+            dataSource = createDataSource(config, jdbcUrl, driverClassName, maxSize);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingPools--;
+                reservedConnections -= maxSize;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            pendingPools--;
+            PooledDataSource existing = pools.get(key);
+            if (existing == null) {
+                PooledDataSource pooled = new PooledDataSource(dataSource, maxSize);
+                pooled.leases++;
+                pools.put(key, pooled);
+                log.info("Opened connection pool {} for {} with up to {} connections",
+                    dataSource.getPoolName(), key, maxSize);
+                return pooled;
+            }
+            // Another request created the same pool meanwhile
+            reservedConnections -= maxSize;
+            existing.lastUsed = System.nanoTime();
+            existing.leases++;
+            dataSource.close();
+            return existing;
+        }
+    }
+
+    /**
+     * Close the pool of a database unless connections are in use, e.g. after its credentials
+     * were rejected
+     *
+     * @param config Database whose pool is closed
+     * @param jdbcUrl JDBC URL built from the config
+     */
+    public void evict(DatabaseConfig config, String jdbcUrl) {
+        PooledDataSource pooled;
+        synchronized (this) {
+            PoolKey key = new PoolKey(jdbcUrl, config.getUsername(), config.getPassword());
+            pooled = pools.get(key);
+            if (pooled == null || !pooled.isIdle()) {
+                return;
+            }
+            pools.remove(key);
+            reservedConnections -= pooled.maxSize;
+        }
+        close(List.of(pooled));
+    }
+
+    /**
+     * Makes room for a new pool, closing least recently used idle pools when the pool or
+     * connection cap is reached, and counts the pool as pending. Must hold the lock.
+     *
+     * @return Size of the new pool, smaller than configured when only that much room is left
+     */
+    private int reserve(List<PooledDataSource> evicted) {
+        int wanted = settings.getMaxSize();
+        Iterator<PooledDataSource> iterator = pools.values().iterator();
+        while ((pools.size() + pendingPools >= settings.getMaxPools()
+                || reservedConnections + wanted > settings.getMaxTotalConnections())
+                && iterator.hasNext()) {
+            PooledDataSource pooled = iterator.next();
+            if (pooled.isIdle()) {
+                iterator.remove();
+                reservedConnections -= pooled.maxSize;
+                evicted.add(pooled);
+            }
+        }
+
+        int available = settings.getMaxTotalConnections() - reservedConnections;
+        if (pools.size() + pendingPools >= settings.getMaxPools() || available < 1) {
+            throw new DatabaseConfigException(503, "All database connections are in use, please try again later.");
+        }
+        int maxSize = Math.min(wanted, available);
+        reservedConnections += maxSize;
+        pendingPools++;
+        return maxSize;
+    }
+
+    private HikariDataSource createDataSource(DatabaseConfig config, String jdbcUrl, String driverClassName,
+                                              int maxSize) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("db-" + sequence.incrementAndGet() + "-" + config.getDatabaseType().toLowerCase()
+            + "-" + config.getDatabase());
+        hikari.setDriverClassName(driverClassName);
+        hikari.setJdbcUrl(jdbcUrl);
+        hikari.setUsername(config.getUsername());
+        hikari.setPassword(config.getPassword());
+        hikari.setMaximumPoolSize(maxSize);
+        // Connections are only kept while compares run, idle ones are closed
+        hikari.setMinimumIdle(0);
+        hikari.setConnectionTimeout(settings.getConnectionTimeout());
+        hikari.setIdleTimeout(settings.getIdleTimeout());
+        hikari.setMaxLifetime(settings.getMaxLifetime());
+        hikari.setMetricRegistry(meterRegistry);
+        return new HikariDataSource(hikari);
+    }
+
+    void evictIdlePools() {
+        long cutoff = System.nanoTime() - Duration.ofMillis(settings.getPoolIdleTimeout()).toNanos();
+        List<PooledDataSource> evicted = new ArrayList<>();
+        synchronized (this) {
+            Iterator<PooledDataSource> iterator = pools.values().iterator();
+            while (iterator.hasNext()) {
+                PooledDataSource pooled = iterator.next();
+                if (pooled.lastUsed - cutoff < 0 && pooled.isIdle()) {
+                    iterator.remove();
+                    reservedConnections -= pooled.maxSize;
+                    evicted.add(pooled);
+                }
+            }
+        }
+        close(evicted);
+    }
+
+    private static void close(List<PooledDataSource> evicted) {
+        for (PooledDataSource pooled : evicted) {
+            log.info("Closing connection pool {}", pooled.dataSource.getPoolName());
+            pooled.dataSource.close();
+        }
+    }
+
+    private synchronized int openPools() {
+        return pools.size();
+    }
+
+    private synchronized int reservedConnections() {
+        return reservedConnections;
+    }
+
+    @PreDestroy
+    void closeAll() {
+        eviction.dispose();
+        List<PooledDataSource> open;
+        synchronized (this) {
+            open = new ArrayList<>(pools.values());
+            pools.clear();
+            reservedConnections = 0;
+        }
+        close(open);
+    }
+}
@@ -0,0 +1,76 @@
+package com.sensys.sse_engine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "database")
+public class DatabaseProperties {
+    private Pool pool = new Pool();
+    private Compare compare = new Compare();
+    private Verify verify = new Verify();
+
+    /**
+     * Connection pools of the databases compared through the API
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+        /** Connections per database pool */
+        private int maxSize = 5;
+        /** Pools open at once; the least recently used idle pool is closed to make room */
+        private int maxPools = 20;
+        /** Connections across all pools */
+        private int maxTotalConnections = 50;
+        /** Milliseconds to wait for a free connection */
+        private long connectionTimeout = 30000;
+        /** Milliseconds before an unused connection is closed */
+        private long idleTimeout = 120000;
+        /** Milliseconds before a connection is replaced */
+        private long maxLifetime = 1800000;
+        /** Milliseconds a pool may go unused before it is closed */
+        private long poolIdleTimeout = 600000;
+        /** Milliseconds between checks for unused pools */
+        private long evictionInterval = 60000;
+    }
+
+    /**
+     * Table comparison
+     */
+    @Getter
+    @Setter
+    public static class Compare {
+        /** Milliseconds each side may take to connect and read its metadata */
+        private long sideTimeout = 120000;
+        /** Connections of one side listing the tables of its schemas at once */
+        private int readConcurrency = 4;
+        /** Rows fetched per round trip by the catalog queries of the MySQL, PostgreSQL and Oracle readers */
+        private int metadataFetchSize = 1000;
+        /** Schema diffs kept for paging */
+        private int diffCacheSize = 20;
+        /** Milliseconds a schema diff is kept for paging */
+        private long diffCacheTtl = 900000;
+    }
+
+    /**
+     * Data verification by chunked checksums
+     */
+    @Getter
+    @Setter
+    public static class Verify {
+        /** Primary key values per chunk */
+        private long chunkSize = 100000;
+        /** Chunks per table; sparse keys get wider chunks to stay below it */
+        private int maxChunksPerTable = 10000;
+        /** Chunk queries running at once on each side, at most the connections of a pool */
+        private int concurrency = 4;
+        /** Rows of a mismatching range below which its rows are compared one by one instead of bisecting */
+        private int bisectRowThreshold = 1000;
+        /** Mismatching rows listed per table */
+        private int maxMismatchedRows = 1000;
+        /** Seconds a single chunk query may run */
+        private int queryTimeout = 600;
+    }
+}
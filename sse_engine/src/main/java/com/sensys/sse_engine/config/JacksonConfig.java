@@ -3,6 +3,8 @@ package com.sensys.sse_engine.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.sensys.sse_engine.config.deserializer.CustomDateDeserializer;
+import com.sensys.sse_engine.config.deserializer.NiFiStatusDeserializers;
+import com.sensys.sse_engine.helper.JsonArrayStreamDecoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.codec.json.Jackson2JsonDecoder;
@@ -14,11 +16,24 @@ import java.util.Date;
 public class JacksonConfig {
 
     @Bean
-    public ObjectMapper objectMapper() {
+    public ObjectMapper objectMapper(NiFiProperties nifiProperties) {
+        return createObjectMapper(nifiProperties.getStatusDecoding());
+    }
+
+    /**
+     * Build the application mapper with the given decoding of the NiFi status DTOs
+     *
+     * @param statusDecoding REFLECTIVE binds through bean introspection, SPECIALISED uses
+     *                       the hand-written status deserializers
+     */
+    public static ObjectMapper createObjectMapper(NiFiProperties.StatusDecoding statusDecoding) {
         ObjectMapper objectMapper = new ObjectMapper();
         SimpleModule module = new SimpleModule();
         module.addDeserializer(Date.class, new CustomDateDeserializer());
         objectMapper.registerModule(module);
+        if (statusDecoding == NiFiProperties.StatusDecoding.SPECIALISED) {
+            objectMapper.registerModule(NiFiStatusDeserializers.module());
+        }
         return objectMapper;
     }
 
@@ -31,4 +46,9 @@ public class JacksonConfig {
     public Jackson2JsonEncoder jackson2JsonEncoder(ObjectMapper objectMapper) {
         return new Jackson2JsonEncoder(objectMapper);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public JsonArrayStreamDecoder jsonArrayStreamDecoder(ObjectMapper objectMapper) {
+        return new JsonArrayStreamDecoder(objectMapper);
+    }
+}
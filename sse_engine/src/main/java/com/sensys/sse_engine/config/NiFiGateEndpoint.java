@@ -0,0 +1,29 @@
+package com.sensys.sse_engine.config;
+
+import com.sensys.sse_engine.dto.NiFiGateStats;
+import com.sensys.sse_engine.services.NiFiTargetRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint exposing the concurrency limit, circuit state and retry budget of
+ * each NiFi bulkhead of every target at /actuator/nifigate
+ */
+@Component
+@Endpoint(id = "nifigate")
+@RequiredArgsConstructor
+public class NiFiGateEndpoint {
+
+    private final NiFiTargetRegistry targetRegistry;
+
+    @ReadOperation
+    public List<NiFiGateStats> gate() {
+        return targetRegistry.getTargets().stream()
+            .flatMap(target -> target.getCallGate().getStats().stream())
+            .toList();
+    }
+}
@@ -4,6 +4,9 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "nifi")
@@ -14,4 +17,174 @@ public class NiFiProperties {
     private int timeout = 30;
     private int retryAttempts = 3;
     private long retryDelay = 1000;
-}
\ No newline at end of file
+    private int resourceCacheTtl = 30;
+    private int historyCapacity = 720;
+    private int historyMaxComponents = 1000;
+    private int historyMaxGroups = 50;
+    private int streamKeepAlive = 15;
+    /** Per-target time limit of queries sent to every NiFi target, in milliseconds */
+    private long scatterTimeout = 10000;
+    private StatusDecoding statusDecoding = StatusDecoding.SPECIALISED;
+    private Pool pool = new Pool();
+    private Token token = new Token();
+    private Gate gate = new Gate();
+    private Tree tree = new Tree();
+    private Cluster cluster = new Cluster();
+    private Bulk bulk = new Bulk();
+    private Convergence convergence = new Convergence();
+    /** Further NiFi instances by name, next to the default one configured above */
+    private Map<String, Target> targets = new LinkedHashMap<>();
+
+    /**
+     * Connection settings of the default target, taken from nifi.url, nifi.username and nifi.password
+     */
+    public Target defaultTarget() {
+        Target target = new Target();
+        target.setUrl(url);
+        target.setUsername(username);
+        target.setPassword(password);
+        return target;
+    }
+
+    /**
+     * How status responses are bound to the status DTOs
+     */
+    public enum StatusDecoding {
+        /** Jackson bean introspection */
+        REFLECTIVE,
+        /** Hand-specialised deserializers */
+        SPECIALISED
+    }
+
+    /**
+     * Connection settings of a NiFi instance. Pool, token, gate and tree settings are
+     * shared by all targets, but each target gets its own pool, token and gate.
+     */
+    @Getter
+    @Setter
+    public static class Target {
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    /**
+     * Reactor Netty connection pool used by the NiFi WebClient
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+        private int maxConnections = 50;
+        private int pendingAcquireMaxCount = 500;
+        private long pendingAcquireTimeout = 45000;
+        private long maxIdleTime = 30000;
+        private long maxLifeTime = 300000;
+        private long evictionInterval = 60000;
+        private boolean keepAlive = true;
+        private boolean http2 = false;
+        private boolean metricsEnabled = true;
+    }
+
+    /**
+     * Access token lifecycle, durations in milliseconds
+     */
+    @Getter
+    @Setter
+    public static class Token {
+        /** How long before expiry the token is refreshed */
+        private long refreshSkew = 60000;
+        /** Lifetime assumed when the token carries no exp claim */
+        private long fallbackLifetime = 3600000;
+        /** Delay before a failed scheduled refresh is retried */
+        private long retryInterval = 5000;
+    }
+
+    /**
+     * Concurrency limit, retry budget and circuit breaker applied to NiFi calls, with one
+     * limiter and breaker per bulkhead; durations in milliseconds
+     */
+    @Getter
+    @Setter
+    public static class Gate {
+        /** Starting concurrency limit of each bulkhead */
+        private int initialLimit = 10;
+        private int minLimit = 2;
+        private int maxLimit = 50;
+        /** Factor the limit is multiplied by when a call times out, fails server side or is slow */
+        private double backoffRatio = 0.75;
+        /** Calls slower than this count as congestion */
+        private long slowCallThreshold = 5000;
+        /** Calls allowed to wait for a permit before new calls are rejected */
+        private int maxQueued = 100;
+        private long queueTimeout = 10000;
+        /** Retries allowed per first attempt, e.g. 0.1 permits one retry per ten calls */
+        private double retryBudgetRatio = 0.1;
+        /** Retries always allowed per second regardless of traffic */
+        private double retryBudgetMinPerSecond = 1;
+        private int retryBudgetMax = 20;
+        /** Failure rate over the sliding window that opens the circuit */
+        private double failureRateThreshold = 0.5;
+        private int slidingWindowSize = 50;
+        /** Calls needed in the window before the failure rate is evaluated */
+        private int minimumCalls = 20;
+        private long openDuration = 30000;
+        /** Probe calls let through while half open */
+        private int halfOpenCalls = 3;
+    }
+
+    /**
+     * Process group tree walks
+     */
+    @Getter
+    @Setter
+    public static class Tree {
+        /** Status calls in flight at once when fanning out over child groups */
+        private int fanOutConcurrency = 4;
+        /** Groups nested deeper than this are left out of the tree */
+        private int maxDepth = 32;
+    }
+
+    /**
+     * Skew detection across cluster nodes
+     */
+    @Getter
+    @Setter
+    public static class Cluster {
+        /** Share of a cluster total on one node above which the node is reported as a hotspot */
+        private double skewThreshold = 0.6;
+        /** Queued or transferred FlowFiles a component needs before its spread is checked */
+        private long skewMinFlowFiles = 100;
+        /** Active threads a component needs before its spread is checked */
+        private int skewMinThreads = 4;
+    }
+
+    /**
+     * Bulk start and stop
+     */
+    @Getter
+    @Setter
+    public static class Bulk {
+        /** State changes in flight at once when a request does not set its own */
+        private int concurrency = 8;
+        /** Highest concurrency a request may ask for */
+        private int maxConcurrency = 32;
+    }
+
+    /**
+     * Run status tracking after a start or stop
+     */
+    @Getter
+    @Setter
+    public static class Convergence {
+        /** Poll interval in milliseconds after a poll that saw processors change state */
+        private long minPollInterval = 250;
+        /** Poll interval in milliseconds the backoff grows to while nothing changes */
+        private long maxPollInterval = 5000;
+        /** Seconds to wait for the processors to settle when a request does not set a deadline */
+        private int deadline = 120;
+        /** Longest deadline in seconds a request may ask for */
+        private int maxDeadline = 600;
+        /** Transitioning processors listed in each event */
+        private int maxListed = 20;
+    }
+}
@@ -0,0 +1,226 @@
+package com.sensys.sse_engine.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Owns the bearer token of one NiFi instance. The expiry is read from the JWT and the
+ * token is refreshed ahead of it; concurrent refreshes share a single token request and
+ * a request rejected with 401 is replayed once with the refreshed token.
+ */
+@Slf4j
+public class NiFiTokenManager {
+
+    private static final ObjectMapper JWT_MAPPER = new ObjectMapper();
+
+    private final String target;
+    private final Supplier<Mono<String>> tokenFetcher;
+    private final NiFiProperties.Token settings;
+
+    private final AtomicReference<TokenState> current = new AtomicReference<>();
+    private final AtomicReference<Mono<String>> inFlightRefresh = new AtomicReference<>();
+    private final Disposable.Swap scheduledRefresh = Disposables.swap();
+
+    private final Timer refreshSuccess;
+    private final Timer refreshFailure;
+    private final Counter replays;
+
+    private record TokenState(String token, Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+
+    /**
+     * @param target Name of the NiFi instance, used as the metrics tag
+     * @param tokenFetcher Requests a new token from NiFi
+     * @param settings Refresh timing
+     * @param meterRegistry Registry for the refresh and replay meters
+     */
+    public NiFiTokenManager(String target, Supplier<Mono<String>> tokenFetcher,
+                            NiFiProperties.Token settings, MeterRegistry meterRegistry) {
+        this.target = target;
+        this.tokenFetcher = tokenFetcher;
+        this.settings = settings;
+        this.refreshSuccess = refreshTimer(meterRegistry, "success");
+        this.refreshFailure = refreshTimer(meterRegistry, "failure");
+        this.replays = Counter.builder("nifi.token.replays")
+            .description("Requests replayed after a 401 response")
+            .tag("target", target)
+            .register(meterRegistry);
+        Gauge.builder("nifi.token.expires.in", this, NiFiTokenManager::secondsUntilExpiry)
+            .description("Seconds until the current NiFi token expires")
+            .baseUnit("seconds")
+            .tag("target", target)
+            .register(meterRegistry);
+    }
+
+    private Timer refreshTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("nifi.token.refresh")
+            .description("Latency of NiFi access token requests")
+            .tag("target", target)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get a valid token. A token close to expiry is still returned while a refresh runs in
+     * the background; only a missing or expired token makes the caller wait for NiFi.
+     *
+     * @return Mono containing the bearer token
+     */
+    public Mono<String> getToken() {
+        return Mono.defer(() -> {
+            TokenState state = current.get();
+            Instant now = Instant.now();
+            if (state == null || state.isExpired(now)) {
+                return refreshIfCurrent(state != null ? state.token() : null);
+            }
+            if (now.plusMillis(settings.getRefreshSkew()).isAfter(state.expiresAt())) {
+                refreshIfCurrent(state.token()).subscribe(token -> { }, error -> { });
+            }
+            return Mono.just(state.token());
+        });
+    }
+
+    /**
+     * Filter adding the bearer token to each request and replaying a request once when
+     * NiFi rejects it with 401
+     */
+    public ExchangeFilterFunction authenticationFilter() {
+        return (request, next) -> getToken().flatMap(token -> next.exchange(withToken(request, token))
+            .flatMap(response -> {
+                if (response.statusCode().value() != HttpStatus.UNAUTHORIZED.value()) {
+                    return Mono.just(response);
+                }
+                log.debug("Received 401 from NiFi {} for {} {}, replaying with a refreshed token",
+                    target, request.method(), request.url());
+                replays.increment();
+                return response.releaseBody()
+                    .then(Mono.defer(() -> refreshIfCurrent(token)))
+                    .flatMap(refreshed -> next.exchange(withToken(request, refreshed)));
+            }));
+    }
+
+    /**
+     * Stops the scheduled refresh
+     */
+    public void stop() {
+        scheduledRefresh.dispose();
+    }
+
+    private static ClientRequest withToken(ClientRequest request, String token) {
+        return ClientRequest.from(request)
+            .headers(headers -> headers.setBearerAuth(token))
+            .build();
+    }
+
+    /**
+     * Refreshes the token unless another caller already replaced the given one.
+     * Concurrent callers share the refresh in flight.
+     */
+    private Mono<String> refreshIfCurrent(String staleToken) {
+        TokenState latest = current.get();
+        if (latest != null && !latest.token().equals(staleToken) && !latest.isExpired(Instant.now())) {
+            return Mono.just(latest.token());
+        }
+
+        Sinks.One<String> sink = Sinks.one();
+        Mono<String> refresh = sink.asMono();
+        Mono<String> existing = inFlightRefresh.compareAndExchange(null, refresh);
+        if (existing != null) {
+            return existing;
+        }
+
+        long startedAt = System.nanoTime();
+        tokenFetcher.get()
+            .switchIfEmpty(Mono.error(() -> new IllegalStateException("NiFi returned an empty access token")))
+            .doFinally(signal -> inFlightRefresh.compareAndSet(refresh, null))
+            .subscribe(
+                token -> {
+                    refreshSuccess.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    TokenState state = new TokenState(token, readExpiry(token));
+                    current.set(state);
+                    scheduleRefresh(state);
+                    sink.tryEmitValue(token);
+                },
+                error -> {
+                    refreshFailure.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    log.error("Failed to refresh NiFi {} access token: {}", target, error.getMessage());
+                    scheduleRetry();
+                    sink.tryEmitError(error);
+                });
+        return refresh;
+    }
+
+    /**
+     * Schedules the next refresh ahead of expiry. Tokens living shorter than twice the
+     * skew are refreshed at half their lifetime.
+     */
+    private void scheduleRefresh(TokenState state) {
+        long lifetime = Duration.between(Instant.now(), state.expiresAt()).toMillis();
+        long skew = settings.getRefreshSkew();
+        long delay = lifetime > 2 * skew ? lifetime - skew : Math.max(lifetime / 2, 0);
+        log.debug("NiFi {} token expires at {}, refreshing in {} ms", target, state.expiresAt(), delay);
+        schedule(delay, state.token());
+    }
+
+    private void scheduleRetry() {
+        TokenState state = current.get();
+        schedule(settings.getRetryInterval(), state != null ? state.token() : null);
+    }
+
+    private void schedule(long delayMillis, String token) {
+        if (scheduledRefresh.isDisposed()) return;
+        scheduledRefresh.update(Mono.delay(Duration.ofMillis(delayMillis))
+            .flatMap(tick -> refreshIfCurrent(token))
+            .subscribe(refreshed -> { }, error -> { }));
+    }
+
+    /**
+     * Reads the exp claim of a JWT; tokens without one get the configured fallback lifetime
+     */
+    private Instant readExpiry(String token) {
+        int payloadStart = token.indexOf('.');
+        int payloadEnd = token.indexOf('.', payloadStart + 1);
+        if (payloadStart > 0 && payloadEnd > payloadStart) {
+            try {
+                byte[] payload = Base64.getUrlDecoder().decode(token.substring(payloadStart + 1, payloadEnd));
+                JsonNode exp = JWT_MAPPER.readTree(payload).get("exp");
+                if (exp != null && exp.canConvertToLong()) {
+                    return Instant.ofEpochSecond(exp.asLong());
+                }
+            } catch (IllegalArgumentException | IOException e) {
+                log.debug("NiFi {} token is not a readable JWT: {}", target, e.getMessage());
+            }
+        }
+        return Instant.now().plusMillis(settings.getFallbackLifetime());
+    }
+
+    private double secondsUntilExpiry() {
+        TokenState state = current.get();
+        if (state == null) return 0;
+        return Math.max(Duration.between(Instant.now(), state.expiresAt()).toMillis() / 1000.0, 0);
+    }
+}
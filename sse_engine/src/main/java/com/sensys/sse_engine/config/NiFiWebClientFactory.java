@@ -0,0 +1,187 @@
+package com.sensys.sse_engine.config;
+
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import javax.net.ssl.SSLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the WebClient of a NiFi target, each with its own connection pool and token
+ * lifecycle
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NiFiWebClientFactory {
+
+    /** Name of the target configured by nifi.url, nifi.username and nifi.password */
+    public static final String DEFAULT_TARGET = "default";
+
+    private final NiFiProperties nifiProperties;
+    private final Jackson2JsonDecoder jsonDecoder;
+    private final Jackson2JsonEncoder jsonEncoder;
+    private final MeterRegistry meterRegistry;
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/[0-9a-fA-F]{8}(-[0-9a-fA-F]{4}){3}-[0-9a-fA-F]{12}");
+
+    private final List<NiFiTokenManager> tokenManagers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create the WebClient of a NiFi target
+     *
+     * @param name Name of the target, used in pool and token metrics
+     * @param target Connection settings of the target
+     * @param awaitToken Block until the first token is obtained; otherwise the first
+     *                   request fetches it
+     * @return WebClient sending authenticated requests to the target
+     */
+    public WebClient create(String name, NiFiProperties.Target target, boolean awaitToken) throws SSLException {
+        HttpClient httpClient = createHttpClient(name, target.getUrl());
+
+        WebClient tokenClient = createBaseWebClient(target.getUrl(), httpClient);
+
+        NiFiTokenManager tokenManager = new NiFiTokenManager(name, () -> fetchAccessToken(tokenClient, target),
+            nifiProperties.getToken(), meterRegistry);
+        tokenManagers.add(tokenManager);
+
+        if (awaitToken) {
+            // Get initial token, later refreshes are scheduled from its expiry
+            tokenManager.getToken()
+                .retryWhen(Retry.backoff(nifiProperties.getRetryAttempts(), 
+                    Duration.ofMillis(nifiProperties.getRetryDelay())))
+                .block(Duration.ofSeconds(nifiProperties.getTimeout()));
+        }
+
+        return createBaseWebClient(target.getUrl(), httpClient)
+            .mutate()
+            .filter(tokenManager.authenticationFilter())
+            .filter(ExchangeFilterFunction.ofRequestProcessor(
+                clientRequest -> {
+                    log.debug("Request to {}: {} {}", name, clientRequest.method(), clientRequest.url());
+                    return Mono.just(clientRequest);
+                }
+            ))
+            .build();
+    }
+
+    private WebClient createBaseWebClient(String baseUrl, HttpClient httpClient) {
+        return WebClient.builder()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .codecs(configurer -> {
+                configurer.defaultCodecs().jackson2JsonDecoder(jsonDecoder);
+                configurer.defaultCodecs().jackson2JsonEncoder(jsonEncoder);
+            })
+            .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .build();
+    }
+
+    private HttpClient createHttpClient(String name, String baseUrl) throws SSLException {
+        NiFiProperties.Pool pool = nifiProperties.getPool();
+        HttpClient httpClient = HttpClient.create(createConnectionProvider(name, pool))
+            .keepAlive(pool.isKeepAlive())
+            .responseTimeout(Duration.ofSeconds(nifiProperties.getTimeout()));
+
+        if (pool.isMetricsEnabled()) {
+            // Collapse IDs in the URI tag so per-component calls share one meter
+            httpClient = httpClient.metrics(true, NiFiWebClientFactory::uriTemplate);
+        }
+
+        boolean secure = baseUrl.toLowerCase().startsWith("https");
+        if (pool.isHttp2()) {
+            log.info("Enabling HTTP/2 for NiFi target {} with HTTP/1.1 fallback", name);
+            httpClient = httpClient.protocol(secure ? HttpProtocol.H2 : HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        if (secure) {
+            log.info("Configuring SSL WebClient for NiFi target {}", name);
+            if (pool.isHttp2()) {
+                Http2SslContextSpec http2SslContext = Http2SslContextSpec.forClient()
+                    .configure(builder -> builder.trustManager(InsecureTrustManagerFactory.INSTANCE));
+                return httpClient.secure(t -> t.sslContext(http2SslContext));
+            }
+            SslContext sslContext = SslContextBuilder
+                .forClient()
+                .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                .build();
+            
+            return httpClient.secure(t -> t.sslContext(sslContext));
+        } else {
+            log.info("Configuring non-SSL WebClient for NiFi target {}", name);
+            return httpClient;
+        }
+    }
+
+    /**
+     * Bounded connection pool; with metrics enabled Reactor Netty publishes active, idle,
+     * pending and acquire-time meters (reactor.netty.connection.provider.*) to Micrometer
+     */
+    private ConnectionProvider createConnectionProvider(String name, NiFiProperties.Pool pool) {
+        log.info("Configuring NiFi connection pool for target {}: maxConnections={}, pendingAcquireMaxCount={}", 
+            name, pool.getMaxConnections(), pool.getPendingAcquireMaxCount());
+        // The default target keeps the original pool name, so its pool meters are unchanged
+        return ConnectionProvider.builder(DEFAULT_TARGET.equals(name) ? "nifi" : "nifi-" + name)
+            .maxConnections(pool.getMaxConnections())
+            .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeout()))
+            .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTime()))
+            .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTime()))
+            .evictInBackground(Duration.ofMillis(pool.getEvictionInterval()))
+            .metrics(pool.isMetricsEnabled())
+            .build();
+    }
+
+    /**
+     * Replace component ids in a request path with {id}, so metrics are tagged per endpoint
+     * rather than per component
+     */
+    static String uriTemplate(String uri) {
+        return ID_SEGMENT.matcher(uri).replaceAll("/{id}");
+    }
+
+    private Mono<String> fetchAccessToken(WebClient client, NiFiProperties.Target target) {
+        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+        formData.add("username", target.getUsername());
+        formData.add("password", target.getPassword());
+
+        return client.post()
+            .uri("/nifi-api/access/token")
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .body(BodyInserters.fromFormData(formData))
+            .retrieve()
+            .bodyToMono(String.class)
+            .doOnSuccess(token -> log.debug("Successfully obtained access token"))
+            .doOnError(error -> log.error("Error obtaining access token: {}", error.getMessage()));
+    }
+
+    @PreDestroy
+    void stopTokenRefresh() {
+        tokenManagers.forEach(NiFiTokenManager::stop);
+    }
+}
@@ -0,0 +1,626 @@
+package com.sensys.sse_engine.config.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.sensys.sse_engine.dto.ConnectionStatusEntity;
+import com.sensys.sse_engine.dto.ConnectionStatusSnapshot;
+import com.sensys.sse_engine.dto.NodeStatusSnapshot;
+import com.sensys.sse_engine.dto.PortStatusEntity;
+import com.sensys.sse_engine.dto.PortStatusSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.ProcessGroupStatusEntity;
+import com.sensys.sse_engine.dto.ProcessorStatusEntity;
+import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
+import com.sensys.sse_engine.dto.RemoteProcessGroupStatusEntity;
+import com.sensys.sse_engine.dto.RemoteProcessGroupStatusSnapshot;
+import com.sensys.sse_engine.dto.StatusResponse;
+import com.sensys.sse_engine.helper.NiFiCounterParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-specialised deserializers for the status DTOs. Fields are matched with a string
+ * switch and read straight from the token stream, nested types call each other directly
+ * instead of going through bean introspection, unknown fields are skipped without being
+ * bound, and snapshot lists are presized from the size last seen for the same field.
+ */
+public final class NiFiStatusDeserializers {
+
+    private NiFiStatusDeserializers() {
+    }
+
+    /**
+     * Module replacing reflective binding for every type of the status response tree
+     */
+    public static SimpleModule module() {
+        ProcessGroupSnapshotDeserializer groupSnapshot = new ProcessGroupSnapshotDeserializer();
+        ProcessGroupStatusDeserializer groupStatus = new ProcessGroupStatusDeserializer(groupSnapshot);
+
+        SimpleModule module = new SimpleModule("NiFiStatusDeserializers");
+        module.addDeserializer(StatusResponse.class, new StatusResponseDeserializer(groupStatus));
+        module.addDeserializer(ProcessGroupStatus.class, groupStatus);
+        module.addDeserializer(ProcessGroupSnapshot.class, groupSnapshot);
+        module.addDeserializer(NodeStatusSnapshot.class, groupStatus.nodeSnapshot);
+        module.addDeserializer(ProcessGroupStatusEntity.class, groupSnapshot.groupEntity);
+        module.addDeserializer(ProcessorStatusEntity.class, groupSnapshot.processorEntity);
+        module.addDeserializer(ProcessorStatusSnapshot.class, groupSnapshot.processorEntity.snapshot);
+        module.addDeserializer(ConnectionStatusEntity.class, groupSnapshot.connectionEntity);
+        module.addDeserializer(ConnectionStatusSnapshot.class, groupSnapshot.connectionEntity.snapshot);
+        module.addDeserializer(PortStatusEntity.class, groupSnapshot.portEntity);
+        module.addDeserializer(PortStatusSnapshot.class, groupSnapshot.portEntity.snapshot);
+        module.addDeserializer(RemoteProcessGroupStatusEntity.class, groupSnapshot.remoteGroupEntity);
+        module.addDeserializer(RemoteProcessGroupStatusSnapshot.class, groupSnapshot.remoteGroupEntity.snapshot);
+        return module;
+    }
+
+    /**
+     * Reads the fields of one JSON object into a new instance. {@link #readField} must
+     * consume the value of the field, skipping it when the field is not bound.
+     */
+    private abstract static class ObjectDeserializer<T> extends JsonDeserializer<T> {
+
+        private final Class<T> type;
+
+        ObjectDeserializer(Class<T> type) {
+            this.type = type;
+        }
+
+        abstract T create();
+
+        abstract void readField(String field, JsonParser parser, DeserializationContext context, T target)
+            throws IOException;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = parser.nextToken();
+            } else if (token != JsonToken.FIELD_NAME) {
+                return (T) context.handleUnexpectedToken(type, parser);
+            }
+
+            T target = create();
+            for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String field = parser.currentName();
+                parser.nextToken();
+                readField(field, parser, context, target);
+            }
+            return target;
+        }
+
+        @Override
+        public Class<?> handledType() {
+            return type;
+        }
+    }
+
+    /**
+     * Size of the list last read for a field, used as the initial capacity of the next one
+     */
+    private static final class SizeHint {
+
+        private volatile int lastSize;
+
+        int get() {
+            return lastSize;
+        }
+
+        void record(int size) {
+            lastSize = size;
+        }
+    }
+
+    private static <E> List<E> readList(JsonParser parser, DeserializationContext context,
+                                        ObjectDeserializer<E> elements, SizeHint hint) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+
+        List<E> list = new ArrayList<>(hint.get());
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            list.add(token == JsonToken.VALUE_NULL ? null : elements.deserialize(parser, context));
+        }
+        hint.record(list.size());
+        return list;
+    }
+
+    private static <E> E readObject(JsonParser parser, DeserializationContext context,
+                                    ObjectDeserializer<E> deserializer) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : deserializer.deserialize(parser, context);
+    }
+
+    private static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (!token.isScalarValue()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    private static Integer readInteger(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) return parser.getIntValue();
+        Long value = readLenientLong(parser, token);
+        return value != null ? value.intValue() : null;
+    }
+
+    private static Long readLong(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) return parser.getLongValue();
+        return readLenientLong(parser, token);
+    }
+
+    /**
+     * Slow path for numbers sent as floats or strings. Strings are read as NiFi formatted
+     * counts; text that does not start with a count reads as null.
+     */
+    private static Long readLenientLong(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_FLOAT:
+                return (long) parser.getDoubleValue();
+            case VALUE_STRING:
+                // Counts sent as text may carry NiFi's grouping, e.g. "1,234"
+                long count = NiFiCounterParser.parseCount(parser.getText());
+                return count != NiFiCounterParser.INVALID ? count : null;
+            default:
+                parser.skipChildren();
+                return null;
+        }
+    }
+
+    private static Boolean readBoolean(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_TRUE) return Boolean.TRUE;
+        if (token == JsonToken.VALUE_FALSE) return Boolean.FALSE;
+        if (token == JsonToken.VALUE_STRING) return Boolean.valueOf(parser.getText().trim());
+        parser.skipChildren();
+        return null;
+    }
+
+    private static final class StatusResponseDeserializer extends ObjectDeserializer<StatusResponse> {
+
+        private final ProcessGroupStatusDeserializer groupStatus;
+
+        StatusResponseDeserializer(ProcessGroupStatusDeserializer groupStatus) {
+            super(StatusResponse.class);
+            this.groupStatus = groupStatus;
+        }
+
+        @Override
+        StatusResponse create() {
+            return new StatusResponse();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context, StatusResponse target)
+                throws IOException {
+            switch (field) {
+                case "processGroupStatus" -> target.setProcessGroupStatus(readObject(parser, context, groupStatus));
+                case "canRead" -> target.setCanRead(readBoolean(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class ProcessGroupStatusDeserializer extends ObjectDeserializer<ProcessGroupStatus> {
+
+        private final ProcessGroupSnapshotDeserializer snapshot;
+        private final NodeSnapshotDeserializer nodeSnapshot;
+        private final SizeHint nodes = new SizeHint();
+
+        ProcessGroupStatusDeserializer(ProcessGroupSnapshotDeserializer snapshot) {
+            super(ProcessGroupStatus.class);
+            this.snapshot = snapshot;
+            this.nodeSnapshot = new NodeSnapshotDeserializer(snapshot);
+        }
+
+        @Override
+        ProcessGroupStatus create() {
+            return new ProcessGroupStatus();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context, ProcessGroupStatus target)
+                throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "name" -> target.setName(readString(parser));
+                case "statsLastRefreshed" -> target.setStatsLastRefreshed(readString(parser));
+                case "aggregateSnapshot" -> target.setAggregateSnapshot(readObject(parser, context, snapshot));
+                case "nodeSnapshots" -> target.setNodeSnapshots(readList(parser, context, nodeSnapshot, nodes));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class NodeSnapshotDeserializer extends ObjectDeserializer<NodeStatusSnapshot> {
+
+        private final ProcessGroupSnapshotDeserializer snapshot;
+
+        NodeSnapshotDeserializer(ProcessGroupSnapshotDeserializer snapshot) {
+            super(NodeStatusSnapshot.class);
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        NodeStatusSnapshot create() {
+            return new NodeStatusSnapshot();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context, NodeStatusSnapshot target)
+                throws IOException {
+            switch (field) {
+                case "nodeId" -> target.setNodeId(readString(parser));
+                case "address" -> target.setAddress(readString(parser));
+                case "apiPort" -> target.setApiPort(readInteger(parser));
+                case "statusSnapshot" -> target.setStatusSnapshot(readObject(parser, context, snapshot));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class ProcessGroupSnapshotDeserializer extends ObjectDeserializer<ProcessGroupSnapshot> {
+
+        private final ProcessGroupEntityDeserializer groupEntity = new ProcessGroupEntityDeserializer(this);
+        private final ProcessorEntityDeserializer processorEntity = new ProcessorEntityDeserializer();
+        private final ConnectionEntityDeserializer connectionEntity = new ConnectionEntityDeserializer();
+        private final PortEntityDeserializer portEntity = new PortEntityDeserializer();
+        private final RemoteGroupEntityDeserializer remoteGroupEntity = new RemoteGroupEntityDeserializer();
+
+        private final SizeHint connections = new SizeHint();
+        private final SizeHint processors = new SizeHint();
+        private final SizeHint groups = new SizeHint();
+        private final SizeHint remoteGroups = new SizeHint();
+        private final SizeHint inputPorts = new SizeHint();
+        private final SizeHint outputPorts = new SizeHint();
+
+        ProcessGroupSnapshotDeserializer() {
+            super(ProcessGroupSnapshot.class);
+        }
+
+        @Override
+        ProcessGroupSnapshot create() {
+            return new ProcessGroupSnapshot();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context, ProcessGroupSnapshot target)
+                throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "name" -> target.setName(readString(parser));
+                case "connectionStatusSnapshots" ->
+                    target.setConnectionStatusSnapshots(readList(parser, context, connectionEntity, connections));
+                case "processorStatusSnapshots" ->
+                    target.setProcessorStatusSnapshots(readList(parser, context, processorEntity, processors));
+                case "processGroupStatusSnapshots" ->
+                    target.setProcessGroupStatusSnapshots(readList(parser, context, groupEntity, groups));
+                case "remoteProcessGroupStatusSnapshots" ->
+                    target.setRemoteProcessGroupStatusSnapshots(readList(parser, context, remoteGroupEntity, remoteGroups));
+                case "inputPortStatusSnapshots" ->
+                    target.setInputPortStatusSnapshots(readList(parser, context, portEntity, inputPorts));
+                case "outputPortStatusSnapshots" ->
+                    target.setOutputPortStatusSnapshots(readList(parser, context, portEntity, outputPorts));
+                case "flowFilesIn" -> target.setFlowFilesIn(readInteger(parser));
+                case "bytesIn" -> target.setBytesIn(readLong(parser));
+                case "input" -> target.setInput(readString(parser));
+                case "flowFilesQueued" -> target.setFlowFilesQueued(readInteger(parser));
+                case "bytesQueued" -> target.setBytesQueued(readLong(parser));
+                case "queued" -> target.setQueued(readString(parser));
+                case "queuedCount" -> target.setQueuedCount(readString(parser));
+                case "queuedSize" -> target.setQueuedSize(readString(parser));
+                case "bytesRead" -> target.setBytesRead(readLong(parser));
+                case "read" -> target.setRead(readString(parser));
+                case "bytesWritten" -> target.setBytesWritten(readLong(parser));
+                case "written" -> target.setWritten(readString(parser));
+                case "flowFilesOut" -> target.setFlowFilesOut(readInteger(parser));
+                case "bytesOut" -> target.setBytesOut(readLong(parser));
+                case "output" -> target.setOutput(readString(parser));
+                case "flowFilesTransferred" -> target.setFlowFilesTransferred(readInteger(parser));
+                case "bytesTransferred" -> target.setBytesTransferred(readLong(parser));
+                case "transferred" -> target.setTransferred(readString(parser));
+                case "bytesReceived" -> target.setBytesReceived(readLong(parser));
+                case "flowFilesReceived" -> target.setFlowFilesReceived(readInteger(parser));
+                case "received" -> target.setReceived(readString(parser));
+                case "bytesSent" -> target.setBytesSent(readLong(parser));
+                case "flowFilesSent" -> target.setFlowFilesSent(readInteger(parser));
+                case "sent" -> target.setSent(readString(parser));
+                case "activeThreadCount" -> target.setActiveThreadCount(readInteger(parser));
+                case "terminatedThreadCount" -> target.setTerminatedThreadCount(readInteger(parser));
+                case "statelessActiveThreadCount" -> target.setStatelessActiveThreadCount(readInteger(parser));
+                case "processingNanos" -> target.setProcessingNanos(readLong(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class ProcessGroupEntityDeserializer extends ObjectDeserializer<ProcessGroupStatusEntity> {
+
+        private final ProcessGroupSnapshotDeserializer snapshot;
+
+        ProcessGroupEntityDeserializer(ProcessGroupSnapshotDeserializer snapshot) {
+            super(ProcessGroupStatusEntity.class);
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        ProcessGroupStatusEntity create() {
+            return new ProcessGroupStatusEntity();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context,
+                       ProcessGroupStatusEntity target) throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "processGroupStatusSnapshot" ->
+                    target.setProcessGroupStatusSnapshot(readObject(parser, context, snapshot));
+                case "canRead" -> target.setCanRead(readBoolean(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class ProcessorEntityDeserializer extends ObjectDeserializer<ProcessorStatusEntity> {
+
+        private final ProcessorSnapshotDeserializer snapshot = new ProcessorSnapshotDeserializer();
+
+        ProcessorEntityDeserializer() {
+            super(ProcessorStatusEntity.class);
+        }
+
+        @Override
+        ProcessorStatusEntity create() {
+            return new ProcessorStatusEntity();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context,
+                       ProcessorStatusEntity target) throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "processorStatusSnapshot" -> target.setProcessorStatusSnapshot(readObject(parser, context, snapshot));
+                case "canRead" -> target.setCanRead(readBoolean(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class ProcessorSnapshotDeserializer extends ObjectDeserializer<ProcessorStatusSnapshot> {
+
+        ProcessorSnapshotDeserializer() {
+            super(ProcessorStatusSnapshot.class);
+        }
+
+        @Override
+        ProcessorStatusSnapshot create() {
+            return new ProcessorStatusSnapshot();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context,
+                       ProcessorStatusSnapshot target) throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "groupId" -> target.setGroupId(readString(parser));
+                case "name" -> target.setName(readString(parser));
+                case "type" -> target.setType(readString(parser));
+                case "runStatus" -> target.setRunStatus(readString(parser));
+                case "executionNode" -> target.setExecutionNode(readString(parser));
+                case "bytesRead" -> target.setBytesRead(readLong(parser));
+                case "bytesWritten" -> target.setBytesWritten(readLong(parser));
+                case "read" -> target.setRead(readString(parser));
+                case "written" -> target.setWritten(readString(parser));
+                case "flowFilesIn" -> target.setFlowFilesIn(readInteger(parser));
+                case "bytesIn" -> target.setBytesIn(readLong(parser));
+                case "input" -> target.setInput(readString(parser));
+                case "flowFilesOut" -> target.setFlowFilesOut(readInteger(parser));
+                case "bytesOut" -> target.setBytesOut(readLong(parser));
+                case "output" -> target.setOutput(readString(parser));
+                case "taskCount" -> target.setTaskCount(readInteger(parser));
+                case "tasksDurationNanos" -> target.setTasksDurationNanos(readLong(parser));
+                case "tasks" -> target.setTasks(readString(parser));
+                case "tasksDuration" -> target.setTasksDuration(readString(parser));
+                case "activeThreadCount" -> target.setActiveThreadCount(readInteger(parser));
+                case "terminatedThreadCount" -> target.setTerminatedThreadCount(readInteger(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class ConnectionEntityDeserializer extends ObjectDeserializer<ConnectionStatusEntity> {
+
+        private final ConnectionSnapshotDeserializer snapshot = new ConnectionSnapshotDeserializer();
+
+        ConnectionEntityDeserializer() {
+            super(ConnectionStatusEntity.class);
+        }
+
+        @Override
+        ConnectionStatusEntity create() {
+            return new ConnectionStatusEntity();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context,
+                       ConnectionStatusEntity target) throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "connectionStatusSnapshot" ->
+                    target.setConnectionStatusSnapshot(readObject(parser, context, snapshot));
+                case "canRead" -> target.setCanRead(readBoolean(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class ConnectionSnapshotDeserializer extends ObjectDeserializer<ConnectionStatusSnapshot> {
+
+        ConnectionSnapshotDeserializer() {
+            super(ConnectionStatusSnapshot.class);
+        }
+
+        @Override
+        ConnectionStatusSnapshot create() {
+            return new ConnectionStatusSnapshot();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context,
+                       ConnectionStatusSnapshot target) throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "groupId" -> target.setGroupId(readString(parser));
+                case "name" -> target.setName(readString(parser));
+                case "sourceName" -> target.setSourceName(readString(parser));
+                case "destinationName" -> target.setDestinationName(readString(parser));
+                case "flowFilesIn" -> target.setFlowFilesIn(readInteger(parser));
+                case "bytesIn" -> target.setBytesIn(readLong(parser));
+                case "input" -> target.setInput(readString(parser));
+                case "flowFilesOut" -> target.setFlowFilesOut(readInteger(parser));
+                case "bytesOut" -> target.setBytesOut(readLong(parser));
+                case "output" -> target.setOutput(readString(parser));
+                case "flowFilesQueued" -> target.setFlowFilesQueued(readInteger(parser));
+                case "bytesQueued" -> target.setBytesQueued(readLong(parser));
+                case "queued" -> target.setQueued(readString(parser));
+                case "queuedSize" -> target.setQueuedSize(readString(parser));
+                case "queuedCount" -> target.setQueuedCount(readString(parser));
+                case "percentUseCount" -> target.setPercentUseCount(readInteger(parser));
+                case "percentUseBytes" -> target.setPercentUseBytes(readInteger(parser));
+                case "flowFileAvailability" -> target.setFlowFileAvailability(readString(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class PortEntityDeserializer extends ObjectDeserializer<PortStatusEntity> {
+
+        private final PortSnapshotDeserializer snapshot = new PortSnapshotDeserializer();
+
+        PortEntityDeserializer() {
+            super(PortStatusEntity.class);
+        }
+
+        @Override
+        PortStatusEntity create() {
+            return new PortStatusEntity();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context,
+                       PortStatusEntity target) throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "portStatusSnapshot" -> target.setPortStatusSnapshot(readObject(parser, context, snapshot));
+                case "canRead" -> target.setCanRead(readBoolean(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class PortSnapshotDeserializer extends ObjectDeserializer<PortStatusSnapshot> {
+
+        PortSnapshotDeserializer() {
+            super(PortStatusSnapshot.class);
+        }
+
+        @Override
+        PortStatusSnapshot create() {
+            return new PortStatusSnapshot();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context,
+                       PortStatusSnapshot target) throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "groupId" -> target.setGroupId(readString(parser));
+                case "name" -> target.setName(readString(parser));
+                case "runStatus" -> target.setRunStatus(readString(parser));
+                case "bytesReceived" -> target.setBytesReceived(readLong(parser));
+                case "bytesSent" -> target.setBytesSent(readLong(parser));
+                case "flowFilesReceived" -> target.setFlowFilesReceived(readInteger(parser));
+                case "flowFilesSent" -> target.setFlowFilesSent(readInteger(parser));
+                case "received" -> target.setReceived(readString(parser));
+                case "sent" -> target.setSent(readString(parser));
+                case "activeThreadCount" -> target.setActiveThreadCount(readInteger(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class RemoteGroupEntityDeserializer
+            extends ObjectDeserializer<RemoteProcessGroupStatusEntity> {
+
+        private final RemoteGroupSnapshotDeserializer snapshot = new RemoteGroupSnapshotDeserializer();
+
+        RemoteGroupEntityDeserializer() {
+            super(RemoteProcessGroupStatusEntity.class);
+        }
+
+        @Override
+        RemoteProcessGroupStatusEntity create() {
+            return new RemoteProcessGroupStatusEntity();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context,
+                       RemoteProcessGroupStatusEntity target) throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "remoteProcessGroupStatusSnapshot" ->
+                    target.setRemoteProcessGroupStatusSnapshot(readObject(parser, context, snapshot));
+                case "canRead" -> target.setCanRead(readBoolean(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class RemoteGroupSnapshotDeserializer
+            extends ObjectDeserializer<RemoteProcessGroupStatusSnapshot> {
+
+        RemoteGroupSnapshotDeserializer() {
+            super(RemoteProcessGroupStatusSnapshot.class);
+        }
+
+        @Override
+        RemoteProcessGroupStatusSnapshot create() {
+            return new RemoteProcessGroupStatusSnapshot();
+        }
+
+        @Override
+        void readField(String field, JsonParser parser, DeserializationContext context,
+                       RemoteProcessGroupStatusSnapshot target) throws IOException {
+            switch (field) {
+                case "id" -> target.setId(readString(parser));
+                case "groupId" -> target.setGroupId(readString(parser));
+                case "name" -> target.setName(readString(parser));
+                case "targetUri" -> target.setTargetUri(readString(parser));
+                case "transmissionStatus" -> target.setTransmissionStatus(readString(parser));
+                case "activeThreadCount" -> target.setActiveThreadCount(readInteger(parser));
+                case "flowFilesSent" -> target.setFlowFilesSent(readLong(parser));
+                case "bytesSent" -> target.setBytesSent(readLong(parser));
+                case "sent" -> target.setSent(readString(parser));
+                case "flowFilesReceived" -> target.setFlowFilesReceived(readLong(parser));
+                case "bytesReceived" -> target.setBytesReceived(readLong(parser));
+                case "received" -> target.setReceived(readString(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+}
@@ -2,7 +2,11 @@ package com.sensys.sse_engine.controller;
 
 import com.sensys.sse_engine.DatabaseService;
 import com.sensys.sse_engine.model.CompareRequest;
+import com.sensys.sse_engine.model.DataCompareRequest;
+import com.sensys.sse_engine.model.DataComparisonResult;
+import com.sensys.sse_engine.model.SchemaDiff;
 import com.sensys.sse_engine.model.TableComparisonResult;
+import com.sensys.sse_engine.schema.SchemaDiffCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -17,13 +21,52 @@ import java.sql.SQLException;
 @Slf4j
 public class DatabaseController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final DatabaseService databaseService;
+    private final SchemaDiffCache schemaDiffCache;
 
     @PostMapping("/compare-tables")
     public TableComparisonResult compareTables(@RequestBody CompareRequest request) throws SQLException {
         return databaseService.compareTables(request.getSourceConfig(), request.getDestConfig(), request.isCompareByTableNamesOnly());
     }
 
+    @PostMapping("/compare-schemas")
+    public ResponseEntity<SchemaDiff> compareSchemas(@RequestBody CompareRequest request,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "100") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        SchemaDiff diff = databaseService.compareSchemas(request.getSourceConfig(), request.getDestConfig(),
+            request.isCompareByTableNamesOnly());
+        String diffId = schemaDiffCache.put(diff);
+        log.info("Schema diff {} lists {} differing tables", diffId, diff.getTables().size());
+        return ResponseEntity.ok(SchemaDiffCache.page(diff, diffId, page, size));
+    }
+
+    @GetMapping("/compare-schemas/{diffId}")
+    public ResponseEntity<SchemaDiff> getSchemaDiffPage(@PathVariable String diffId,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "100") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        SchemaDiff diff = schemaDiffCache.getPage(diffId, page, size);
+        return diff != null ? ResponseEntity.ok(diff) : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/compare-data")
+    public ResponseEntity<DataComparisonResult> compareData(@RequestBody DataCompareRequest request) {
+        if (request.getChunkSize() != null && request.getChunkSize() < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        DataComparisonResult result = databaseService.compareData(request);
+        log.info("Data verification: {} tables match, {} mismatch, {} skipped", result.getTablesMatching(),
+            result.getTablesMismatching(), result.getTablesSkipped());
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping("/seed-nifi")
     public ResponseEntity<String> seedNifi() {
         log.info("Initiating NiFi seeding process");
@@ -0,0 +1,175 @@
+package com.sensys.sse_engine.controller;
+
+import com.sensys.sse_engine.dto.HistoryMemoryStats;
+import com.sensys.sse_engine.dto.StatusHistory;
+import com.sensys.sse_engine.dto.enums.HistoryDownsampling;
+import com.sensys.sse_engine.services.NiFiTarget;
+import com.sensys.sse_engine.services.NiFiTargetRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/nifi/history")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "NiFi History", description = "API endpoints for querying recorded NiFi status history")
+public class NiFiHistoryController {
+
+    private final NiFiTargetRegistry targetRegistry;
+
+    /**
+     * Get the aggregate counter history of a process group
+     *
+     * @param processGroupId ID of the process group
+     * @param from Start of the range in epoch millis (default: oldest sample)
+     * @param to End of the range in epoch millis (default: newest sample)
+     * @param step Bucket width in millis, 0 returns every sample
+     * @param downsampling How samples within a bucket are combined
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return ResponseEntity containing the history series
+     */
+    @GetMapping(path = "/process-groups/{processGroupId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get process group history",
+              description = "Retrieves recorded aggregate counters of the process group for a time range, optionally downsampled")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved history"),
+        @ApiResponse(responseCode = "404", description = "No history recorded for the process group"),
+        @ApiResponse(responseCode = "400", description = "Invalid range parameters")
+    })
+    public ResponseEntity<StatusHistory> getProcessGroupHistory(
+            @Parameter(description = "ID of the process group", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "Start of the range in epoch millis")
+            @RequestParam(defaultValue = "0") long from,
+            @Parameter(description = "End of the range in epoch millis")
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to,
+            @Parameter(description = "Bucket width in millis, 0 for raw samples", example = "60000")
+            @RequestParam(defaultValue = "0") long step,
+            @Parameter(description = "Downsampling mode: LAST, AVG, MIN or MAX")
+            @RequestParam(defaultValue = "LAST") HistoryDownsampling downsampling,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (!isValidRange(from, to, step)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.debug("GET request received for history of process group: {}", processGroupId);
+        return nifiTarget.getHistoryService().getProcessGroupHistory(processGroupId.trim(), from, to, step, downsampling)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the counter history of a processor within a process group
+     */
+    @GetMapping(path = "/process-groups/{processGroupId}/processors/{processorId}",
+                produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get processor history",
+              description = "Retrieves recorded counters of a processor for a time range, optionally downsampled")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved history"),
+        @ApiResponse(responseCode = "404", description = "No history recorded for the processor"),
+        @ApiResponse(responseCode = "400", description = "Invalid range parameters")
+    })
+    public ResponseEntity<StatusHistory> getProcessorHistory(
+            @Parameter(description = "ID of the process group", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "ID of the processor", required = true)
+            @PathVariable String processorId,
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to,
+            @RequestParam(defaultValue = "0") long step,
+            @RequestParam(defaultValue = "LAST") HistoryDownsampling downsampling,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (!isValidRange(from, to, step)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.debug("GET request received for history of processor: {} in process group: {}",
+            processorId, processGroupId);
+        return nifiTarget.getHistoryService().getProcessorHistory(processGroupId.trim(), processorId.trim(),
+                from, to, step, downsampling)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the counter history of a connection within a process group
+     */
+    @GetMapping(path = "/process-groups/{processGroupId}/connections/{connectionId}",
+                produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get connection history",
+              description = "Retrieves recorded counters of a connection for a time range, optionally downsampled")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved history"),
+        @ApiResponse(responseCode = "404", description = "No history recorded for the connection"),
+        @ApiResponse(responseCode = "400", description = "Invalid range parameters")
+    })
+    public ResponseEntity<StatusHistory> getConnectionHistory(
+            @Parameter(description = "ID of the process group", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "ID of the connection", required = true)
+            @PathVariable String connectionId,
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to,
+            @RequestParam(defaultValue = "0") long step,
+            @RequestParam(defaultValue = "LAST") HistoryDownsampling downsampling,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (!isValidRange(from, to, step)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.debug("GET request received for history of connection: {} in process group: {}",
+            connectionId, processGroupId);
+        return nifiTarget.getHistoryService().getConnectionHistory(processGroupId.trim(), connectionId.trim(),
+                from, to, step, downsampling)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get memory usage of the recorded history
+     *
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return List of memory statistics, one per process group
+     */
+    @GetMapping(path = "/memory", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get history memory usage",
+              description = "Reports retained and projected hourly memory of the status history per process group")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved memory statistics")
+    })
+    public ResponseEntity<List<HistoryMemoryStats>> getMemoryStats(
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+        log.debug("GET request received for history memory statistics");
+        return ResponseEntity.ok(nifiTarget.getHistoryService().getMemoryStats());
+    }
+
+    private boolean isValidRange(long from, long to, long step) {
+        if (from > to || step < 0) {
+            log.debug("Invalid history range: from={}, to={}, step={}", from, to, step);
+            return false;
+        }
+        return true;
+    }
+}
@@ -1,7 +1,15 @@
 package com.sensys.sse_engine.controller;
 
-import com.sensys.sse_engine.services.NiFiOperationsService;
-import com.sensys.sse_engine.services.NiFiResourceService;
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.dto.BulkOperationProgress;
+import com.sensys.sse_engine.dto.RunStatusConvergence;
+import com.sensys.sse_engine.dto.enums.ProcessGroupAction;
+import com.sensys.sse_engine.helper.ServerSentEvents;
+import com.sensys.sse_engine.model.BulkOperationRequest;
+import com.sensys.sse_engine.services.NiFiBulkOperationsService;
+import com.sensys.sse_engine.services.NiFiTarget;
+import com.sensys.sse_engine.services.NiFiTargetRegistry;
+import com.sensys.sse_engine.services.RunStatusConvergenceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,10 +17,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.regex.PatternSyntaxException;
+
 @RestController
 @RequestMapping("/api/nifi/operations")
 @RequiredArgsConstructor
@@ -20,13 +34,16 @@ import reactor.core.publisher.Mono;
 @Tag(name = "NiFi Operations", description = "API endpoints for NiFi operations")
 public class NiFiOperationsController {
 
-    private final NiFiOperationsService nifiOperationsService;
-    private final NiFiResourceService nifiResourceService;
+    private final NiFiTargetRegistry targetRegistry;
+    private final NiFiBulkOperationsService bulkOperationsService;
+    private final RunStatusConvergenceService convergenceService;
+    private final NiFiProperties nifiProperties;
 
     /**
      * Start a process group
      *
      * @param processGroupId ID of the process group to start
+     * @param target Name of the NiFi target, the default target when omitted
      * @return ResponseEntity indicating success or error
      */
     @PutMapping("/process-groups/{processGroupId}/start")
@@ -40,7 +57,10 @@ public class NiFiOperationsController {
     })
     public Mono<ResponseEntity<Void>> startProcessGroup(
             @Parameter(description = "ID of the process group to start", required = true)
-            @PathVariable String processGroupId) {
+            @PathVariable String processGroupId,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         
         if (processGroupId == null || processGroupId.trim().isEmpty()) {
             return Mono.just(ResponseEntity.badRequest().build());
@@ -50,8 +70,8 @@ public class NiFiOperationsController {
         log.debug("Received request to start process group: {}", trimmedId);
 
         // First verify the process group exists
-        return nifiResourceService.findProcessGroupById(trimmedId)
-            .flatMap(pg -> nifiOperationsService.startProcessGroup(trimmedId)
+        return nifiTarget.getResourceService().findProcessGroupById(trimmedId)
+            .flatMap(pg -> nifiTarget.getOperationsService().startProcessGroup(trimmedId)
                 .then(Mono.just(ResponseEntity.ok().<Void>build())))
             .defaultIfEmpty(ResponseEntity.notFound().build())
             .onErrorResume(error -> {
@@ -64,6 +84,7 @@ public class NiFiOperationsController {
      * Stop a process group
      *
      * @param processGroupId ID of the process group to stop
+     * @param target Name of the NiFi target, the default target when omitted
      * @return ResponseEntity indicating success or error
      */
     @PutMapping("/process-groups/{processGroupId}/stop")
@@ -77,7 +98,10 @@ public class NiFiOperationsController {
     })
     public Mono<ResponseEntity<Void>> stopProcessGroup(
             @Parameter(description = "ID of the process group to stop", required = true)
-            @PathVariable String processGroupId) {
+            @PathVariable String processGroupId,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         
         if (processGroupId == null || processGroupId.trim().isEmpty()) {
             return Mono.just(ResponseEntity.badRequest().build());
@@ -87,8 +111,8 @@ public class NiFiOperationsController {
         log.debug("Received request to stop process group: {}", trimmedId);
 
         // First verify the process group exists
-        return nifiResourceService.findProcessGroupById(trimmedId)
-            .flatMap(pg -> nifiOperationsService.stopProcessGroup(trimmedId)
+        return nifiTarget.getResourceService().findProcessGroupById(trimmedId)
+            .flatMap(pg -> nifiTarget.getOperationsService().stopProcessGroup(trimmedId)
                 .then(Mono.just(ResponseEntity.ok().<Void>build())))
             .defaultIfEmpty(ResponseEntity.notFound().build())
             .onErrorResume(error -> {
@@ -96,4 +120,164 @@ public class NiFiOperationsController {
                 return Mono.just(ResponseEntity.internalServerError().build());
             });
     }
-}
\ No newline at end of file
+
+    /**
+     * Start a process group and follow its processors until they are running
+     *
+     * @param processGroupId ID of the process group to start
+     * @param deadline Seconds to follow the processors
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return Server-sent events stream of run status convergence
+     */
+    @PutMapping(path = "/process-groups/{processGroupId}/start/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Start process group and track run status",
+              description = "Starts the specified process group, then streams how many processors are running, still " +
+                  "transitioning or invalid until all of them settled or the deadline passed")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Process group started and tracking stream established"),
+        @ApiResponse(responseCode = "404", description = "Process group not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid process group ID or deadline"),
+        @ApiResponse(responseCode = "500", description = "Failed to start process group")
+    })
+    public Mono<ResponseEntity<Flux<ServerSentEvent<RunStatusConvergence>>>> startProcessGroupAndTrack(
+            @Parameter(description = "ID of the process group to start", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "Seconds to follow the processors, the configured default when omitted")
+            @RequestParam(required = false) Integer deadline,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        return changeStateAndTrack(targetRegistry.get(target), processGroupId, ProcessGroupAction.START, deadline);
+    }
+
+    /**
+     * Stop a process group and follow its processors until they are stopped
+     *
+     * @param processGroupId ID of the process group to stop
+     * @param deadline Seconds to follow the processors
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return Server-sent events stream of run status convergence
+     */
+    @PutMapping(path = "/process-groups/{processGroupId}/stop/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stop process group and track run status",
+              description = "Stops the specified process group, then streams how many processors are stopped or still " +
+                  "finishing their tasks until all of them settled or the deadline passed")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Process group stopped and tracking stream established"),
+        @ApiResponse(responseCode = "404", description = "Process group not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid process group ID or deadline"),
+        @ApiResponse(responseCode = "500", description = "Failed to stop process group")
+    })
+    public Mono<ResponseEntity<Flux<ServerSentEvent<RunStatusConvergence>>>> stopProcessGroupAndTrack(
+            @Parameter(description = "ID of the process group to stop", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "Seconds to follow the processors, the configured default when omitted")
+            @RequestParam(required = false) Integer deadline,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        return changeStateAndTrack(targetRegistry.get(target), processGroupId, ProcessGroupAction.STOP, deadline);
+    }
+
+    private Mono<ResponseEntity<Flux<ServerSentEvent<RunStatusConvergence>>>> changeStateAndTrack(
+            NiFiTarget nifiTarget, String processGroupId, ProcessGroupAction action, Integer deadline) {
+        if (processGroupId == null || processGroupId.trim().isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        int maxDeadline = nifiProperties.getConvergence().getMaxDeadline();
+        if (deadline != null && (deadline < 1 || deadline > maxDeadline)) {
+            log.debug("Invalid deadline provided: {}. Must be between 1 and {} seconds", deadline, maxDeadline);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        Duration trackFor = Duration.ofSeconds(deadline != null ? deadline : nifiProperties.getConvergence().getDeadline());
+
+        String trimmedId = processGroupId.trim();
+        log.debug("Received request to {} process group {} and track its run status", action, trimmedId);
+
+        // First verify the process group exists
+        return nifiTarget.getResourceService().findProcessGroupById(trimmedId)
+            .flatMap(pg -> nifiTarget.getOperationsService().changeState(trimmedId, action)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(ServerSentEvents.withKeepAlive(
+                    convergenceService.track(nifiTarget, trimmedId, action, trackFor)
+                        .doOnError(error -> log.error("Error in run status stream for process group {}: {}",
+                            trimmedId, error.getMessage())),
+                    Duration.ofSeconds(nifiProperties.getStreamKeepAlive()))))))
+            .defaultIfEmpty(ResponseEntity.notFound().build())
+            .onErrorResume(error -> {
+                log.error("Failed to {} process group {}: {}", action, trimmedId, error.getMessage());
+                return Mono.just(ResponseEntity.internalServerError().build());
+            });
+    }
+
+    /**
+     * Start or stop many process groups
+     *
+     * @param request Action, selected process groups and concurrency
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return Server-sent events stream with the result of each process group
+     */
+    @PostMapping(
+        path = "/process-groups/bulk",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    @Operation(summary = "Start or stop many process groups",
+              description = "Starts or stops the listed process groups, the groups below a parent group, or the groups whose " +
+                  "name matches a pattern, several at a time, and streams the result of each group as it completes")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Bulk operation stream established successfully"),
+        @ApiResponse(responseCode = "404", description = "Parent process group not found"),
+        @ApiResponse(responseCode = "400", description = "Missing action or selection, invalid name pattern or concurrency"),
+        @ApiResponse(responseCode = "500", description = "Failed to start the bulk operation")
+    })
+    public Mono<ResponseEntity<Flux<ServerSentEvent<BulkOperationProgress>>>> bulkOperation(
+            @RequestBody BulkOperationRequest request,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (request == null || request.getAction() == null) {
+            log.debug("Bulk operation request without action");
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        boolean hasIds = request.getProcessGroupIds() != null
+            && request.getProcessGroupIds().stream().anyMatch(id -> id != null && !id.isBlank());
+        boolean hasParent = request.getParentGroupId() != null && !request.getParentGroupId().isBlank();
+        boolean hasPattern = request.getNamePattern() != null && !request.getNamePattern().isBlank();
+        if (!hasIds && !hasParent && !hasPattern) {
+            log.debug("Bulk operation request without process group selection");
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        try {
+            NiFiBulkOperationsService.compileNamePattern(request.getNamePattern());
+        } catch (PatternSyntaxException e) {
+            log.debug("Invalid name pattern provided: {}", e.getMessage());
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        Integer concurrency = request.getConcurrency();
+        if (concurrency != null && (concurrency < 1 || concurrency > nifiProperties.getBulk().getMaxConcurrency())) {
+            log.debug("Invalid concurrency provided: {}. Must be between 1 and {}",
+                concurrency, nifiProperties.getBulk().getMaxConcurrency());
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        log.debug("Received bulk {} request for process groups", request.getAction());
+        Mono<Boolean> parentExists = hasParent
+            ? nifiTarget.getResourceService().findProcessGroupById(request.getParentGroupId().trim()).hasElement()
+            : Mono.just(true);
+
+        return parentExists
+            .<ResponseEntity<Flux<ServerSentEvent<BulkOperationProgress>>>>map(exists -> exists
+                ? ResponseEntity.ok(ServerSentEvents.withKeepAlive(bulkOperationsService.execute(nifiTarget, request)
+                        .doOnError(error -> log.error("Error in bulk {} stream: {}",
+                            request.getAction(), error.getMessage())),
+                    Duration.ofSeconds(nifiProperties.getStreamKeepAlive())))
+                : ResponseEntity.<Flux<ServerSentEvent<BulkOperationProgress>>>notFound().build())
+            .onErrorResume(error -> {
+                log.error("Error setting up bulk {}: {}", request.getAction(), error.getMessage());
+                return Mono.just(ResponseEntity.internalServerError().build());
+            });
+    }
+}
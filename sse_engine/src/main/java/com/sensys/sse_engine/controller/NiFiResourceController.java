@@ -1,7 +1,8 @@
 package com.sensys.sse_engine.controller;
 
 import com.sensys.sse_engine.dto.NiFiResource;
-import com.sensys.sse_engine.services.NiFiResourceService;
+import com.sensys.sse_engine.services.NiFiTarget;
+import com.sensys.sse_engine.services.NiFiTargetRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -25,24 +26,26 @@ import reactor.core.publisher.Mono;
 @Tag(name = "NiFi Resources", description = "API endpoints for managing NiFi resources")
 public class NiFiResourceController {
 
-    private final NiFiResourceService nifiResourceService;
+    private final NiFiTargetRegistry targetRegistry;
 
     /**
-     * Get all NiFi resources
+     * Get all NiFi resources, written as they are decoded
      *
+     * @param target Name of the NiFi target, the default target when omitted
      * @return Flux of all NiFi resources
      */
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Get all resources", description = "Retrieves all NiFi resources")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Get all resources", description = "Retrieves all NiFi resources, streamed as they are read from NiFi")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Successfully retrieved all resources"),
         @ApiResponse(responseCode = "500", description = "Internal server error occurred")
     })
-    public Flux<NiFiResource> getAllResources() {
+    public Flux<NiFiResource> getAllResources(
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         log.debug("GET request received for all NiFi resources");
-        return nifiResourceService.getAllResources()
-            .mapNotNull(dto -> dto.getResources())
-            .flatMapMany(Flux::fromIterable)
+        return nifiTarget.getResourceService().streamAllResources()
             .filter(Objects::nonNull)
             .doOnComplete(() -> log.debug("Completed retrieving all NiFi resources"));
     }
@@ -50,6 +53,7 @@ public class NiFiResourceController {
     /**
      * Get all process groups
      *
+     * @param target Name of the NiFi target, the default target when omitted
      * @return Flux of process group resources
      */
     @GetMapping(path = "/process-groups", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -58,14 +62,18 @@ public class NiFiResourceController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved process groups"),
         @ApiResponse(responseCode = "500", description = "Internal server error occurred")
     })
-    public Flux<NiFiResource> getProcessGroups() {
+    public Flux<NiFiResource> getProcessGroups(
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         log.debug("GET request received for all process groups");
-        return nifiResourceService.getProcessGroups();
+        return nifiTarget.getResourceService().getProcessGroups();
     }
 
     /**
      * Get all processors
      *
+     * @param target Name of the NiFi target, the default target when omitted
      * @return Flux of processor resources
      */
     @GetMapping(path = "/processors", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -74,15 +82,19 @@ public class NiFiResourceController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved processors"),
         @ApiResponse(responseCode = "500", description = "Internal server error occurred")
     })
-    public Flux<NiFiResource> getProcessors() {
+    public Flux<NiFiResource> getProcessors(
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         log.debug("GET request received for all processors");
-        return nifiResourceService.getProcessors();
+        return nifiTarget.getResourceService().getProcessors();
     }
 
     /**
      * Find a process group by name
      *
      * @param name Name of the process group to find
+     * @param target Name of the NiFi target, the default target when omitted
      * @return ResponseEntity containing the matching process group resource, if found
      */
     @GetMapping(path = "/process-groups/search", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -94,13 +106,16 @@ public class NiFiResourceController {
     })
     public Mono<ResponseEntity<NiFiResource>> findProcessGroupByName(
             @Parameter(description = "Name of the process group to find", required = true)
-            @RequestParam String name) {
+            @RequestParam String name,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         if (name == null || name.trim().isEmpty()) {
             return Mono.just(ResponseEntity.badRequest().build());
         }
 
         log.debug("GET request received to find process group with name: {}", name);
-        return nifiResourceService.findProcessGroupByName(name.trim())
+        return nifiTarget.getResourceService().findProcessGroupByName(name.trim())
             .map(ResponseEntity::ok)
             .defaultIfEmpty(ResponseEntity.notFound().build())
             .onErrorReturn(ResponseEntity.internalServerError().build());
@@ -110,6 +125,7 @@ public class NiFiResourceController {
      * Find a processor by name
      *
      * @param name Name of the processor to find
+     * @param target Name of the NiFi target, the default target when omitted
      * @return ResponseEntity containing the matching processor resource, if found
      */
     @GetMapping(path = "/processors/search", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -121,13 +137,16 @@ public class NiFiResourceController {
     })
     public Mono<ResponseEntity<NiFiResource>> findProcessorByName(
             @Parameter(description = "Name of the processor to find", required = true)
-            @RequestParam String name) {
+            @RequestParam String name,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         if (name == null || name.trim().isEmpty()) {
             return Mono.just(ResponseEntity.badRequest().build());
         }
 
         log.debug("GET request received to find processor with name: {}", name);
-        return nifiResourceService.findProcessorByName(name.trim())
+        return nifiTarget.getResourceService().findProcessorByName(name.trim())
             .map(ResponseEntity::ok)
             .defaultIfEmpty(ResponseEntity.notFound().build())
             .onErrorReturn(ResponseEntity.internalServerError().build());
@@ -137,6 +156,7 @@ public class NiFiResourceController {
      * Find a process group by ID
      *
      * @param id ID of the process group to find
+     * @param target Name of the NiFi target, the default target when omitted
      * @return ResponseEntity containing the matching process group resource, if found
      */
     @GetMapping(path = "/process-groups/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -148,13 +168,16 @@ public class NiFiResourceController {
     })
     public Mono<ResponseEntity<NiFiResource>> findProcessGroupById(
             @Parameter(description = "ID of the process group to find", required = true)
-            @PathVariable String id) {
+            @PathVariable String id,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         if (id == null || id.trim().isEmpty()) {
             return Mono.just(ResponseEntity.badRequest().build());
         }
 
         log.debug("GET request received to find process group with ID: {}", id);
-        return nifiResourceService.findProcessGroupById(id.trim())
+        return nifiTarget.getResourceService().findProcessGroupById(id.trim())
             .map(ResponseEntity::ok)
             .defaultIfEmpty(ResponseEntity.notFound().build())
             .onErrorReturn(ResponseEntity.internalServerError().build());
@@ -164,6 +187,7 @@ public class NiFiResourceController {
      * Get all resources within a specific process group
      *
      * @param processGroupId ID of the process group
+     * @param target Name of the NiFi target, the default target when omitted
      * @return Flux of resources within the specified process group
      */
     @GetMapping(path = "/process-groups/{processGroupId}/resources", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -176,13 +200,16 @@ public class NiFiResourceController {
     })
     public Mono<ResponseEntity<Flux<NiFiResource>>> getResourcesInProcessGroup(
             @Parameter(description = "ID of the process group", required = true)
-            @PathVariable String processGroupId) {
+            @PathVariable String processGroupId,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         if (processGroupId == null || processGroupId.trim().isEmpty()) {
             return Mono.just(ResponseEntity.badRequest().build());
         }
 
         log.debug("GET request received for resources in process group: {}", processGroupId);
-        Flux<NiFiResource> resources = nifiResourceService.getResourcesInProcessGroup(processGroupId.trim());
+        Flux<NiFiResource> resources = nifiTarget.getResourceService().getResourcesInProcessGroup(processGroupId.trim());
         return Mono.just(ResponseEntity.ok(resources));
     }
 }
\ No newline at end of file
@@ -1,7 +1,11 @@
 package com.sensys.sse_engine.controller;
 
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.dto.NodeStatusBreakdown;
 import com.sensys.sse_engine.dto.ProcessGroupAnalysis;
-import com.sensys.sse_engine.services.NiFiStatusAnalysisService;
+import com.sensys.sse_engine.helper.ServerSentEvents;
+import com.sensys.sse_engine.services.NiFiTarget;
+import com.sensys.sse_engine.services.NiFiTargetRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,16 +14,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/nifi/analysis")
 @RequiredArgsConstructor
 @Slf4j
 public class NiFiStatusAnalysisController {
 
-    private final NiFiStatusAnalysisService analysisService;
+    private final NiFiTargetRegistry targetRegistry;
+    private final NiFiProperties nifiProperties;
 
     @GetMapping(path = "/process-groups/{processGroupId}", 
                 produces = MediaType.APPLICATION_JSON_VALUE)
@@ -32,9 +41,12 @@ public class NiFiStatusAnalysisController {
     })
     public Mono<ResponseEntity<ProcessGroupAnalysis>> analyzeProcessGroup(
             @Parameter(description = "ID of the process group", required = true)
-            @PathVariable String processGroupId) {
+            @PathVariable String processGroupId,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         
-        return analysisService.analyzeProcessGroupStatus(processGroupId)
+        return nifiTarget.getAnalysisService().analyzeProcessGroupStatus(processGroupId)
             .map(ResponseEntity::ok)
             .defaultIfEmpty(ResponseEntity.notFound().build())
             .onErrorResume(error -> {
@@ -43,4 +55,145 @@ public class NiFiStatusAnalysisController {
                 return Mono.just(ResponseEntity.internalServerError().build());
             });
     }
-}
\ No newline at end of file
+
+    @GetMapping(path = "/process-groups/{processGroupId}/stream", 
+                produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream process group analysis",
+              description = "Streams analysis of the specified process group using server-sent events (SSE), emitting only when the analysis changes")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Analysis stream established successfully"),
+        @ApiResponse(responseCode = "404", description = "Process group not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public Mono<ResponseEntity<Flux<ServerSentEvent<ProcessGroupAnalysis>>>> streamProcessGroupAnalysis(
+            @Parameter(description = "ID of the process group", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "Polling interval in seconds (1-60)", example = "5")
+            @RequestParam(defaultValue = "5") Integer interval,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (processGroupId == null || processGroupId.trim().isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        if (interval < 1 || interval > 60) {
+            log.debug("Invalid interval provided: {}. Must be between 1 and 60 seconds", interval);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        String trimmedId = processGroupId.trim();
+        log.debug("Stream request received for process group analysis: {} with interval: {}s", 
+            trimmedId, interval);
+
+        return nifiTarget.getResourceService().findProcessGroupById(trimmedId)
+            .map(pg -> ResponseEntity.ok(
+                ServerSentEvents.withKeepAlive(nifiTarget.getAnalysisService().streamProcessGroupAnalysis(trimmedId, interval)
+                        .doOnError(error -> log.error("Error in analysis stream for process group {}: {}", 
+                            trimmedId, error.getMessage())),
+                    Duration.ofSeconds(nifiProperties.getStreamKeepAlive()))
+            ))
+            .defaultIfEmpty(ResponseEntity.notFound().build())
+            .onErrorResume(error -> {
+                log.error("Error setting up analysis stream for process group {}: {}", 
+                    trimmedId, error.getMessage());
+                return Mono.just(ResponseEntity.internalServerError().build());
+            });
+    }
+
+    @GetMapping(path = "/process-groups/{processGroupId}/nodes",
+                produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Analyze process group per cluster node",
+              description = "Breaks throughput, active threads and queue depth of the process group down per cluster node and reports components concentrated on one node")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Analysis completed successfully"),
+        @ApiResponse(responseCode = "404", description = "Process group not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public Mono<ResponseEntity<NodeStatusBreakdown>> analyzeNodes(
+            @Parameter(description = "ID of the process group", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "Node share (0-1) above which a component is a hotspot", example = "0.6")
+            @RequestParam(required = false) Double threshold,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (processGroupId == null || processGroupId.trim().isEmpty() || !isValidThreshold(threshold)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        String trimmedId = processGroupId.trim();
+        log.debug("GET request received for node analysis of process group: {}", trimmedId);
+
+        return nifiTarget.getResourceService().findProcessGroupById(trimmedId)
+            .flatMap(pg -> nifiTarget.getAnalysisService().analyzeNodes(trimmedId, threshold)
+                .map(ResponseEntity::ok))
+            .defaultIfEmpty(ResponseEntity.notFound().build())
+            .onErrorResume(error -> {
+                log.error("Error analyzing nodes of process group {}: {}",
+                    trimmedId, error.getMessage());
+                return Mono.just(ResponseEntity.internalServerError().build());
+            });
+    }
+
+    @GetMapping(path = "/process-groups/{processGroupId}/nodes/stream",
+                produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream process group analysis per cluster node",
+              description = "Streams the per-node breakdown and hotspots of the specified process group using server-sent events (SSE)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Node analysis stream established successfully"),
+        @ApiResponse(responseCode = "404", description = "Process group not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public Mono<ResponseEntity<Flux<ServerSentEvent<NodeStatusBreakdown>>>> streamNodeAnalysis(
+            @Parameter(description = "ID of the process group", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "Polling interval in seconds (1-60)", example = "5")
+            @RequestParam(defaultValue = "5") Integer interval,
+            @Parameter(description = "Node share (0-1) above which a component is a hotspot", example = "0.6")
+            @RequestParam(required = false) Double threshold,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (processGroupId == null || processGroupId.trim().isEmpty() || !isValidThreshold(threshold)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        if (interval < 1 || interval > 60) {
+            log.debug("Invalid interval provided: {}. Must be between 1 and 60 seconds", interval);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        String trimmedId = processGroupId.trim();
+        log.debug("Stream request received for node analysis of process group: {} with interval: {}s",
+            trimmedId, interval);
+
+        return nifiTarget.getResourceService().findProcessGroupById(trimmedId)
+            .map(pg -> ResponseEntity.ok(
+                ServerSentEvents.withKeepAlive(nifiTarget.getAnalysisService().streamNodeAnalysis(trimmedId, interval, threshold)
+                        .doOnError(error -> log.error("Error in node analysis stream for process group {}: {}",
+                            trimmedId, error.getMessage())),
+                    Duration.ofSeconds(nifiProperties.getStreamKeepAlive()))
+            ))
+            .defaultIfEmpty(ResponseEntity.notFound().build())
+            .onErrorResume(error -> {
+                log.error("Error setting up node analysis stream for process group {}: {}",
+                    trimmedId, error.getMessage());
+                return Mono.just(ResponseEntity.internalServerError().build());
+            });
+    }
+
+    private boolean isValidThreshold(Double threshold) {
+        if (threshold != null && (threshold <= 0 || threshold > 1)) {
+            log.debug("Invalid skew threshold provided: {}. Must be above 0 and at most 1", threshold);
+            return false;
+        }
+        return true;
+    }
+}
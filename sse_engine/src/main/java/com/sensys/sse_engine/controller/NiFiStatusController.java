@@ -1,9 +1,18 @@
 package com.sensys.sse_engine.controller;
 
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.dto.CoalescingStats;
+import com.sensys.sse_engine.dto.ConnectionStatusEntity;
 import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.ProcessGroupTree;
+import com.sensys.sse_engine.dto.ProcessGroupTreeNode;
+import com.sensys.sse_engine.dto.ProcessorStatusEntity;
 import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
-import com.sensys.sse_engine.services.NiFiResourceService;
-import com.sensys.sse_engine.services.NiFiStatusService;
+import com.sensys.sse_engine.dto.StatusStreamStats;
+import com.sensys.sse_engine.dto.enums.TreeFetchMode;
+import com.sensys.sse_engine.helper.ServerSentEvents;
+import com.sensys.sse_engine.services.NiFiTarget;
+import com.sensys.sse_engine.services.NiFiTargetRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,10 +22,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/nifi/status")
 @RequiredArgsConstructor
@@ -24,13 +37,14 @@ import reactor.core.publisher.Mono;
 @Tag(name = "NiFi Status", description = "API endpoints for monitoring NiFi process group status")
 public class NiFiStatusController {
 
-    private final NiFiStatusService nifiStatusService;
-    private final NiFiResourceService nifiResourceService;
+    private final NiFiTargetRegistry targetRegistry;
+    private final NiFiProperties nifiProperties;
 
     /**
      * Get current status of a process group
      *
      * @param processGroupId ID of the process group
+     * @param target Name of the NiFi target, the default target when omitted
      * @return ResponseEntity containing process group status
      */
     @GetMapping(path = "/process-groups/{processGroupId}", 
@@ -47,7 +61,10 @@ public class NiFiStatusController {
     })
     public Mono<ResponseEntity<ProcessGroupStatus>> getProcessGroupStatus(
             @Parameter(description = "ID of the process group", required = true)
-            @PathVariable String processGroupId) {
+            @PathVariable String processGroupId,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         
         if (processGroupId == null || processGroupId.trim().isEmpty()) {
             log.debug("Invalid process group ID provided");
@@ -57,8 +74,8 @@ public class NiFiStatusController {
         String trimmedId = processGroupId.trim();
         log.debug("GET request received for process group status: {}", trimmedId);
 
-        return nifiResourceService.findProcessGroupById(trimmedId)
-            .flatMap(pg -> nifiStatusService.getProcessGroupStatus(trimmedId)
+        return nifiTarget.getResourceService().findProcessGroupById(trimmedId)
+            .flatMap(pg -> nifiTarget.getStatusService().getProcessGroupStatus(trimmedId)
                 .map(ResponseEntity::ok))
             .defaultIfEmpty(ResponseEntity.notFound().build())
             .onErrorResume(error -> {
@@ -73,6 +90,7 @@ public class NiFiStatusController {
      *
      * @param processGroupId ID of the process group
      * @param interval Optional polling interval in seconds (default: 5)
+     * @param target Name of the NiFi target, the default target when omitted
      * @return Server-sent events stream of process group status updates
      */
     @GetMapping(
@@ -89,11 +107,14 @@ public class NiFiStatusController {
         @ApiResponse(responseCode = "400", description = "Invalid parameters"),
         @ApiResponse(responseCode = "500", description = "Internal server error occurred")
     })
-    public Mono<ResponseEntity<Flux<ProcessGroupStatus>>> streamProcessGroupStatus(
+    public Mono<ResponseEntity<Flux<ServerSentEvent<ProcessGroupStatus>>>> streamProcessGroupStatus(
             @Parameter(description = "ID of the process group", required = true)
             @PathVariable String processGroupId,
             @Parameter(description = "Polling interval in seconds (1-60)", example = "5")
-            @RequestParam(defaultValue = "5") Integer interval) {
+            @RequestParam(defaultValue = "5") Integer interval,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         
         // Validate process group ID
         if (processGroupId == null || processGroupId.trim().isEmpty()) {
@@ -112,11 +133,12 @@ public class NiFiStatusController {
             trimmedId, interval);
 
         // Verify process group exists before starting stream
-        return nifiResourceService.findProcessGroupById(trimmedId)
+        return nifiTarget.getResourceService().findProcessGroupById(trimmedId)
             .map(pg -> ResponseEntity.ok(
-                nifiStatusService.streamProcessGroupStatus(trimmedId, interval)
-                    .doOnError(error -> log.error("Error in status stream for process group {}: {}", 
-                        trimmedId, error.getMessage()))
+                ServerSentEvents.withKeepAlive(nifiTarget.getStatusService().streamProcessGroupStatus(trimmedId, interval)
+                        .doOnError(error -> log.error("Error in status stream for process group {}: {}", 
+                            trimmedId, error.getMessage())),
+                    Duration.ofSeconds(nifiProperties.getStreamKeepAlive()))
             ))
             .defaultIfEmpty(ResponseEntity.notFound().build())
             .onErrorResume(error -> {
@@ -126,11 +148,194 @@ public class NiFiStatusController {
             });
     }
 
+    /**
+     * Get the status of every processor in a process group, written as it is decoded
+     *
+     * @param processGroupId ID of the process group
+     * @param recursive Include processors of nested process groups
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return Flux of processor status entities
+     */
+    @GetMapping(
+        path = "/process-groups/{processGroupId}/processors",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(
+        summary = "Stream processor statuses",
+        description = "Streams the status of every processor in the process group as it is read from NiFi"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved processor statuses"),
+        @ApiResponse(responseCode = "400", description = "Invalid process group ID"),
+        @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public Mono<ResponseEntity<Flux<ProcessorStatusEntity>>> getProcessorStatuses(
+            @Parameter(description = "ID of the process group", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "Include nested process groups")
+            @RequestParam(defaultValue = "false") boolean recursive,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (processGroupId == null || processGroupId.trim().isEmpty()) {
+            log.debug("Invalid process group ID provided");
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        String trimmedId = processGroupId.trim();
+        log.debug("GET request received for processor statuses of process group: {}", trimmedId);
+        return Mono.just(ResponseEntity.ok(nifiTarget.getStatusService().streamProcessorStatuses(trimmedId, recursive)));
+    }
+
+    /**
+     * Get the status of every connection in a process group, written as it is decoded
+     *
+     * @param processGroupId ID of the process group
+     * @param recursive Include connections of nested process groups
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return Flux of connection status entities
+     */
+    @GetMapping(
+        path = "/process-groups/{processGroupId}/connections",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(
+        summary = "Stream connection statuses",
+        description = "Streams the status of every connection in the process group as it is read from NiFi"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved connection statuses"),
+        @ApiResponse(responseCode = "400", description = "Invalid process group ID"),
+        @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public Mono<ResponseEntity<Flux<ConnectionStatusEntity>>> getConnectionStatuses(
+            @Parameter(description = "ID of the process group", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "Include nested process groups")
+            @RequestParam(defaultValue = "false") boolean recursive,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (processGroupId == null || processGroupId.trim().isEmpty()) {
+            log.debug("Invalid process group ID provided");
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        String trimmedId = processGroupId.trim();
+        log.debug("GET request received for connection statuses of process group: {}", trimmedId);
+        return Mono.just(ResponseEntity.ok(nifiTarget.getStatusService().streamConnectionStatuses(trimmedId, recursive)));
+    }
+
+    /**
+     * Get the status tree of a process group and all nested groups
+     *
+     * @param processGroupId ID of the root process group
+     * @param mode How the statuses are fetched from NiFi
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return ResponseEntity containing the flattened tree
+     */
+    @GetMapping(path = "/process-groups/{processGroupId}/tree", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get process group status tree",
+        description = "Retrieves every nested process group, processor and connection as flat, pre-ordered lists with parent pointers and subtree totals"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved status tree"),
+        @ApiResponse(responseCode = "404", description = "Process group not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid process group ID"),
+        @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public Mono<ResponseEntity<ProcessGroupTree>> getProcessGroupTree(
+            @Parameter(description = "ID of the process group", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "RECURSIVE for one recursive NiFi call, FAN_OUT for one call per group")
+            @RequestParam(defaultValue = "RECURSIVE") TreeFetchMode mode,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (processGroupId == null || processGroupId.trim().isEmpty()) {
+            log.debug("Invalid process group ID provided");
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        String trimmedId = processGroupId.trim();
+        log.debug("GET request received for status tree of process group: {} ({})", trimmedId, mode);
+
+        return nifiTarget.getResourceService().findProcessGroupById(trimmedId)
+            .flatMap(pg -> nifiTarget.getTreeService().getProcessGroupTree(trimmedId, mode)
+                .map(ResponseEntity::ok))
+            .defaultIfEmpty(ResponseEntity.notFound().build())
+            .onErrorResume(error -> {
+                log.error("Error getting status tree for process group {}: {}",
+                    trimmedId, error.getMessage());
+                return Mono.just(ResponseEntity.internalServerError().build());
+            });
+    }
+
+    /**
+     * Get the subtree totals of a process group and its nested groups
+     *
+     * @param processGroupId ID of the root process group
+     * @param mode How the statuses are fetched from NiFi
+     * @param maxDepth Deepest nesting level to return
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return ResponseEntity containing one node per process group in pre-order
+     */
+    @GetMapping(path = "/process-groups/{processGroupId}/tree/totals", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get process group subtree totals",
+        description = "Retrieves component counts and queue totals for every nested process group, each including all of its descendants"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved subtree totals"),
+        @ApiResponse(responseCode = "404", description = "Process group not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public Mono<ResponseEntity<List<ProcessGroupTreeNode>>> getSubtreeTotals(
+            @Parameter(description = "ID of the process group", required = true)
+            @PathVariable String processGroupId,
+            @Parameter(description = "RECURSIVE for one recursive NiFi call, FAN_OUT for one call per group")
+            @RequestParam(defaultValue = "RECURSIVE") TreeFetchMode mode,
+            @Parameter(description = "Deepest nesting level to return, 0 for the group itself", example = "1")
+            @RequestParam(defaultValue = "2147483647") int maxDepth,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+
+        if (processGroupId == null || processGroupId.trim().isEmpty()) {
+            log.debug("Invalid process group ID provided");
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        if (maxDepth < 0) {
+            log.debug("Invalid max depth provided: {}", maxDepth);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        String trimmedId = processGroupId.trim();
+        log.debug("GET request received for subtree totals of process group: {} ({})", trimmedId, mode);
+
+        return nifiTarget.getResourceService().findProcessGroupById(trimmedId)
+            .flatMap(pg -> nifiTarget.getTreeService().getSubtreeTotals(trimmedId, mode, maxDepth)
+                .map(ResponseEntity::ok))
+            .defaultIfEmpty(ResponseEntity.notFound().build())
+            .onErrorResume(error -> {
+                log.error("Error getting subtree totals for process group {}: {}",
+                    trimmedId, error.getMessage());
+                return Mono.just(ResponseEntity.internalServerError().build());
+            });
+    }
+
     /**
      * Get processor status within a process group
      *
      * @param processGroupId ID of the process group
      * @param processorId ID of the processor
+     * @param target Name of the NiFi target, the default target when omitted
      * @return ResponseEntity containing processor status
      */
     @GetMapping(
@@ -151,7 +356,10 @@ public class NiFiStatusController {
             @Parameter(description = "ID of the process group", required = true)
             @PathVariable String processGroupId,
             @Parameter(description = "ID of the processor", required = true)
-            @PathVariable String processorId) {
+            @PathVariable String processorId,
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
         
         if (processGroupId == null || processGroupId.trim().isEmpty() || 
             processorId == null || processorId.trim().isEmpty()) {
@@ -164,7 +372,7 @@ public class NiFiStatusController {
         log.debug("GET request received for processor status: {} in process group: {}", 
             trimmedProcessorId, trimmedGroupId);
 
-        return nifiStatusService.getProcessGroupStatus(trimmedGroupId)
+        return nifiTarget.getStatusService().getProcessGroupStatus(trimmedGroupId)
             .flatMap(status -> Mono.justOrEmpty(
                 status.getAggregateSnapshot().getProcessorStatusSnapshots().stream()
                     .filter(entity -> entity.getId().equals(trimmedProcessorId))
@@ -179,4 +387,48 @@ public class NiFiStatusController {
                 return Mono.just(ResponseEntity.internalServerError().build());
             });
     }
+
+    /**
+     * Get statistics of the active shared status streams
+     *
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return List of subscriber and poll counters per process group stream
+     */
+    @GetMapping(path = "/streams", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get status stream statistics", 
+        description = "Retrieves subscriber and poll counts for every shared process group status stream"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved stream statistics")
+    })
+    public ResponseEntity<List<StatusStreamStats>> getStreamStats(
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+        log.debug("GET request received for status stream statistics");
+        return ResponseEntity.ok(nifiTarget.getStatusService().getStreamStats());
+    }
+
+    /**
+     * Get request coalescing statistics
+     *
+     * @param target Name of the NiFi target, the default target when omitted
+     * @return List of per-URI-template counters of executed and collapsed NiFi reads
+     */
+    @GetMapping(path = "/coalescing", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get request coalescing statistics", 
+        description = "Retrieves, per NiFi URI template, how many reads were executed and how many joined a request already in flight"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved coalescing statistics")
+    })
+    public ResponseEntity<List<CoalescingStats>> getCoalescingStats(
+            @Parameter(description = "Name of the NiFi target, the default target when omitted")
+            @RequestParam(required = false) String target) {
+        NiFiTarget nifiTarget = targetRegistry.get(target);
+        log.debug("GET request received for request coalescing statistics");
+        return ResponseEntity.ok(nifiTarget.getRequestCoalescer().getStats());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.sensys.sse_engine.controller;
+
+import com.sensys.sse_engine.config.NiFiWebClientFactory;
+import com.sensys.sse_engine.dto.NiFiTargetInfo;
+import com.sensys.sse_engine.dto.ProcessGroupTreeNode;
+import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
+import com.sensys.sse_engine.dto.ScatterGatherResult;
+import com.sensys.sse_engine.services.NiFiScatterGatherService;
+import com.sensys.sse_engine.services.NiFiTargetRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/nifi/targets")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "NiFi Targets", description = "API endpoints for listing NiFi targets and querying all of them at once")
+public class NiFiTargetController {
+
+    private final NiFiTargetRegistry targetRegistry;
+    private final NiFiScatterGatherService scatterGatherService;
+
+    /**
+     * Get the configured NiFi targets
+     *
+     * @return List of targets, the default target first
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get NiFi targets", description = "Retrieves the names and URLs of the configured NiFi instances")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved targets")
+    })
+    public ResponseEntity<List<NiFiTargetInfo>> getTargets() {
+        log.debug("GET request received for NiFi targets");
+        return ResponseEntity.ok(targetRegistry.getTargets().stream()
+            .map(target -> NiFiTargetInfo.builder()
+                .name(target.getName())
+                .url(target.getUrl())
+                .defaultTarget(NiFiWebClientFactory.DEFAULT_TARGET.equals(target.getName()))
+                .build())
+            .toList());
+    }
+
+    /**
+     * Get the processors of every target
+     *
+     * @param runStatus Optional run status to match, e.g. Stopped
+     * @return ResponseEntity containing the processors per target
+     */
+    @GetMapping(path = "/processors", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get processors of all targets",
+        description = "Queries every NiFi instance in parallel; targets that fail or exceed the time limit are reported without items"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully queried the targets, possibly partially"),
+        @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public Mono<ResponseEntity<ScatterGatherResult<ProcessorStatusSnapshot>>> getProcessors(
+            @Parameter(description = "Run status to match, e.g. Running, Stopped, Invalid or Disabled")
+            @RequestParam(required = false) String runStatus) {
+
+        String trimmedStatus = runStatus == null || runStatus.trim().isEmpty() ? null : runStatus.trim();
+        log.debug("GET request received for processors of all targets with run status: {}", trimmedStatus);
+
+        return scatterGatherService.findProcessors(trimmedStatus)
+            .map(ResponseEntity::ok)
+            .onErrorResume(error -> {
+                log.error("Error querying processors of all targets: {}", error.getMessage());
+                return Mono.just(ResponseEntity.internalServerError().build());
+            });
+    }
+
+    /**
+     * Get the root process group totals of every target
+     *
+     * @return ResponseEntity containing the root subtree totals per target
+     */
+    @GetMapping(path = "/totals", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get totals of all targets",
+        description = "Retrieves component counts and queue totals of the root process group of every NiFi instance"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully queried the targets, possibly partially"),
+        @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public Mono<ResponseEntity<ScatterGatherResult<ProcessGroupTreeNode>>> getTotals() {
+        log.debug("GET request received for totals of all targets");
+
+        return scatterGatherService.getRootTotals()
+            .map(ResponseEntity::ok)
+            .onErrorResume(error -> {
+                log.error("Error querying totals of all targets: {}", error.getMessage());
+                return Mono.just(ResponseEntity.internalServerError().build());
+            });
+    }
+}
@@ -0,0 +1,21 @@
+package com.sensys.sse_engine.dto;
+
+import com.sensys.sse_engine.dto.enums.BulkOperationOutcome;
+import com.sensys.sse_engine.dto.enums.ProcessGroupAction;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BulkOperationProgress {
+    private String processGroupId;
+    private String processGroupName;
+    private ProcessGroupAction action;
+    private BulkOperationOutcome outcome;
+    private String error;
+    private long elapsedMillis;
+    // Running counts over the whole operation, the last event has completed == total
+    private int completed;
+    private int failed;
+    private int total;
+}
@@ -0,0 +1,14 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CoalescingStats {
+    // URI template, e.g. /nifi-api/processors/{id}
+    private String key;
+    private long requests;
+    private long executions;
+    private long collapsed;
+}
@@ -0,0 +1,19 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ConnectionRateInfo {
+    private String connectionId;
+    private String sourceProcessor;
+    private String destinationProcessor;
+    private int queuedCount;
+    // Queue gauge deltas since the previous sample of the same series, null without one
+    private Double queueGrowthPerSecond;
+    private Double queuedBytesGrowthPerSecond;
+    // Window average of NiFi's five minute flowFilesOut total
+    private double flowFilesOutPerSecond;
+    private Double estimatedWaitSeconds;  // Little's law: queued / out-rate, null when nothing drains
+}
@@ -0,0 +1,20 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class HistoryMemoryStats {
+    private String processGroupId;
+    private int capacity;
+    private int slotsUsed;
+    private int processorCount;
+    private int connectionCount;
+    private int maxComponents;
+    private long bytesPerSlot;
+    private long retainedBytes;
+    private long maxRetainedBytes;
+    private long averageIntervalMillis;
+    private long estimatedBytesPerHour;
+}
@@ -0,0 +1,23 @@
+package com.sensys.sse_engine.dto;
+
+import com.sensys.sse_engine.dto.enums.NiFiBulkhead;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class NiFiGateStats {
+    private String target;
+    private NiFiBulkhead bulkhead;
+    private String circuitState;
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private long calls;
+    private long failures;
+    private long rejected;
+    private long shortCircuited;
+    private long retries;
+    private long retriesDenied;
+    private double retryBudget;
+}
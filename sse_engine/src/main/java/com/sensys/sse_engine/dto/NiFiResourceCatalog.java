@@ -0,0 +1,132 @@
+package com.sensys.sse_engine.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, indexed view of a NiFi resources listing. Resource types and IDs are
+ * parsed once on construction so lookups by ID, name and parent group are O(1).
+ */
+public class NiFiResourceCatalog {
+
+    private static final String PROCESS_GROUP_SEGMENT = "/process-groups/";
+
+    private final NiFiResourcesDTO resources;
+    private final List<NiFiResource> processGroups;
+    private final List<NiFiResource> processors;
+    private final Map<String, NiFiResource> resourcesById;
+    private final Map<String, NiFiResource> processGroupsByName;
+    private final Map<String, NiFiResource> processorsByName;
+    private final Map<String, List<NiFiResource>> resourcesByProcessGroup;
+
+    public NiFiResourceCatalog(NiFiResourcesDTO resources) {
+        this.resources = resources;
+        List<NiFiResource> all = resources.getResources() != null
+            ? resources.getResources() : Collections.emptyList();
+
+        int expected = Math.max(16, (int) (all.size() / 0.75f) + 1);
+        List<NiFiResource> groups = new ArrayList<>();
+        List<NiFiResource> procs = new ArrayList<>();
+        Map<String, NiFiResource> byId = new HashMap<>(expected);
+        Map<String, NiFiResource> groupsByName = new HashMap<>();
+        Map<String, NiFiResource> procsByName = new HashMap<>();
+        Map<String, List<NiFiResource>> byGroup = new HashMap<>();
+
+        for (NiFiResource resource : all) {
+            if (resource == null) continue;
+
+            String id = resource.getId();
+            if (id != null) {
+                byId.putIfAbsent(id, resource);
+            }
+            if (resource.isProcessGroup()) {
+                groups.add(resource);
+                if (resource.getName() != null) {
+                    groupsByName.putIfAbsent(resource.getName(), resource);
+                }
+            } else if (resource.isProcessor()) {
+                procs.add(resource);
+                if (resource.getName() != null) {
+                    procsByName.putIfAbsent(resource.getName(), resource);
+                }
+            }
+            indexByProcessGroup(resource, byGroup);
+        }
+
+        this.processGroups = Collections.unmodifiableList(groups);
+        this.processors = Collections.unmodifiableList(procs);
+        this.resourcesById = byId;
+        this.processGroupsByName = groupsByName;
+        this.processorsByName = procsByName;
+        this.resourcesByProcessGroup = byGroup;
+    }
+
+    /**
+     * Indexes a resource under every process group whose path segment it contains,
+     * i.e. identifiers matching {@code .../process-groups/{id}/...}
+     */
+    private static void indexByProcessGroup(NiFiResource resource, Map<String, List<NiFiResource>> byGroup) {
+        String identifier = resource.getIdentifier();
+        if (identifier == null) return;
+
+        int from = 0;
+        int index;
+        while ((index = identifier.indexOf(PROCESS_GROUP_SEGMENT, from)) >= 0) {
+            int start = index + PROCESS_GROUP_SEGMENT.length();
+            int end = identifier.indexOf('/', start);
+            if (end < 0) return;
+            byGroup.computeIfAbsent(identifier.substring(start, end), key -> new ArrayList<>())
+                .add(resource);
+            from = end;
+        }
+    }
+
+    public NiFiResourcesDTO getResources() {
+        return resources;
+    }
+
+    public List<NiFiResource> getProcessGroups() {
+        return processGroups;
+    }
+
+    public List<NiFiResource> getProcessors() {
+        return processors;
+    }
+
+    public int size() {
+        return resourcesById.size();
+    }
+
+    /**
+     * Find resource by ID
+     */
+    public NiFiResource findResourceById(String id) {
+        return id == null ? null : resourcesById.get(id);
+    }
+
+    /**
+     * Find a process group by name
+     */
+    public NiFiResource findProcessGroupByName(String name) {
+        return name == null ? null : processGroupsByName.get(name);
+    }
+
+    /**
+     * Find a processor by name
+     */
+    public NiFiResource findProcessorByName(String name) {
+        return name == null ? null : processorsByName.get(name);
+    }
+
+    /**
+     * Get all resources whose identifier lies within the given process group
+     */
+    public List<NiFiResource> getResourcesInProcessGroup(String processGroupId) {
+        if (processGroupId == null) return Collections.emptyList();
+        return Collections.unmodifiableList(
+            resourcesByProcessGroup.getOrDefault(processGroupId, Collections.emptyList()));
+    }
+}
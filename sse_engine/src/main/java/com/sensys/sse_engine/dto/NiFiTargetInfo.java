@@ -0,0 +1,12 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class NiFiTargetInfo {
+    private String name;
+    private String url;
+    private boolean defaultTarget;
+}
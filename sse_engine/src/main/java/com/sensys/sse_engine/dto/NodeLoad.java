@@ -0,0 +1,23 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class NodeLoad {
+    private String nodeId;
+    private String address;
+    private long flowFilesIn;
+    private long bytesIn;
+    private long flowFilesOut;
+    private long bytesOut;
+    private int activeThreadCount;
+    private long flowFilesQueued;
+    private long bytesQueued;
+
+    // Share of the cluster total carried by this node, 0 to 1
+    private double queuedShare;
+    private double threadShare;
+    private double throughputShare;
+}
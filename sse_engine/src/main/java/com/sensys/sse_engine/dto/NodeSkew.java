@@ -0,0 +1,20 @@
+package com.sensys.sse_engine.dto;
+
+import com.sensys.sse_engine.dto.enums.NodeSkewMetric;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class NodeSkew {
+    private NodeSkewMetric metric;
+    private String componentId;
+    private String componentName;
+    private String nodeId;
+    private String address;
+    private long nodeValue;
+    private long clusterValue;
+    // Share of the cluster value on the node, and the share an even spread would give it
+    private double share;
+    private double expectedShare;
+}
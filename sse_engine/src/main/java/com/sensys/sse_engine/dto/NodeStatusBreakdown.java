@@ -0,0 +1,20 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class NodeStatusBreakdown {
+    private String processGroupId;
+    private String processGroupName;
+    private String statsLastRefreshed;
+    // 0 when NiFi is not clustered
+    private int nodeCount;
+    private double skewThreshold;
+    private List<NodeLoad> nodes;
+    // Components where one node carries more than the threshold share, largest share first
+    private List<NodeSkew> hotspots;
+}
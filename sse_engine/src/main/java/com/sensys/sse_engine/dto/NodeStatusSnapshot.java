@@ -0,0 +1,18 @@
+package com.sensys.sse_engine.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status of a process group on one cluster node, returned by NiFi for nodewise requests
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class NodeStatusSnapshot implements NiFiStatusDTO {
+    private String nodeId;
+    private String address;
+    private Integer apiPort;
+    private ProcessGroupSnapshot statusSnapshot;
+}
@@ -11,7 +11,7 @@ public class PortStatusSnapshot implements NiFiStatusDTO {
     private String id;
     private String groupId;
     private String name;
-    private Integer runStatus;
+    private String runStatus;
     private Long bytesReceived;
     private Long bytesSent;
     private Integer flowFilesReceived;
@@ -14,4 +14,15 @@ public class ProcessGroupAnalysis {
     private List<ProcessorStateInfo> notRunningProcessors;
     private List<ProcessorTransferInfo> processorTransfers;
     private TransferMetrics groupTotalTransfer;
+
+    // Throughput averaged over NiFi's rolling five minute counter window
+    private Double rateWindowSeconds;
+    // Seconds since the sample queue growth is measured against, null on the first sample
+    private Double queueGrowthWindowSeconds;
+    private Double flowFilesInPerSecond;
+    private Double flowFilesOutPerSecond;
+    private Double bytesInPerSecond;
+    private Double bytesOutPerSecond;
+    private List<ProcessorRateInfo> processorRates;
+    private List<ConnectionRateInfo> connectionRates;
 }
\ No newline at end of file
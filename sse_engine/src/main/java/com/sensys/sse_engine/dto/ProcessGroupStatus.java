@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -12,4 +14,6 @@ public class ProcessGroupStatus implements NiFiStatusDTO {
     private String name;
     private String statsLastRefreshed;
     private ProcessGroupSnapshot aggregateSnapshot;
+    // Only present on nodewise requests to a cluster
+    private List<NodeStatusSnapshot> nodeSnapshots;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.sensys.sse_engine.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sensys.sse_engine.dto.enums.TreeFetchMode;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class ProcessGroupTree {
+    private String rootId;
+    private String rootName;
+    private TreeFetchMode fetchMode;
+    private int nifiCalls;
+    // Groups below the depth limit were left out
+    private boolean truncated;
+    private List<ProcessGroupTreeNode> groups;
+    private List<ProcessorStatusSnapshot> processors;
+    private List<ConnectionStatusSnapshot> connections;
+
+    // Position of each group in the group list
+    @JsonIgnore
+    private Map<String, Integer> groupIndex;
+}
@@ -0,0 +1,37 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Process group in a flattened tree. Groups are listed in pre-order, so the subtree of the
+ * group at {@code index} is the range [index, subtreeEnd) of the group list. Processors and
+ * connections are listed in the same order: the group's own ones are [processorStart,
+ * processorEnd) and those of its whole subtree are [processorStart, subtreeProcessorEnd).
+ */
+@Data
+@Builder
+public class ProcessGroupTreeNode {
+    private int index;
+    private String id;
+    private String name;
+    private Integer parentIndex;
+    private String parentId;
+    private int depth;
+    private int childCount;
+    private int subtreeEnd;
+    private int processorStart;
+    private int processorEnd;
+    private int subtreeProcessorEnd;
+    private int connectionStart;
+    private int connectionEnd;
+    private int subtreeConnectionEnd;
+
+    // Aggregates reported by NiFi for the group, which already include nested groups
+    private Integer flowFilesIn;
+    private Long bytesIn;
+    private Integer flowFilesOut;
+    private Long bytesOut;
+
+    private SubtreeTotals totals;
+}
@@ -0,0 +1,16 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ProcessorRateInfo {
+    private String processorId;
+    private String processorName;
+    private double flowFilesInPerSecond;
+    private double flowFilesOutPerSecond;
+    private double bytesInPerSecond;
+    private double bytesOutPerSecond;
+    private double utilisation;  // task nanos per wall-clock nano, 1.0 = one thread fully busy
+}
@@ -0,0 +1,29 @@
+package com.sensys.sse_engine.dto;
+
+import com.sensys.sse_engine.dto.enums.ConvergenceState;
+import com.sensys.sse_engine.dto.enums.ProcessGroupAction;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class RunStatusConvergence {
+    private String processGroupId;
+    private ProcessGroupAction action;
+    private String targetRunStatus;
+    private ConvergenceState state;
+    private int processorCount;
+    private int inTargetState;
+    // Not yet in the target run status, or stopped with threads still finishing
+    private int transitioning;
+    private int invalid;
+    private int disabled;
+    private int pollCount;
+    private long elapsedMillis;
+    // Error of the latest status poll, polling continues until the deadline
+    private String error;
+    // First of the transitioning processors, capped at nifi.convergence.max-listed
+    private List<ProcessorStateInfo> transitioningProcessors;
+}
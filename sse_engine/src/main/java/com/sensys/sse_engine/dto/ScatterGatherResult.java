@@ -0,0 +1,15 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ScatterGatherResult<T> {
+    // False when at least one target failed or timed out and its items are missing
+    private boolean complete;
+    private int itemCount;
+    private List<TargetResult<T>> targets;
+}
@@ -0,0 +1,22 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class StatusHistory {
+    private String processGroupId;
+    private String componentId;
+    private String componentName;
+    private String componentType;  // "PROCESS_GROUP", "PROCESSOR" or "CONNECTION"
+    private long from;
+    private long to;
+    private long stepMillis;
+    private String downsampling;
+    private List<Long> timestamps;
+    private Map<String, List<Long>> series;  // metric name -> value per timestamp, null when absent
+}
@@ -0,0 +1,20 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class StatusStreamStats {
+    private String stream;
+    private String processGroupId;
+    private int intervalSeconds;
+    private int subscriberCount;
+    private long pollCount;
+    private long failedPollCount;
+    private long emittedCount;
+    private long suppressedCount;
+    private Instant lastPollAt;
+}
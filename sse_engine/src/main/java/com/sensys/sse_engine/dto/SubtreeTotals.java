@@ -0,0 +1,22 @@
+package com.sensys.sse_engine.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Component counts and queue totals of a process group and all of its descendants
+ */
+@Data
+@NoArgsConstructor
+public class SubtreeTotals {
+    private int groupCount;
+    private int processorCount;
+    private int runningCount;
+    private int stoppedCount;
+    private int invalidCount;
+    private int disabledCount;
+    private int connectionCount;
+    private long flowFilesQueued;
+    private long bytesQueued;
+    private int activeThreadCount;
+}
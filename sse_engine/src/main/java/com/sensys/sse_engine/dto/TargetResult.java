@@ -0,0 +1,17 @@
+package com.sensys.sse_engine.dto;
+
+import com.sensys.sse_engine.dto.enums.TargetOutcome;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TargetResult<T> {
+    private String target;
+    private TargetOutcome outcome;
+    private String error;
+    private long elapsedMillis;
+    private List<T> items;
+}
@@ -0,0 +1,11 @@
+package com.sensys.sse_engine.dto.enums;
+
+/**
+ * Result of a state change on one process group of a bulk operation
+ */
+public enum BulkOperationOutcome {
+    SUCCEEDED,
+    FAILED,
+    /** Not a process group in the resource catalog, so no change was sent */
+    NOT_FOUND
+}
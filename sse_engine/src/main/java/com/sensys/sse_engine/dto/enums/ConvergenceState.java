@@ -0,0 +1,15 @@
+package com.sensys.sse_engine.dto.enums;
+
+/**
+ * Progress of the processors of a process group towards the run status of a start or stop
+ */
+public enum ConvergenceState {
+    /** Processors are still changing state */
+    TRANSITIONING,
+    /** Every enabled processor reached the target run status */
+    CONVERGED,
+    /** Nothing is changing any more, but invalid processors could not start */
+    INCOMPLETE,
+    /** The deadline passed before the processors settled */
+    TIMED_OUT
+}
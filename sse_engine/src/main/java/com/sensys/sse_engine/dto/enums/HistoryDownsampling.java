@@ -0,0 +1,8 @@
+package com.sensys.sse_engine.dto.enums;
+
+public enum HistoryDownsampling {
+    LAST,
+    AVG,
+    MIN,
+    MAX
+}
@@ -0,0 +1,16 @@
+package com.sensys.sse_engine.dto.enums;
+
+/**
+ * Groups of NiFi calls that get their own concurrency limit and circuit breaker, so a
+ * slow or failing group cannot starve the others
+ */
+public enum NiFiBulkhead {
+    /** Process group status polling */
+    STATUS,
+    /** Resource catalog */
+    RESOURCES,
+    /** Process group and processor entity reads */
+    COMPONENTS,
+    /** Start and stop */
+    OPERATIONS
+}
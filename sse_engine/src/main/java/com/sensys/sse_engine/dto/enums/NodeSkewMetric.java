@@ -0,0 +1,19 @@
+package com.sensys.sse_engine.dto.enums;
+
+/**
+ * Per-node measure checked for skew across cluster nodes
+ */
+public enum NodeSkewMetric {
+    /** FlowFiles queued in the process group */
+    GROUP_QUEUE,
+    /** Active threads of the process group */
+    GROUP_THREADS,
+    /** FlowFiles sent out of the process group */
+    GROUP_THROUGHPUT,
+    /** FlowFiles queued in a connection */
+    CONNECTION_QUEUE,
+    /** Active threads of a processor */
+    PROCESSOR_THREADS,
+    /** FlowFiles written out by a processor */
+    PROCESSOR_THROUGHPUT
+}
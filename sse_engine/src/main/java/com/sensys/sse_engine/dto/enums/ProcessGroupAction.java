@@ -0,0 +1,18 @@
+package com.sensys.sse_engine.dto.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * State change applied to a process group, with the scheduled state sent to NiFi and the
+ * processor run status it leads to
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProcessGroupAction {
+    START("RUNNING", "Running"),
+    STOP("STOPPED", "Stopped");
+
+    private final String scheduledState;
+    private final String runStatus;
+}
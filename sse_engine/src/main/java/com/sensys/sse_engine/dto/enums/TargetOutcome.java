@@ -0,0 +1,10 @@
+package com.sensys.sse_engine.dto.enums;
+
+/**
+ * Result of a query sent to one NiFi target
+ */
+public enum TargetOutcome {
+    OK,
+    FAILED,
+    TIMED_OUT
+}
@@ -0,0 +1,11 @@
+package com.sensys.sse_engine.dto.enums;
+
+/**
+ * How the statuses of a process group tree are fetched from NiFi
+ */
+public enum TreeFetchMode {
+    /** A single recursive status call for the whole tree */
+    RECURSIVE,
+    /** One status call per process group, a bounded number at a time */
+    FAN_OUT
+}
@@ -24,6 +24,20 @@ public class GlobalExceptionHandler {
             .body(ex.getMessage());
     }
 
+    @ExceptionHandler(NiFiUnavailableException.class)
+    public ResponseEntity<String> handleNiFiUnavailableException(NiFiUnavailableException ex) {
+        log.warn("NiFi call rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(UnknownNiFiTargetException.class)
+    public ResponseEntity<String> handleUnknownNiFiTargetException(UnknownNiFiTargetException ex) {
+        log.debug("{}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ex.getMessage());
+    }
+
     @ExceptionHandler(DatabaseConfigException.class)
     public ResponseEntity<ErrorResponse> handleDatabaseConfigException(DatabaseConfigException e) {
         ErrorResponse errorResponse = new ErrorResponse(e.getStatus(), e.getMessage());
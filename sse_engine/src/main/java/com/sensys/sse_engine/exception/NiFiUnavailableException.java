@@ -0,0 +1,11 @@
+package com.sensys.sse_engine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class NiFiUnavailableException extends RuntimeException {
+    public NiFiUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.sensys.sse_engine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class UnknownNiFiTargetException extends RuntimeException {
+    public UnknownNiFiTargetException(String target) {
+        super("Unknown NiFi target: " + target);
+    }
+}
@@ -0,0 +1,181 @@
+package com.sensys.sse_engine.helper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Decodes the elements of a JSON array nested anywhere in a response body as they arrive.
+ * The body is fed to Jackson's non-blocking parser buffer by buffer and only the element
+ * being read is held in memory, so memory stays flat whatever the size of the payload.
+ */
+public class JsonArrayStreamDecoder {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonArrayStreamDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Decode the elements of the array at a path
+     *
+     * @param body Response body
+     * @param arrayPath Dot separated field names leading to the array, empty for a top level array
+     * @param elementType Type of the array elements
+     * @return Flux emitting each element once it has been read
+     */
+    public <T> Flux<T> decode(Flux<DataBuffer> body, String arrayPath, Class<T> elementType) {
+        List<String> path = arrayPath.isEmpty() ? List.of() : Arrays.asList(arrayPath.split("\\."));
+        return decode(body, containers -> matchesPath(containers, path), elementType);
+    }
+
+    /**
+     * Decode the elements of every array held by a field with the given name, at any
+     * depth. Used for recursive status where each nested group repeats the same field.
+     *
+     * @param body Response body
+     * @param fieldName Name of the field holding the arrays
+     * @param elementType Type of the array elements
+     * @return Flux emitting each element once it has been read
+     */
+    public <T> Flux<T> decodeEvery(Flux<DataBuffer> body, String fieldName, Class<T> elementType) {
+        return decode(body, containers -> fieldName.equals(containers.peek()), elementType);
+    }
+
+    private <T> Flux<T> decode(Flux<DataBuffer> body, Predicate<Deque<String>> isTargetArray, Class<T> elementType) {
+        ObjectReader reader = objectMapper.readerFor(elementType);
+        return Flux.using(
+            () -> new ArrayElementTokenizer<T>(objectMapper.getFactory().createNonBlockingByteArrayParser(),
+                isTargetArray, reader),
+            tokenizer -> body
+                .concatMapIterable(tokenizer::feed)
+                .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.endOfInput())))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release),
+            ArrayElementTokenizer::close);
+    }
+
+    /**
+     * Containers are pushed with the field that holds them, the root and array items as ""
+     */
+    private static boolean matchesPath(Deque<String> containers, List<String> path) {
+        if (containers.size() != path.size() + 1) return false;
+        Iterator<String> fromRoot = containers.descendingIterator();
+        fromRoot.next();
+        for (String field : path) {
+            if (!field.equals(fromRoot.next())) return false;
+        }
+        return true;
+    }
+
+    private static final class ArrayElementTokenizer<T> {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final Predicate<Deque<String>> isTargetArray;
+        private final ObjectReader reader;
+
+        private final Deque<String> containers = new ArrayDeque<>();
+        private String fieldName;
+        /** Container depth of the target array being read, -1 outside of one */
+        private int targetDepth = -1;
+        private TokenBuffer element;
+        private int elementDepth;
+
+        ArrayElementTokenizer(JsonParser parser, Predicate<Deque<String>> isTargetArray, ObjectReader reader) {
+            this.parser = parser;
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.isTargetArray = isTargetArray;
+            this.reader = reader;
+        }
+
+        List<T> feed(DataBuffer buffer) {
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                feeder.feedInput(bytes, 0, bytes.length);
+                return readAvailable();
+            } catch (IOException e) {
+                throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<T> endOfInput() {
+            feeder.endOfInput();
+            try {
+                return readAvailable();
+            } catch (IOException e) {
+                throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+            }
+        }
+
+        private List<T> readAvailable() throws IOException {
+            List<T> elements = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (element != null) {
+                    element.copyCurrentEvent(parser);
+                    if (token.isStructStart()) {
+                        elementDepth++;
+                    } else if (token.isStructEnd() && --elementDepth == 0) {
+                        elements.add(reader.readValue(element.asParser()));
+                        element = null;
+                    }
+                    continue;
+                }
+
+                boolean inTargetArray = targetDepth == containers.size();
+                if (token.isStructStart()) {
+                    if (inTargetArray) {
+                        element = new TokenBuffer(parser);
+                        element.copyCurrentEvent(parser);
+                        elementDepth = 1;
+                        continue;
+                    }
+                    containers.push(fieldName != null ? fieldName : "");
+                    fieldName = null;
+                    if (token == JsonToken.START_ARRAY && targetDepth < 0 && isTargetArray.test(containers)) {
+                        targetDepth = containers.size();
+                    }
+                } else if (token.isStructEnd()) {
+                    if (inTargetArray) {
+                        targetDepth = -1;
+                    }
+                    containers.pop();
+                } else if (token == JsonToken.FIELD_NAME) {
+                    fieldName = parser.currentName();
+                } else {
+                    // Scalar values, including null items of the target array, are skipped
+                    fieldName = null;
+                }
+            }
+            return elements;
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.sensys.sse_engine.helper;
+
+/**
+ * Parses NiFi's formatted counter strings such as {@code "1,234 (5.6 MB)"}, {@code "1,234"}
+ * or {@code "5.6 MB"} with a single scan, without regex, boxing or exceptions.
+ */
+public final class NiFiCounterParser {
+
+    /** Returned when the text does not contain the requested value */
+    public static final long INVALID = -1L;
+
+    private static final String[] UNITS = {"bytes", "B", "KB", "MB", "GB", "TB"};
+    private static final long[] UNIT_MULTIPLIERS = {1L, 1L, 1L << 10, 1L << 20, 1L << 30, 1L << 40};
+
+    private NiFiCounterParser() {
+    }
+
+    /**
+     * Parse the flowfile count, e.g. 1234 from {@code "1,234 (5.6 MB)"} or {@code "1,234"}
+     *
+     * @return Count, or {@link #INVALID} if the text does not start with a number
+     */
+    public static long parseCount(CharSequence text) {
+        if (text == null) return INVALID;
+        int i = skipSpaces(text, 0);
+        long value = 0;
+        int digits = 0;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c != ',') {
+                break;
+            }
+        }
+        return digits > 0 ? value : INVALID;
+    }
+
+    /**
+     * Parse the data size in bytes, e.g. 5872026 from {@code "1,234 (5.6 MB)"} or {@code "5.6 MB"}
+     *
+     * @return Size in bytes rounded to the nearest byte, or {@link #INVALID} if no size is present
+     */
+    public static long parseSize(CharSequence text) {
+        if (text == null) return INVALID;
+        int start = indexOf(text, '(');
+        start = start >= 0 ? start + 1 : 0;
+        int i = skipSpaces(text, start);
+
+        long whole = 0;
+        long fraction = 0;
+        long fractionScale = 1;
+        int digits = 0;
+        boolean inFraction = false;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (inFraction) {
+                    if (fractionScale < 1_000_000L) {
+                        fraction = fraction * 10 + (c - '0');
+                        fractionScale *= 10;
+                    }
+                } else {
+                    whole = whole * 10 + (c - '0');
+                }
+                digits++;
+            } else if (c == '.' && !inFraction) {
+                inFraction = true;
+            } else if (c != ',') {
+                break;
+            }
+        }
+        if (digits == 0) return INVALID;
+
+        i = skipSpaces(text, i);
+        long multiplier = unitMultiplier(text, i);
+        if (multiplier < 0) return INVALID;
+        return whole * multiplier + (fraction * multiplier + fractionScale / 2) / fractionScale;
+    }
+
+    private static long unitMultiplier(CharSequence text, int start) {
+        for (int u = 0; u < UNITS.length; u++) {
+            if (regionMatches(text, start, UNITS[u])) {
+                return UNIT_MULTIPLIERS[u];
+            }
+        }
+        return INVALID;
+    }
+
+    /**
+     * Case-insensitive match of the unit, which must be followed by the end, a space or ')'
+     */
+    private static boolean regionMatches(CharSequence text, int start, String unit) {
+        int end = start + unit.length();
+        if (end > text.length()) return false;
+        for (int i = 0; i < unit.length(); i++) {
+            if (Character.toUpperCase(text.charAt(start + i)) != Character.toUpperCase(unit.charAt(i))) {
+                return false;
+            }
+        }
+        return end == text.length() || text.charAt(end) == ' ' || text.charAt(end) == ')';
+    }
+
+    private static int skipSpaces(CharSequence text, int from) {
+        int i = from;
+        while (i < text.length() && text.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    private static int indexOf(CharSequence text, char c) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+}
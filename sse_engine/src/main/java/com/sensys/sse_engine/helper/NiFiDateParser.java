@@ -0,0 +1,159 @@
+package com.sensys.sse_engine.helper;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe parser for the date formats found in NiFi payloads. Formatters are built
+ * once; each format first checks the shape of the text so a parse is only attempted when
+ * it is expected to succeed, and the format that last worked for a field is tried first.
+ */
+public class NiFiDateParser {
+
+    private static final NiFiDateFormat[] FORMATS = NiFiDateFormat.values();
+
+    private final ConcurrentMap<String, NiFiDateFormat> lastFormatByField = new ConcurrentHashMap<>();
+
+    /**
+     * Parse a date
+     *
+     * @param field Name of the JSON field, used to remember the matching format; may be null
+     * @param text Text to parse
+     * @return Parsed date, or null if no supported format matches
+     */
+    public Date parse(String field, String text) {
+        if (text == null || text.isEmpty()) return null;
+
+        NiFiDateFormat remembered = field != null ? lastFormatByField.get(field) : null;
+        if (remembered != null && remembered.matches(text)) {
+            Instant instant = remembered.parse(text);
+            if (instant != null) return Date.from(instant);
+        }
+
+        for (NiFiDateFormat format : FORMATS) {
+            if (format == remembered || !format.matches(text)) continue;
+            Instant instant = format.parse(text);
+            if (instant != null) {
+                if (field != null) {
+                    lastFormatByField.put(field, format);
+                }
+                return Date.from(instant);
+            }
+        }
+        return null;
+    }
+
+    private enum NiFiDateFormat {
+        /** yyyy-MM-dd'T'HH:mm:ss.SSSX */
+        ISO_OFFSET_DATE_TIME(new DateTimeFormatterBuilder()
+                .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                .optionalStart().appendOffset("+HH:MM", "Z").optionalEnd()
+                .optionalStart().appendOffset("+HHMM", "Z").optionalEnd()
+                .optionalStart().appendOffset("+HH", "Z").optionalEnd()
+                .toFormatter(Locale.ROOT)) {
+            @Override
+            boolean matches(String text) {
+                if (!isIsoDateTime(text) || text.length() <= 23) return false;
+                char offsetStart = text.charAt(23);
+                return offsetStart == 'Z' || offsetStart == '+' || offsetStart == '-';
+            }
+
+            @Override
+            Instant convert(TemporalAccessor parsed) {
+                return OffsetDateTime.from(parsed).toInstant();
+            }
+        },
+        /** yyyy-MM-dd'T'HH:mm:ss.SSS, read as UTC */
+        ISO_LOCAL_DATE_TIME(DateTimeFormatter.ISO_LOCAL_DATE_TIME) {
+            @Override
+            boolean matches(String text) {
+                return isIsoDateTime(text) && text.length() == 23;
+            }
+
+            @Override
+            Instant convert(TemporalAccessor parsed) {
+                return LocalDateTime.from(parsed).toInstant(ZoneOffset.UTC);
+            }
+        },
+        /** EEE, dd MMM yyyy HH:mm:ss zzz */
+        RFC_1123(DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.ENGLISH)) {
+            @Override
+            boolean matches(String text) {
+                return text.length() > 25 && text.charAt(3) == ',' && text.charAt(4) == ' ';
+            }
+
+            @Override
+            Instant convert(TemporalAccessor parsed) {
+                return ZonedDateTime.from(parsed).toInstant();
+            }
+        },
+        /** yyyy-MM-dd, read as UTC midnight */
+        ISO_DATE(DateTimeFormatter.ISO_LOCAL_DATE) {
+            @Override
+            boolean matches(String text) {
+                return text.length() == 10 && text.charAt(4) == '-' && text.charAt(7) == '-';
+            }
+
+            @Override
+            Instant convert(TemporalAccessor parsed) {
+                return LocalDate.from(parsed).atStartOfDay(ZoneOffset.UTC).toInstant();
+            }
+        },
+        /** HH:mm:ss z, as used by statsLastRefreshed; the date part is the epoch day */
+        TIME_WITH_ZONE(DateTimeFormatter.ofPattern("HH:mm:ss z", Locale.ENGLISH)) {
+            @Override
+            boolean matches(String text) {
+                return text.length() > 9 && text.charAt(2) == ':' && text.charAt(5) == ':' && text.charAt(8) == ' ';
+            }
+
+            @Override
+            Instant convert(TemporalAccessor parsed) {
+                ZoneId zone = parsed.query(TemporalQueries.zone());
+                LocalTime time = LocalTime.from(parsed);
+                return LocalDate.EPOCH.atTime(time).atZone(zone != null ? zone : ZoneOffset.UTC).toInstant();
+            }
+        };
+
+        private final DateTimeFormatter formatter;
+
+        NiFiDateFormat(DateTimeFormatter formatter) {
+            this.formatter = formatter;
+        }
+
+        /**
+         * Cheap structural check run before the formatter is invoked
+         */
+        abstract boolean matches(String text);
+
+        abstract Instant convert(TemporalAccessor parsed);
+
+        Instant parse(String text) {
+            try {
+                return convert(formatter.parse(text));
+            } catch (DateTimeException e) {
+                // Shape matched but the content did not, e.g. month 13
+                return null;
+            }
+        }
+
+        static boolean isIsoDateTime(String text) {
+            return text.length() >= 23 && text.charAt(4) == '-' && text.charAt(10) == 'T'
+                && text.charAt(13) == ':' && text.charAt(19) == '.';
+        }
+    }
+}
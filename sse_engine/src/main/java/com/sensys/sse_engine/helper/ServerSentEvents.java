@@ -0,0 +1,39 @@
+package com.sensys.sse_engine.helper;
+
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * Wraps data streams as server-sent events
+ */
+public final class ServerSentEvents {
+
+    private static final String KEEP_ALIVE_COMMENT = "keepalive";
+
+    private ServerSentEvents() {
+    }
+
+    /**
+     * Send each value as an event and a comment frame whenever no event was sent for the
+     * keepalive interval, so idle streams are not closed by proxies
+     *
+     * @param data Stream of values
+     * @param keepAlive Idle time before a keepalive frame, zero to disable
+     * @return Stream of events
+     */
+    public static <T> Flux<ServerSentEvent<T>> withKeepAlive(Flux<T> data, Duration keepAlive) {
+        Flux<ServerSentEvent<T>> events = data.map(value -> ServerSentEvent.builder(value).build());
+        if (keepAlive.isZero() || keepAlive.isNegative()) {
+            return events;
+        }
+        return events.publish(shared -> Flux.merge(shared, shared
+            .map(event -> Boolean.TRUE)
+            .startWith(Boolean.TRUE)
+            // Every event restarts the idle timer
+            .switchMap(event -> Flux.interval(keepAlive, keepAlive))
+            .map(tick -> ServerSentEvent.<T>builder().comment(KEEP_ALIVE_COMMENT).build())
+            .takeUntilOther(shared.then())));
+    }
+}
@@ -0,0 +1,20 @@
+package com.sensys.sse_engine.model;
+
+import com.sensys.sse_engine.dto.enums.ProcessGroupAction;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkOperationRequest {
+    private ProcessGroupAction action;
+    // Selected groups: the listed IDs plus the groups below the parent, narrowed down by the
+    // name pattern; the pattern alone selects from all process groups
+    private List<String> processGroupIds;
+    private String parentGroupId;
+    private boolean recursive = true;
+    private String namePattern;
+    private Integer concurrency;
+}
@@ -0,0 +1,17 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ColumnDiff {
+    private String column;
+    private DiffStatus status;
+    // Any of type, nullable and defaultValue, for changed columns
+    private List<String> changedAttributes;
+    private ColumnMetadata source;
+    private ColumnMetadata destination;
+}
@@ -0,0 +1,21 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Column of a table with a dialect-independent type and default
+ */
+@Data
+@Builder
+public class ColumnMetadata {
+    private String name;
+    private int position;
+    // e.g. VARCHAR(255), DECIMAL(10,2), BIGINT
+    private String type;
+    private boolean nullable;
+    // "autoincrement" for identity, serial and auto_increment columns
+    private String defaultValue;
+    // Name in the database's own case
+    private String originalName;
+}
@@ -0,0 +1,17 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CompareTimings {
+    private long sourceConnectMillis;
+    private long sourceMetadataMillis;
+    private long destinationConnectMillis;
+    private long destinationMetadataMillis;
+    // Wall time of reading both sides, which run at the same time
+    private long extractionMillis;
+    private long diffMillis;
+    private long totalMillis;
+}
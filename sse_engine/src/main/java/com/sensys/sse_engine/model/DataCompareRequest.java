@@ -0,0 +1,18 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class DataCompareRequest {
+    private DatabaseConfig sourceConfig;
+    private DatabaseConfig destConfig;
+    private boolean compareByTableNamesOnly;
+    // Tables to verify, named as in the schema diff; all tables on both sides when empty
+    private List<String> tables;
+    // Primary key values per chunk, the configured chunk size when not set
+    private Long chunkSize;
+}
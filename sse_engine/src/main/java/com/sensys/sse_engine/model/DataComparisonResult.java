@@ -0,0 +1,24 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of verifying the rows of the tables on both sides chunk by chunk
+ */
+@Data
+@Builder
+public class DataComparisonResult {
+    private boolean dataMatches;
+    // False when the database types differ: their value renderings differ, so only row counts are compared
+    private boolean checksumsCompared;
+    private int tablesMatching;
+    private int tablesMismatching;
+    private int tablesSkipped;
+    private int tablesFailed;
+    private List<TableVerification> tables;
+    // diffMillis is the time spent verifying chunks
+    private CompareTimings timings;
+}
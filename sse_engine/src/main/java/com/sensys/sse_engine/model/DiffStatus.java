@@ -0,0 +1,7 @@
+package com.sensys.sse_engine.model;
+
+public enum DiffStatus {
+    ONLY_IN_SOURCE,
+    ONLY_IN_DESTINATION,
+    CHANGED
+}
@@ -0,0 +1,23 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ForeignKeyMetadata {
+    private String name;
+    private List<String> columns;
+    private String referencedTable;
+    private List<String> referencedColumns;
+
+    /**
+     * Constraint name aside, as generated names differ between databases
+     */
+    public String signature() {
+        return "(" + String.join(", ", columns) + ") -> " + referencedTable
+            + "(" + String.join(", ", referencedColumns) + ")";
+    }
+}
@@ -0,0 +1,21 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class IndexMetadata {
+    private String name;
+    private boolean unique;
+    private List<String> columns;
+
+    /**
+     * Index name aside, as generated names differ between databases
+     */
+    public String signature() {
+        return (unique ? "UNIQUE " : "") + "(" + String.join(", ", columns) + ")";
+    }
+}
@@ -0,0 +1,14 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Row that is missing on one side or whose values differ, identified by its primary key
+ */
+@Data
+@Builder
+public class RowMismatch {
+    private long key;
+    private DiffStatus status;
+}
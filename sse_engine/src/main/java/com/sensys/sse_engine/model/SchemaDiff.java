@@ -0,0 +1,27 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the differing tables of a schema comparison, with totals over all of them
+ */
+@Data
+@Builder(toBuilder = true)
+public class SchemaDiff {
+    // Fetches further pages of the same comparison
+    private String diffId;
+    private boolean schemasMatch;
+    private int sourceTableCount;
+    private int destinationTableCount;
+    private int tablesOnlyInSource;
+    private int tablesOnlyInDestination;
+    private int tablesChanged;
+    private int page;
+    private int pageSize;
+    private int totalPages;
+    private List<TableDiff> tables;
+    private CompareTimings timings;
+}
@@ -12,6 +12,7 @@ public class TableComparisonResult {
     private List<String> tablesOnlyInDestination;
     private int countTablesOnlyInSource;      // New field for source table count
     private int countTablesOnlyInDestination; // New field for destination table count
+    private CompareTimings timings;
 
     public TableComparisonResult(boolean schemasMatch, List<String> tablesOnlyInSource, List<String> tablesOnlyInDestination) {
         this.schemasMatch = schemasMatch;
@@ -0,0 +1,21 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TableDiff {
+    private String table;
+    private DiffStatus status;
+    private List<ColumnDiff> columns;
+    // Both set only when the primary keys differ
+    private List<String> sourcePrimaryKey;
+    private List<String> destinationPrimaryKey;
+    private List<String> indexesOnlyInSource;
+    private List<String> indexesOnlyInDestination;
+    private List<String> foreignKeysOnlyInSource;
+    private List<String> foreignKeysOnlyInDestination;
+}
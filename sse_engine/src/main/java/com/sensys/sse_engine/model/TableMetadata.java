@@ -0,0 +1,28 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Structure of a table, with identifiers in lower case so databases of different types compare.
+ * The names as the database reports them are kept for building queries.
+ */
+@Data
+@Builder
+public class TableMetadata {
+    private String schema;
+    private String name;
+    private List<ColumnMetadata> columns;
+    private List<String> primaryKey;
+    private List<IndexMetadata> indexes;
+    private List<ForeignKeyMetadata> foreignKeys;
+    // Schema and name in the database's own case, e.g. APP and ORDERS on Oracle
+    private String originalSchema;
+    private String originalName;
+
+    public String qualifiedName() {
+        return (schema != null ? schema : "null") + "." + name;
+    }
+}
@@ -0,0 +1,23 @@
+package com.sensys.sse_engine.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TableVerification {
+    private String table;
+    private VerificationStatus status;
+    // Why the table was skipped or failed
+    private String message;
+    private String keyColumn;
+    private long sourceRows;
+    private long destinationRows;
+    private int chunks;
+    private int mismatchedChunks;
+    private List<RowMismatch> mismatchedRows;
+    // More rows differ than are listed
+    private boolean mismatchedRowsTruncated;
+}
@@ -0,0 +1,10 @@
+package com.sensys.sse_engine.model;
+
+public enum VerificationStatus {
+    MATCH,
+    MISMATCH,
+    // The table has no single-column integer primary key shared by both sides
+    SKIPPED,
+    // A query of the table failed, e.g. on a permission error or timeout
+    FAILED
+}
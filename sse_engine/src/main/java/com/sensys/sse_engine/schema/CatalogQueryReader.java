@@ -0,0 +1,223 @@
+package com.sensys.sse_engine.schema;
+
+import com.sensys.sse_engine.model.ColumnMetadata;
+import com.sensys.sse_engine.model.DatabaseConfig;
+import com.sensys.sse_engine.model.ForeignKeyMetadata;
+import com.sensys.sse_engine.model.IndexMetadata;
+import com.sensys.sse_engine.model.TableMetadata;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Base of the readers that pull a whole schema through a few set-based catalog queries
+ * instead of several DatabaseMetaData round trips per table. All queries run on one
+ * read-only connection inside a single transaction, which the PostgreSQL driver needs to
+ * stream rows by fetch size.
+ */
+public abstract class CatalogQueryReader implements SchemaMetadataReader {
+
+    private final int fetchSize;
+
+    @FunctionalInterface
+    protected interface RowHandler {
+        void accept(ResultSet rs) throws SQLException;
+    }
+
+    protected CatalogQueryReader(int fetchSize) {
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    @Override
+    public List<TableMetadata> read(DatabaseConfig config, ConnectionSource connections) throws SQLException {
+        try (Connection conn = connections.open()) {
+            conn.setReadOnly(true);
+            conn.setAutoCommit(false);
+            try {
+                SchemaTables tables = new SchemaTables();
+                readSchema(conn, config, tables);
+                return tables.build();
+            } finally {
+                conn.rollback();
+            }
+        }
+    }
+
+    /**
+     * Run the catalog queries of the database and add their rows to the tables
+     *
+     * @param conn Read-only connection
+     * @param config Database being read
+     * @param tables Collects the rows; tables must be added before their columns and keys
+     */
+    protected abstract void readSchema(Connection conn, DatabaseConfig config, SchemaTables tables)
+        throws SQLException;
+
+    /**
+     * Run a catalog query, handing each row to the handler
+     *
+     * @param conn Connection to query with
+     * @param sql Query with positional parameters
+     * @param handler Called for each row
+     * @param parameters Values of the parameters, bound as strings
+     */
+    protected void query(Connection conn, String sql, RowHandler handler, String... parameters) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(rs);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The column value, null when it was SQL NULL
+     */
+    protected static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * @return The column value, null when it was SQL NULL
+     */
+    protected static Integer getInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * Collects the rows of the catalog queries per table. Rows of tables that were not
+     * added, such as the columns of views, are ignored.
+     */
+    protected static final class SchemaTables {
+
+        private final Map<String, TableRows> tables = new LinkedHashMap<>();
+
+        private static final class TableRows {
+            private final String schema;
+            private final String name;
+            private final List<ColumnMetadata> columns = new ArrayList<>();
+            private final Map<Integer, String> primaryKey = new TreeMap<>();
+            private final Map<String, Boolean> indexUnique = new LinkedHashMap<>();
+            private final Map<String, Map<Integer, String>> indexColumns = new LinkedHashMap<>();
+            private final Map<String, ForeignKeyMetadata> foreignKeys = new LinkedHashMap<>();
+
+            TableRows(String schema, String name) {
+                this.schema = schema;
+                this.name = name;
+            }
+        }
+
+        private static String key(String schema, String table) {
+            return schema + "." + table;
+        }
+
+        public void addTable(String schema, String table) {
+            tables.putIfAbsent(key(schema, table), new TableRows(schema, table));
+        }
+
+        /**
+         * Add a column named as the database reports it; the name is normalised here
+         */
+        public void addColumn(String schema, String table, ColumnMetadata column) {
+            TableRows rows = tables.get(key(schema, table));
+            if (rows != null) {
+                column.setOriginalName(column.getName());
+                column.setName(MetadataNormalizer.identifier(column.getName()));
+                rows.columns.add(column);
+            }
+        }
+
+        public void addPrimaryKeyColumn(String schema, String table, int position, String column) {
+            TableRows rows = tables.get(key(schema, table));
+            if (rows != null) {
+                rows.primaryKey.put(position, MetadataNormalizer.identifier(column));
+            }
+        }
+
+        public void addIndexColumn(String schema, String table, String index, boolean unique, int position,
+                                   String column) {
+            TableRows rows = tables.get(key(schema, table));
+            if (rows != null && index != null && column != null) {
+                rows.indexUnique.put(index, unique);
+                rows.indexColumns.computeIfAbsent(index, name -> new TreeMap<>())
+                    .put(position, MetadataNormalizer.identifier(column));
+            }
+        }
+
+        /**
+         * Add a column of a foreign key; the columns of a key must arrive in key order
+         */
+        public void addForeignKeyColumn(String schema, String table, String name, String column,
+                                        String referencedTable, String referencedColumn) {
+            TableRows rows = tables.get(key(schema, table));
+            if (rows == null) {
+                return;
+            }
+            ForeignKeyMetadata foreignKey = rows.foreignKeys.computeIfAbsent(name, k -> ForeignKeyMetadata.builder()
+                .name(MetadataNormalizer.identifier(name))
+                .columns(new ArrayList<>())
+                .referencedTable(MetadataNormalizer.identifier(referencedTable))
+                .referencedColumns(new ArrayList<>())
+                .build());
+            foreignKey.getColumns().add(MetadataNormalizer.identifier(column));
+            foreignKey.getReferencedColumns().add(MetadataNormalizer.identifier(referencedColumn));
+        }
+
+        List<TableMetadata> build() {
+            List<TableMetadata> result = new ArrayList<>(tables.size());
+            for (TableRows rows : tables.values()) {
+                List<String> primaryKey = new ArrayList<>(rows.primaryKey.values());
+                rows.columns.sort(Comparator.comparingInt(ColumnMetadata::getPosition));
+                result.add(TableMetadata.builder()
+                    .schema(MetadataNormalizer.identifier(rows.schema))
+                    .name(MetadataNormalizer.identifier(rows.name))
+                    .columns(rows.columns)
+                    .primaryKey(primaryKey)
+                    .indexes(indexes(rows.indexUnique, rows.indexColumns, primaryKey))
+                    .foreignKeys(new ArrayList<>(rows.foreignKeys.values()))
+                    .originalSchema(rows.schema)
+                    .originalName(rows.name)
+                    .build());
+            }
+            return result;
+        }
+
+        /**
+         * Builds the indexes of a table, leaving out the one backing the primary key, which
+         * is compared on its own
+         */
+        private static List<IndexMetadata> indexes(Map<String, Boolean> unique,
+                                                   Map<String, Map<Integer, String>> columns, List<String> primaryKey) {
+            List<IndexMetadata> indexes = new ArrayList<>(columns.size());
+            columns.forEach((name, positions) -> {
+                List<String> indexColumns = new ArrayList<>(positions.values());
+                boolean isUnique = unique.getOrDefault(name, false);
+                if (isUnique && indexColumns.equals(primaryKey)) {
+                    return;
+                }
+                indexes.add(IndexMetadata.builder()
+                    .name(MetadataNormalizer.identifier(name))
+                    .unique(isUnique)
+                    .columns(indexColumns)
+                    .build());
+            });
+            return indexes;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.sensys.sse_engine.schema;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Opens connections to the database being read, the caller closes them
+ */
+@FunctionalInterface
+public interface ConnectionSource {
+    Connection open() throws SQLException;
+}
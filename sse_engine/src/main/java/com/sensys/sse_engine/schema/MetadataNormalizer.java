@@ -0,0 +1,102 @@
+package com.sensys.sse_engine.schema;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the identifiers, types and defaults reported by different databases to one form, so
+ * that equal structures compare equal across MySQL, PostgreSQL and Oracle
+ */
+public final class MetadataNormalizer {
+
+    /** Default of identity, serial and auto_increment columns */
+    public static final String AUTO_INCREMENT = "autoincrement";
+
+    private static final Pattern CAST_SUFFIX = Pattern.compile("::[a-z ]+(\\[\\])?$", Pattern.CASE_INSENSITIVE);
+    // Oracle names carry the fractional seconds, e.g. TIMESTAMP(6) WITH TIME ZONE
+    private static final Pattern TYPE_PRECISION = Pattern.compile("\\(\\d+\\)");
+    // PostgreSQL reports unbounded text as VARCHAR of Integer.MAX_VALUE
+    private static final int UNBOUNDED_LENGTH = 1 << 30;
+
+    private MetadataNormalizer() {
+    }
+
+    public static String identifier(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalise a column type read from a catalog query
+     *
+     * @param typeName Database type name, e.g. character varying, VARCHAR2 or int
+     * @param length Character length, or bit count of BIT columns
+     * @param precision Precision of numeric types
+     * @param scale Scale of numeric types
+     * @return Type such as VARCHAR(255), DECIMAL(10,2) or the database type name in upper case
+     */
+    public static String type(String typeName, Long length, Integer precision, Integer scale) {
+        if (typeName == null) {
+            return null;
+        }
+        String name = TYPE_PRECISION.matcher(typeName.trim().toLowerCase(Locale.ROOT)).replaceAll("");
+        return switch (name) {
+            case "varchar", "character varying", "nvarchar", "varchar2", "nvarchar2" ->
+                length == null || length <= 0 || length >= UNBOUNDED_LENGTH ? "TEXT" : "VARCHAR(" + length + ")";
+            case "char", "character", "nchar", "bpchar" -> "CHAR(" + (length != null ? length : 1) + ")";
+            case "text", "tinytext", "mediumtext", "longtext", "clob", "nclob", "long" -> "TEXT";
+            case "numeric", "decimal", "number" -> precision == null
+                // Oracle INTEGER is NUMBER with scale 0 and no precision
+                ? (scale != null && scale == 0 ? "DECIMAL(38,0)" : "DECIMAL")
+                : "DECIMAL(" + precision + "," + (scale != null ? scale : 0) + ")";
+            case "bit" -> length != null && length > 1 ? "BIT(" + length + ")" : "BOOLEAN";
+            case "boolean", "bool" -> "BOOLEAN";
+            case "tinyint", "smallint", "int2" -> "SMALLINT";
+            case "int", "integer", "mediumint", "int4" -> "INTEGER";
+            case "bigint", "int8" -> "BIGINT";
+            case "real", "float4", "binary_float" -> "REAL";
+            case "float", "double", "double precision", "float8", "binary_double" -> "DOUBLE";
+            case "date" -> "DATE";
+            case "time", "time without time zone", "time with time zone", "timetz" -> "TIME";
+            case "timestamp", "datetime", "timestamp without time zone" -> "TIMESTAMP";
+            case "timestamp with time zone", "timestamptz", "timestamp with local time zone" -> "TIMESTAMP WITH TIME ZONE";
+            case "bytea", "blob", "binary", "varbinary", "tinyblob", "mediumblob", "longblob", "raw", "long raw" -> "BINARY";
+            default -> typeName.trim().toUpperCase(Locale.ROOT);
+        };
+    }
+
+    /**
+     * Normalise a column default
+     *
+     * @param defaultValue Default expression as reported by the database
+     * @param autoIncrement Whether the database generates the column value
+     * @return The default without casts, quotes and case differences, null for no default
+     */
+    public static String defaultValue(String defaultValue, boolean autoIncrement) {
+        if (autoIncrement) {
+            return AUTO_INCREMENT;
+        }
+        if (defaultValue == null) {
+            return null;
+        }
+        String value = defaultValue.trim();
+        if (value.isEmpty() || value.equalsIgnoreCase("null")) {
+            return null;
+        }
+        if (value.toLowerCase(Locale.ROOT).startsWith("nextval(")) {
+            return AUTO_INCREMENT;
+        }
+        value = CAST_SUFFIX.matcher(value).replaceFirst("");
+        while (value.length() > 1 && value.startsWith("(") && value.endsWith(")")) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+        // String literals keep their case, expressions and keywords do not
+        if (value.length() > 1 && value.startsWith("'") && value.endsWith("'")) {
+            return value.substring(1, value.length() - 1);
+        }
+        value = value.toLowerCase(Locale.ROOT);
+        return switch (value) {
+            case "now()", "current_timestamp()", "systimestamp", "sysdate", "localtimestamp" -> "current_timestamp";
+            default -> value;
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.sensys.sse_engine.schema;
+
+import com.sensys.sse_engine.model.ColumnMetadata;
+import com.sensys.sse_engine.model.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Reads a MySQL database through four information_schema queries. Connector/J reads each
+ * result in one go unless cursor fetch is enabled, which suits these compact results.
+ */
+public class MySqlMetadataReader extends CatalogQueryReader {
+
+    private static final String TABLES = """
+        SELECT table_schema, table_name
+        FROM information_schema.tables
+        WHERE table_schema = ? AND table_type = 'BASE TABLE'
+        ORDER BY table_name""";
+
+    private static final String COLUMNS = """
+        SELECT table_schema, table_name, column_name, ordinal_position, data_type, column_type,
+               character_maximum_length, numeric_precision, numeric_scale, is_nullable, column_default, extra
+        FROM information_schema.columns
+        WHERE table_schema = ?
+        ORDER BY table_name, ordinal_position""";
+
+    // The primary key is the index named PRIMARY
+    private static final String INDEXES = """
+        SELECT table_schema, table_name, index_name, non_unique, column_name, seq_in_index
+        FROM information_schema.statistics
+        WHERE table_schema = ?
+        ORDER BY table_name, index_name, seq_in_index""";
+
+    private static final String FOREIGN_KEYS = """
+        SELECT table_schema, table_name, constraint_name, column_name, referenced_table_name, referenced_column_name
+        FROM information_schema.key_column_usage
+        WHERE table_schema = ? AND referenced_table_name IS NOT NULL
+        ORDER BY table_name, constraint_name, ordinal_position""";
+
+    public MySqlMetadataReader(int fetchSize) {
+        super(fetchSize);
+    }
+
+    @Override
+    protected void readSchema(Connection conn, DatabaseConfig config, SchemaTables tables) throws SQLException {
+        String schema = config.getDatabase();
+        query(conn, TABLES, rs -> tables.addTable(rs.getString("table_schema"), rs.getString("table_name")), schema);
+
+        query(conn, COLUMNS, rs -> tables.addColumn(rs.getString("table_schema"), rs.getString("table_name"),
+            ColumnMetadata.builder()
+                .name(rs.getString("column_name"))
+                .position(rs.getInt("ordinal_position"))
+                .type(type(rs.getString("data_type"), rs.getString("column_type"),
+                    getLong(rs, "character_maximum_length"), getInt(rs, "numeric_precision"),
+                    getInt(rs, "numeric_scale")))
+                .nullable("YES".equalsIgnoreCase(rs.getString("is_nullable")))
+                .defaultValue(MetadataNormalizer.defaultValue(rs.getString("column_default"),
+                    rs.getString("extra") != null
+                        && rs.getString("extra").toLowerCase(Locale.ROOT).contains("auto_increment")))
+                .build()), schema);
+
+        query(conn, INDEXES, rs -> {
+            String tableSchema = rs.getString("table_schema");
+            String table = rs.getString("table_name");
+            String index = rs.getString("index_name");
+            int position = rs.getInt("seq_in_index");
+            String column = rs.getString("column_name");
+            if ("PRIMARY".equals(index)) {
+                tables.addPrimaryKeyColumn(tableSchema, table, position, column);
+            }
+            tables.addIndexColumn(tableSchema, table, index, rs.getInt("non_unique") == 0, position, column);
+        }, schema);
+
+        query(conn, FOREIGN_KEYS, rs -> tables.addForeignKeyColumn(rs.getString("table_schema"),
+            rs.getString("table_name"), rs.getString("constraint_name"), rs.getString("column_name"),
+            rs.getString("referenced_table_name"), rs.getString("referenced_column_name")), schema);
+    }
+
+    /**
+     * Applies the type mapping of Connector/J before normalising: TINYINT(1) is a boolean
+     * and FLOAT is single precision
+     */
+    private static String type(String dataType, String columnType, Long length, Integer precision, Integer scale) {
+        String name = dataType.toLowerCase(Locale.ROOT);
+        if (name.equals("tinyint") && columnType != null && columnType.toLowerCase(Locale.ROOT).startsWith("tinyint(1)")) {
+            return MetadataNormalizer.type("boolean", null, null, null);
+        }
+        if (name.equals("float")) {
+            return MetadataNormalizer.type("real", null, null, null);
+        }
+        if (name.equals("bit")) {
+            // The bit count is reported as the precision
+            return MetadataNormalizer.type(name, precision != null ? precision.longValue() : null, null, null);
+        }
+        return MetadataNormalizer.type(name, length, precision, scale);
+    }
+}
@@ -0,0 +1,88 @@
+package com.sensys.sse_engine.schema;
+
+import com.sensys.sse_engine.model.ColumnMetadata;
+import com.sensys.sse_engine.model.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Reads the current schema of an Oracle database through four data dictionary queries.
+ * The driver fetches 10 rows per round trip by default, so the fetch size matters most
+ * here. Column defaults are read from DATA_DEFAULT_VC (12.2 and later), as the LONG
+ * DATA_DEFAULT column would force row by row fetching.
+ */
+public class OracleMetadataReader extends CatalogQueryReader {
+
+    private static final String CURRENT_SCHEMA = "SELECT SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA') AS owner FROM dual";
+
+    private static final String TABLES = """
+        SELECT owner, table_name
+        FROM all_tables
+        WHERE owner = ? AND nested = 'NO' AND secondary = 'N' AND (dropped IS NULL OR dropped = 'NO')
+        ORDER BY table_name""";
+
+    private static final String COLUMNS = """
+        SELECT owner, table_name, column_name, column_id, data_type, char_length, data_precision, data_scale,
+               nullable, data_default_vc, identity_column
+        FROM all_tab_columns
+        WHERE owner = ?
+        ORDER BY table_name, column_id""";
+
+    private static final String INDEXES = """
+        SELECT i.table_owner, i.table_name, i.index_name, i.uniqueness, c.column_name, c.column_position
+        FROM all_indexes i
+        JOIN all_ind_columns c ON c.index_owner = i.owner AND c.index_name = i.index_name
+        WHERE i.table_owner = ?
+        ORDER BY i.table_name, i.index_name, c.column_position""";
+
+    // Primary and foreign keys together; foreign key columns pair up with the referenced key by position
+    private static final String KEYS = """
+        SELECT c.owner, c.table_name, c.constraint_name, c.constraint_type, cc.column_name, cc.position,
+               rc.table_name AS referenced_table, rcc.column_name AS referenced_column
+        FROM all_constraints c
+        JOIN all_cons_columns cc ON cc.owner = c.owner AND cc.constraint_name = c.constraint_name
+        LEFT JOIN all_constraints rc ON rc.owner = c.r_owner AND rc.constraint_name = c.r_constraint_name
+        LEFT JOIN all_cons_columns rcc ON rcc.owner = rc.owner AND rcc.constraint_name = rc.constraint_name
+            AND rcc.position = cc.position
+        WHERE c.owner = ? AND c.constraint_type IN ('P', 'R')
+        ORDER BY c.table_name, c.constraint_name, cc.position""";
+
+    public OracleMetadataReader(int fetchSize) {
+        super(fetchSize);
+    }
+
+    @Override
+    protected void readSchema(Connection conn, DatabaseConfig config, SchemaTables tables) throws SQLException {
+        String[] owner = new String[1];
+        query(conn, CURRENT_SCHEMA, rs -> owner[0] = rs.getString("owner"));
+
+        query(conn, TABLES, rs -> tables.addTable(rs.getString("owner"), rs.getString("table_name")), owner[0]);
+
+        query(conn, COLUMNS, rs -> tables.addColumn(rs.getString("owner"), rs.getString("table_name"),
+            ColumnMetadata.builder()
+                .name(rs.getString("column_name"))
+                .position(rs.getInt("column_id"))
+                .type(MetadataNormalizer.type(rs.getString("data_type"), getLong(rs, "char_length"),
+                    getInt(rs, "data_precision"), getInt(rs, "data_scale")))
+                .nullable("Y".equals(rs.getString("nullable")))
+                .defaultValue(MetadataNormalizer.defaultValue(rs.getString("data_default_vc"),
+                    "YES".equals(rs.getString("identity_column"))))
+                .build()), owner[0]);
+
+        query(conn, INDEXES, rs -> tables.addIndexColumn(rs.getString("table_owner"), rs.getString("table_name"),
+            rs.getString("index_name"), "UNIQUE".equals(rs.getString("uniqueness")), rs.getInt("column_position"),
+            rs.getString("column_name")), owner[0]);
+
+        query(conn, KEYS, rs -> {
+            String schema = rs.getString("owner");
+            String table = rs.getString("table_name");
+            if ("P".equals(rs.getString("constraint_type"))) {
+                tables.addPrimaryKeyColumn(schema, table, rs.getInt("position"), rs.getString("column_name"));
+            } else {
+                tables.addForeignKeyColumn(schema, table, rs.getString("constraint_name"), rs.getString("column_name"),
+                    rs.getString("referenced_table"), rs.getString("referenced_column"));
+            }
+        }, owner[0]);
+    }
+}
@@ -0,0 +1,65 @@
+package com.sensys.sse_engine.schema;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs metadata reads of one database side by side, with a limit on how many hold a
+ * connection at once
+ */
+public final class ParallelReads {
+
+    private ParallelReads() {
+    }
+
+    /**
+     * Run reads in parallel and return their results in the order of the reads. When one
+     * read fails or the caller is interrupted, the remaining reads are cancelled.
+     *
+     * @param executor Executor the reads run on
+     * @param reads Reads to run
+     * @param concurrency Reads running at once
+     * @return Result of each read
+     */
+    public static <T> List<T> runAll(ExecutorService executor, List<Callable<T>> reads, int concurrency)
+            throws SQLException, InterruptedException {
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        List<Future<T>> futures = new ArrayList<>(reads.size());
+        try {
+            for (Callable<T> read : reads) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return read.call();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof SQLException sqlException) {
+                        throw sqlException;
+                    }
+                    if (e.getCause() instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    throw new SQLException(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.sensys.sse_engine.schema;
+
+import com.sensys.sse_engine.model.ColumnMetadata;
+import com.sensys.sse_engine.model.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Reads all user schemas of a PostgreSQL database through four queries. Indexes and keys
+ * come from pg_catalog, which is much cheaper on large catalogs than the joins behind the
+ * matching information_schema views.
+ */
+public class PostgresMetadataReader extends CatalogQueryReader {
+
+    private static final String USER_SCHEMAS =
+        "NOT IN ('pg_catalog', 'information_schema') AND %s NOT LIKE 'pg\\_%%'";
+
+    private static final String TABLES = """
+        SELECT n.nspname AS table_schema, c.relname AS table_name
+        FROM pg_class c
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE c.relkind IN ('r', 'p') AND NOT c.relispartition AND n.nspname %s
+        ORDER BY 1, 2""".formatted(USER_SCHEMAS.formatted("n.nspname"));
+
+    // Arrays and user-defined types are reported by their udt_name, as the JDBC driver does
+    private static final String COLUMNS = """
+        SELECT table_schema, table_name, column_name, ordinal_position,
+               CASE WHEN data_type IN ('ARRAY', 'USER-DEFINED') THEN udt_name ELSE data_type END AS data_type,
+               character_maximum_length, numeric_precision, numeric_scale, is_nullable, column_default, is_identity
+        FROM information_schema.columns
+        WHERE table_schema %s
+        ORDER BY 1, 2, 4""".formatted(USER_SCHEMAS.formatted("table_schema"));
+
+    // Expression columns of an index have no attribute and drop out of the join
+    private static final String INDEXES = """
+        SELECT n.nspname AS table_schema, t.relname AS table_name, i.relname AS index_name,
+               ix.indisunique AS is_unique, a.attname AS column_name, k.ord AS position
+        FROM pg_index ix
+        JOIN pg_class t ON t.oid = ix.indrelid
+        JOIN pg_class i ON i.oid = ix.indexrelid
+        JOIN pg_namespace n ON n.oid = t.relnamespace
+        CROSS JOIN LATERAL unnest(ix.indkey) WITH ORDINALITY AS k(attnum, ord)
+        JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = k.attnum
+        WHERE n.nspname %s
+        ORDER BY 1, 2, 3, 6""".formatted(USER_SCHEMAS.formatted("n.nspname"));
+
+    // Primary and foreign keys together, ordered by key position
+    private static final String KEYS = """
+        SELECT n.nspname AS table_schema, t.relname AS table_name, c.conname AS constraint_name,
+               c.contype AS constraint_type, a.attname AS column_name, k.ord AS position,
+               rt.relname AS referenced_table, ra.attname AS referenced_column
+        FROM pg_constraint c
+        JOIN pg_class t ON t.oid = c.conrelid
+        JOIN pg_namespace n ON n.oid = t.relnamespace
+        CROSS JOIN LATERAL unnest(c.conkey) WITH ORDINALITY AS k(attnum, ord)
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = k.attnum
+        LEFT JOIN pg_class rt ON rt.oid = c.confrelid
+        LEFT JOIN pg_attribute ra ON ra.attrelid = c.confrelid AND ra.attnum = c.confkey[k.ord]
+        WHERE c.contype IN ('p', 'f') AND n.nspname %s
+        ORDER BY 1, 2, 3, 6""".formatted(USER_SCHEMAS.formatted("n.nspname"));
+
+    public PostgresMetadataReader(int fetchSize) {
+        super(fetchSize);
+    }
+
+    @Override
+    protected void readSchema(Connection conn, DatabaseConfig config, SchemaTables tables) throws SQLException {
+        query(conn, TABLES, rs -> tables.addTable(rs.getString("table_schema"), rs.getString("table_name")));
+
+        query(conn, COLUMNS, rs -> tables.addColumn(rs.getString("table_schema"), rs.getString("table_name"),
+            ColumnMetadata.builder()
+                .name(rs.getString("column_name"))
+                .position(rs.getInt("ordinal_position"))
+                .type(MetadataNormalizer.type(rs.getString("data_type"), getLong(rs, "character_maximum_length"),
+                    getInt(rs, "numeric_precision"), getInt(rs, "numeric_scale")))
+                .nullable("YES".equalsIgnoreCase(rs.getString("is_nullable")))
+                .defaultValue(MetadataNormalizer.defaultValue(rs.getString("column_default"),
+                    "YES".equalsIgnoreCase(rs.getString("is_identity"))))
+                .build()));
+
+        query(conn, INDEXES, rs -> tables.addIndexColumn(rs.getString("table_schema"), rs.getString("table_name"),
+            rs.getString("index_name"), rs.getBoolean("is_unique"), rs.getInt("position"),
+            rs.getString("column_name")));
+
+        query(conn, KEYS, rs -> {
+            String schema = rs.getString("table_schema");
+            String table = rs.getString("table_name");
+            if ("p".equals(rs.getString("constraint_type"))) {
+                tables.addPrimaryKeyColumn(schema, table, rs.getInt("position"), rs.getString("column_name"));
+            } else {
+                tables.addForeignKeyColumn(schema, table, rs.getString("constraint_name"), rs.getString("column_name"),
+                    rs.getString("referenced_table"), rs.getString("referenced_column"));
+            }
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.sensys.sse_engine.schema;
+
+import com.sensys.sse_engine.config.DatabaseProperties;
+import com.sensys.sse_engine.model.SchemaDiff;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps recent schema diffs so their pages can be fetched without comparing again. The
+ * number of diffs is capped, the least recently used one is dropped first.
+ */
+@Component
+public class SchemaDiffCache {
+
+    private final DatabaseProperties.Compare settings;
+    private final Map<String, CachedDiff> diffs = new LinkedHashMap<>(16, 0.75f, true);
+
+    private record CachedDiff(SchemaDiff diff, long storedAt) {
+    }
+
+    public SchemaDiffCache(DatabaseProperties databaseProperties) {
+        this.settings = databaseProperties.getCompare();
+    }
+
+    /**
+     * Store a complete diff
+     *
+     * @param diff Diff with all differing tables
+     * @return ID to fetch pages of the diff with
+     */
+    public synchronized String put(SchemaDiff diff) {
+        evictExpired();
+        String diffId = UUID.randomUUID().toString();
+        diffs.put(diffId, new CachedDiff(diff, System.nanoTime()));
+        while (diffs.size() > Math.max(1, settings.getDiffCacheSize())) {
+            Iterator<String> oldest = diffs.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+        return diffId;
+    }
+
+    /**
+     * Get a page of a stored diff
+     *
+     * @param diffId ID returned when the diff was stored
+     * @param page Zero-based page number
+     * @param pageSize Tables per page
+     * @return The page, null when the diff is unknown or expired
+     */
+    public synchronized SchemaDiff getPage(String diffId, int page, int pageSize) {
+        evictExpired();
+        CachedDiff cached = diffs.get(diffId);
+        return cached == null ? null : page(cached.diff(), diffId, page, pageSize);
+    }
+
+    /**
+     * Cut a page out of a complete diff
+     *
+     * @param diff Diff with all differing tables
+     * @param diffId ID of the stored diff
+     * @param page Zero-based page number
+     * @param pageSize Tables per page
+     * @return Copy of the diff holding only the tables of the page
+     */
+    public static SchemaDiff page(SchemaDiff diff, String diffId, int page, int pageSize) {
+        int total = diff.getTables().size();
+        int from = (int) Math.min((long) page * pageSize, total);
+        int to = Math.min(from + pageSize, total);
+        return diff.toBuilder()
+            .diffId(diffId)
+            .page(page)
+            .pageSize(pageSize)
+            .totalPages((total + pageSize - 1) / pageSize)
+            .tables(diff.getTables().subList(from, to))
+            .build();
+    }
+
+    private void evictExpired() {
+        long cutoff = System.nanoTime() - settings.getDiffCacheTtl() * 1_000_000;
+        diffs.values().removeIf(cached -> cached.storedAt() - cutoff < 0);
+    }
+}
@@ -0,0 +1,188 @@
+package com.sensys.sse_engine.schema;
+
+import com.sensys.sse_engine.model.ColumnDiff;
+import com.sensys.sse_engine.model.ColumnMetadata;
+import com.sensys.sse_engine.model.DiffStatus;
+import com.sensys.sse_engine.model.ForeignKeyMetadata;
+import com.sensys.sse_engine.model.IndexMetadata;
+import com.sensys.sse_engine.model.SchemaDiff;
+import com.sensys.sse_engine.model.TableDiff;
+import com.sensys.sse_engine.model.TableMetadata;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Compares the table structures of two databases. Tables, columns, indexes and foreign
+ * keys are matched through hash lookups on their normalised names or signatures, so the
+ * cost grows linearly with the size of the schemas.
+ */
+public final class SchemaDiffEngine {
+
+    private SchemaDiffEngine() {
+    }
+
+    /**
+     * Compare two schemas
+     *
+     * @param source Tables of the source database
+     * @param destination Tables of the destination database
+     * @param compareByTableNamesOnly Match tables by name, ignoring schema or database names
+     * @return Diff listing every table that is missing on one side or differs, ordered by table
+     */
+    public static SchemaDiff diff(List<TableMetadata> source, List<TableMetadata> destination,
+                                  boolean compareByTableNamesOnly) {
+        Function<TableMetadata, String> key = compareByTableNamesOnly
+            ? TableMetadata::getName
+            : TableMetadata::qualifiedName;
+        Map<String, TableMetadata> destinationByKey = index(destination, key);
+        Map<String, TableMetadata> sourceByKey = index(source, key);
+
+        List<TableDiff> tables = new ArrayList<>();
+        int onlyInSource = 0;
+        int changed = 0;
+        for (Map.Entry<String, TableMetadata> entry : sourceByKey.entrySet()) {
+            TableMetadata other = destinationByKey.get(entry.getKey());
+            if (other == null) {
+                tables.add(TableDiff.builder().table(entry.getKey()).status(DiffStatus.ONLY_IN_SOURCE).build());
+                onlyInSource++;
+            } else {
+                TableDiff tableDiff = diffTable(entry.getKey(), entry.getValue(), other);
+                if (tableDiff != null) {
+                    tables.add(tableDiff);
+                    changed++;
+                }
+            }
+        }
+        int onlyInDestination = 0;
+        for (String table : destinationByKey.keySet()) {
+            if (!sourceByKey.containsKey(table)) {
+                tables.add(TableDiff.builder().table(table).status(DiffStatus.ONLY_IN_DESTINATION).build());
+                onlyInDestination++;
+            }
+        }
+        tables.sort(Comparator.comparing(TableDiff::getTable));
+
+        return SchemaDiff.builder()
+            .schemasMatch(tables.isEmpty())
+            .sourceTableCount(source.size())
+            .destinationTableCount(destination.size())
+            .tablesOnlyInSource(onlyInSource)
+            .tablesOnlyInDestination(onlyInDestination)
+            .tablesChanged(changed)
+            .tables(tables)
+            .build();
+    }
+
+    private static Map<String, TableMetadata> index(List<TableMetadata> tables, Function<TableMetadata, String> key) {
+        Map<String, TableMetadata> byKey = new HashMap<>(Math.max(16, (int) (tables.size() / 0.75f) + 1));
+        for (TableMetadata table : tables) {
+            // Matching by name only keeps the first schema's table of a name
+            byKey.putIfAbsent(key.apply(table), table);
+        }
+        return byKey;
+    }
+
+    /**
+     * @return The differences of a table present on both sides, null when it matches
+     */
+    private static TableDiff diffTable(String table, TableMetadata source, TableMetadata destination) {
+        List<ColumnDiff> columns = diffColumns(source.getColumns(), destination.getColumns());
+        boolean primaryKeyDiffers = !Objects.equals(source.getPrimaryKey(), destination.getPrimaryKey());
+        List<String> indexesOnlyInSource = onlyIn(source.getIndexes(), destination.getIndexes(), IndexMetadata::signature);
+        List<String> indexesOnlyInDestination = onlyIn(destination.getIndexes(), source.getIndexes(), IndexMetadata::signature);
+        List<String> keysOnlyInSource = onlyIn(source.getForeignKeys(), destination.getForeignKeys(),
+            ForeignKeyMetadata::signature);
+        List<String> keysOnlyInDestination = onlyIn(destination.getForeignKeys(), source.getForeignKeys(),
+            ForeignKeyMetadata::signature);
+
+        if (columns.isEmpty() && !primaryKeyDiffers && indexesOnlyInSource.isEmpty()
+                && indexesOnlyInDestination.isEmpty() && keysOnlyInSource.isEmpty() && keysOnlyInDestination.isEmpty()) {
+            return null;
+        }
+        return TableDiff.builder()
+            .table(table)
+            .status(DiffStatus.CHANGED)
+            .columns(columns)
+            .sourcePrimaryKey(primaryKeyDiffers ? source.getPrimaryKey() : null)
+            .destinationPrimaryKey(primaryKeyDiffers ? destination.getPrimaryKey() : null)
+            .indexesOnlyInSource(indexesOnlyInSource)
+            .indexesOnlyInDestination(indexesOnlyInDestination)
+            .foreignKeysOnlyInSource(keysOnlyInSource)
+            .foreignKeysOnlyInDestination(keysOnlyInDestination)
+            .build();
+    }
+
+    private static List<ColumnDiff> diffColumns(List<ColumnMetadata> source, List<ColumnMetadata> destination) {
+        Map<String, ColumnMetadata> destinationByName = new HashMap<>();
+        for (ColumnMetadata column : destination) {
+            destinationByName.put(column.getName(), column);
+        }
+        Set<String> sourceNames = new LinkedHashSet<>();
+
+        List<ColumnDiff> diffs = new ArrayList<>();
+        for (ColumnMetadata column : source) {
+            sourceNames.add(column.getName());
+            ColumnMetadata other = destinationByName.get(column.getName());
+            if (other == null) {
+                diffs.add(ColumnDiff.builder()
+                    .column(column.getName())
+                    .status(DiffStatus.ONLY_IN_SOURCE)
+                    .source(column)
+                    .build());
+                continue;
+            }
+            List<String> changed = new ArrayList<>(3);
+            if (!Objects.equals(column.getType(), other.getType())) {
+                changed.add("type");
+            }
+            if (column.isNullable() != other.isNullable()) {
+                changed.add("nullable");
+            }
+            if (!Objects.equals(column.getDefaultValue(), other.getDefaultValue())) {
+                changed.add("defaultValue");
+            }
+            if (!changed.isEmpty()) {
+                diffs.add(ColumnDiff.builder()
+                    .column(column.getName())
+                    .status(DiffStatus.CHANGED)
+                    .changedAttributes(changed)
+                    .source(column)
+                    .destination(other)
+                    .build());
+            }
+        }
+        for (ColumnMetadata column : destination) {
+            if (!sourceNames.contains(column.getName())) {
+                diffs.add(ColumnDiff.builder()
+                    .column(column.getName())
+                    .status(DiffStatus.ONLY_IN_DESTINATION)
+                    .destination(column)
+                    .build());
+            }
+        }
+        return diffs;
+    }
+
+    private static <T> List<String> onlyIn(List<T> items, List<T> others, Function<T, String> signature) {
+        Set<String> otherSignatures = new LinkedHashSet<>();
+        for (T other : others) {
+            otherSignatures.add(signature.apply(other));
+        }
+        Set<String> missing = new LinkedHashSet<>();
+        for (T item : items) {
+            String itemSignature = signature.apply(item);
+            if (!otherSignatures.contains(itemSignature)) {
+                missing.add(itemSignature);
+            }
+        }
+        return new ArrayList<>(missing);
+    }
+}
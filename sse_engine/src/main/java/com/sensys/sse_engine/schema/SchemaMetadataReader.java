@@ -0,0 +1,23 @@
+package com.sensys.sse_engine.schema;
+
+import com.sensys.sse_engine.model.DatabaseConfig;
+import com.sensys.sse_engine.model.TableMetadata;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Reads the structure of the tables of a database
+ */
+public interface SchemaMetadataReader {
+
+    /**
+     * Read every table of a database with its columns, keys and indexes
+     *
+     * @param config Database to read
+     * @param connections Opens connections to the database, possibly several at once
+     * @return Tables ordered by schema and name
+     */
+    List<TableMetadata> read(DatabaseConfig config, ConnectionSource connections)
+        throws SQLException, InterruptedException;
+}
@@ -0,0 +1,32 @@
+package com.sensys.sse_engine.schema;
+
+import com.sensys.sse_engine.config.DatabaseProperties;
+import com.sensys.sse_engine.exception.DatabaseConfigException;
+
+import java.util.Locale;
+
+/**
+ * Picks the metadata reader of a database type
+ */
+public final class SchemaMetadataReaders {
+
+    private SchemaMetadataReaders() {
+    }
+
+    /**
+     * Get the reader of a database type
+     *
+     * @param databaseType Database type of the config, e.g. mysql
+     * @param settings Compare settings
+     * @return The catalog query reader of the type
+     * @throws DatabaseConfigException with status 400 for types without a reader
+     */
+    public static SchemaMetadataReader forDatabaseType(String databaseType, DatabaseProperties.Compare settings) {
+        return switch (databaseType.toLowerCase(Locale.ROOT)) {
+            case "mysql" -> new MySqlMetadataReader(settings.getMetadataFetchSize());
+            case "postgresql" -> new PostgresMetadataReader(settings.getMetadataFetchSize());
+            case "oracle" -> new OracleMetadataReader(settings.getMetadataFetchSize());
+            default -> throw new DatabaseConfigException(400, "Unsupported database type: " + databaseType);
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.exception.NiFiUnavailableException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AIMD concurrency limit: the limit grows by one per limit's worth of successful calls
+ * and is cut by the backoff ratio when a call signals congestion. Calls over the limit
+ * wait in a bounded queue and are rejected once it is full or their wait times out.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    enum Outcome {
+        /** Completed in time, may raise the limit */
+        SUCCESS,
+        /** Timed out, failed server side or was slow, lowers the limit */
+        DROPPED,
+        /** Cancelled or failed for reasons unrelated to load, leaves the limit alone */
+        IGNORED
+    }
+
+    private final String name;
+    private final NiFiProperties.Gate settings;
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+
+    private double limit;
+    private int inFlight;
+    private long rejected;
+
+    private static final class Waiter {
+        private final Sinks.One<Permit> sink = Sinks.one();
+        private Permit granted;
+    }
+
+    /**
+     * Held while a call runs, released exactly once with the outcome of the call
+     */
+    final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(outcome);
+            }
+        }
+    }
+
+    AdaptiveConcurrencyLimiter(String name, NiFiProperties.Gate settings) {
+        this.name = name;
+        this.settings = settings;
+        this.limit = settings.getInitialLimit();
+    }
+
+    /**
+     * Acquire a permit, waiting in the queue when the limit is reached
+     *
+     * @return Mono emitting the permit, or NiFiUnavailableException when rejected
+     */
+    Mono<Permit> acquire() {
+        return Mono.defer(() -> {
+            Waiter waiter;
+            synchronized (this) {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    return Mono.just(new Permit());
+                }
+                if (waiters.size() >= settings.getMaxQueued()) {
+                    rejected++;
+                    return Mono.error(new NiFiUnavailableException(
+                        "NiFi " + name + " calls are over their concurrency limit, try again later"));
+                }
+                waiter = new Waiter();
+                waiters.add(waiter);
+            }
+            return waiter.sink.asMono()
+                .timeout(Duration.ofMillis(settings.getQueueTimeout()))
+                .onErrorMap(TimeoutException.class, error -> {
+                    synchronized (this) {
+                        rejected++;
+                    }
+                    return new NiFiUnavailableException(
+                        "Timed out waiting for a NiFi " + name + " call slot, try again later");
+                })
+                .doOnError(error -> abandon(waiter))
+                .doOnCancel(() -> abandon(waiter));
+        });
+    }
+
+    /**
+     * Removes a waiter that gave up; a permit granted to it in the meantime is handed on
+     */
+    private void abandon(Waiter waiter) {
+        Permit granted;
+        synchronized (this) {
+            granted = waiters.remove(waiter) ? null : waiter.granted;
+        }
+        if (granted != null) {
+            granted.release(Outcome.IGNORED);
+        }
+    }
+
+    private void release(Outcome outcome) {
+        Waiter next;
+        synchronized (this) {
+            // Only raise the limit when it was actually being used
+            if (outcome == Outcome.SUCCESS && inFlight >= limit / 2) {
+                limit = Math.min(settings.getMaxLimit(), limit + 1.0 / limit);
+            } else if (outcome == Outcome.DROPPED) {
+                limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+            }
+
+            if (inFlight > (int) limit || (next = waiters.poll()) == null) {
+                inFlight--;
+                return;
+            }
+            // The slot passes straight to the next waiter, inFlight is unchanged
+            next.granted = new Permit();
+        }
+        next.sink.tryEmitValue(next.granted);
+    }
+
+    synchronized double getLimit() {
+        return limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    synchronized int getQueued() {
+        return waiters.size();
+    }
+
+    synchronized long getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,181 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.dto.BulkOperationProgress;
+import com.sensys.sse_engine.dto.NiFiResource;
+import com.sensys.sse_engine.dto.NiFiResourceCatalog;
+import com.sensys.sse_engine.dto.ProcessGroupTree;
+import com.sensys.sse_engine.dto.ProcessGroupTreeNode;
+import com.sensys.sse_engine.dto.enums.BulkOperationOutcome;
+import com.sensys.sse_engine.dto.enums.ProcessGroupAction;
+import com.sensys.sse_engine.dto.enums.TreeFetchMode;
+import com.sensys.sse_engine.model.BulkOperationRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Starts or stops many process groups of a target in one request. The selection is checked
+ * against a single resource catalog snapshot and the state changes run with bounded
+ * concurrency, reporting each group as soon as its change finished.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NiFiBulkOperationsService {
+
+    private final NiFiProperties nifiProperties;
+
+    private record Selected(String id, NiFiResource resource) {
+    }
+
+    private record Result(Selected group, BulkOperationOutcome outcome, String error, long elapsedMillis) {
+    }
+
+    /**
+     * Compile a name pattern of a bulk request
+     *
+     * @param namePattern Regular expression matched anywhere in the group name, case-insensitive
+     * @return The compiled pattern, null when the pattern is null or blank
+     * @throws java.util.regex.PatternSyntaxException when the expression is invalid
+     */
+    public static Pattern compileNamePattern(String namePattern) {
+        if (namePattern == null || namePattern.isBlank()) {
+            return null;
+        }
+        return Pattern.compile(namePattern.trim(), Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * Start or stop the process groups selected by a request
+     *
+     * @param target Target the groups belong to
+     * @param request Action, selection and concurrency
+     * @return Flux with one progress event per selected group, in completion order
+     */
+    public Flux<BulkOperationProgress> execute(NiFiTarget target, BulkOperationRequest request) {
+        ProcessGroupAction action = request.getAction();
+        Pattern namePattern = compileNamePattern(request.getNamePattern());
+        int concurrency = request.getConcurrency() != null
+            ? request.getConcurrency()
+            : nifiProperties.getBulk().getConcurrency();
+
+        return target.getResourceService().getCatalog()
+            .switchIfEmpty(Mono.error(new IllegalStateException("NiFi resource catalog is not available")))
+            .flatMap(catalog -> select(target, catalog, request, namePattern))
+            .flatMapMany(selected -> Flux.defer(() -> {
+                log.info("Bulk {} of {} process groups on target {} with concurrency {}",
+                    action, selected.size(), target.getName(), concurrency);
+                AtomicInteger completed = new AtomicInteger();
+                AtomicInteger failed = new AtomicInteger();
+                long startedAt = System.nanoTime();
+
+                return Flux.fromIterable(selected)
+                    .flatMap(group -> changeState(target, action, group), concurrency)
+                    .map(result -> BulkOperationProgress.builder()
+                        .processGroupId(result.group().id())
+                        .processGroupName(result.group().resource() != null
+                            ? result.group().resource().getName() : null)
+                        .action(action)
+                        .outcome(result.outcome())
+                        .error(result.error())
+                        .elapsedMillis(result.elapsedMillis())
+                        .completed(completed.incrementAndGet())
+                        .failed(result.outcome() == BulkOperationOutcome.SUCCEEDED
+                            ? failed.get() : failed.incrementAndGet())
+                        .total(selected.size())
+                        .build())
+                    .doOnComplete(() -> log.info("Bulk {} on target {} finished in {} ms: {} of {} process groups failed",
+                        action, target.getName(), elapsedMillis(startedAt), failed.get(), selected.size()));
+            }));
+    }
+
+    /**
+     * Resolves the selection to distinct group IDs, each with its catalog entry or null
+     * when the catalog has no process group with the ID
+     */
+    private Mono<List<Selected>> select(NiFiTarget target, NiFiResourceCatalog catalog,
+                                        BulkOperationRequest request, Pattern namePattern) {
+        String parentGroupId = request.getParentGroupId() == null || request.getParentGroupId().isBlank()
+            ? null : request.getParentGroupId().trim();
+        Mono<List<String>> descendants = parentGroupId == null
+            ? Mono.just(List.of())
+            : target.getTreeService().getProcessGroupTree(parentGroupId, TreeFetchMode.RECURSIVE)
+                .map(tree -> descendantIds(tree, request.isRecursive()));
+
+        return descendants.map(below -> {
+            Set<String> ids = new LinkedHashSet<>();
+            if (request.getProcessGroupIds() != null) {
+                for (String id : request.getProcessGroupIds()) {
+                    if (id != null && !id.isBlank()) {
+                        ids.add(id.trim());
+                    }
+                }
+            }
+            ids.addAll(below);
+            if (ids.isEmpty() && parentGroupId == null && namePattern != null) {
+                for (NiFiResource group : catalog.getProcessGroups()) {
+                    if (group.getId() != null) {
+                        ids.add(group.getId());
+                    }
+                }
+            }
+
+            List<Selected> selected = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                NiFiResource resource = catalog.findResourceById(id);
+                if (resource != null && !resource.isProcessGroup()) {
+                    resource = null;
+                }
+                // Unknown IDs stay in the selection so they are reported as not found
+                if (resource != null && namePattern != null
+                        && (resource.getName() == null || !namePattern.matcher(resource.getName()).find())) {
+                    continue;
+                }
+                selected.add(new Selected(id, resource));
+            }
+            return selected;
+        });
+    }
+
+    private static List<String> descendantIds(ProcessGroupTree tree, boolean recursive) {
+        List<String> ids = new ArrayList<>();
+        for (ProcessGroupTreeNode node : tree.getGroups()) {
+            if (node.getDepth() > 0 && (recursive || node.getDepth() == 1)) {
+                ids.add(node.getId());
+            }
+        }
+        return ids;
+    }
+
+    private Mono<Result> changeState(NiFiTarget target, ProcessGroupAction action, Selected group) {
+        if (group.resource() == null) {
+            return Mono.just(new Result(group, BulkOperationOutcome.NOT_FOUND, "Process group not found", 0));
+        }
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return target.getOperationsService().changeState(group.id(), action)
+                .then(Mono.fromCallable(() -> new Result(group, BulkOperationOutcome.SUCCEEDED, null,
+                    elapsedMillis(startedAt))))
+                .onErrorResume(error -> {
+                    log.warn("Bulk {} of process group {} on target {} failed: {}",
+                        action, group.id(), target.getName(), error.getMessage());
+                    return Mono.just(new Result(group, BulkOperationOutcome.FAILED, error.getMessage(),
+                        elapsedMillis(startedAt)));
+                });
+        });
+    }
+
+    private static long elapsedMillis(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
@@ -0,0 +1,284 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.config.NiFiWebClientFactory;
+import com.sensys.sse_engine.dto.NiFiGateStats;
+import com.sensys.sse_engine.dto.enums.NiFiBulkhead;
+import com.sensys.sse_engine.exception.NiFiServerException;
+import com.sensys.sse_engine.exception.NiFiUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Shared gate for NiFi calls. Each bulkhead has its own adaptive concurrency limit and
+ * circuit breaker; retries of transient failures draw from one retry budget shared by
+ * all bulkheads, so a slow NiFi is not hit with a multiple of the original load. Each
+ * NiFi target has its own gate.
+ */
+@Service
+@Slf4j
+public class NiFiCallGate {
+
+    private final String target;
+    private final NiFiProperties nifiProperties;
+    private final NiFiRetryBudget retryBudget;
+    private final Map<NiFiBulkhead, Compartment> compartments = new EnumMap<>(NiFiBulkhead.class);
+
+    private static final class Compartment {
+        private final NiFiBulkhead bulkhead;
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final NiFiCircuitBreaker breaker;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder retriesDenied = new LongAdder();
+
+        Compartment(String target, NiFiBulkhead bulkhead, NiFiProperties.Gate settings) {
+            String name = NiFiWebClientFactory.DEFAULT_TARGET.equals(target)
+                ? bulkhead.name().toLowerCase()
+                : target + " " + bulkhead.name().toLowerCase();
+            this.bulkhead = bulkhead;
+            this.limiter = new AdaptiveConcurrencyLimiter(name, settings);
+            this.breaker = new NiFiCircuitBreaker(name, settings);
+        }
+    }
+
+    @Autowired
+    public NiFiCallGate(NiFiProperties nifiProperties, MeterRegistry meterRegistry) {
+        this(NiFiWebClientFactory.DEFAULT_TARGET, nifiProperties, meterRegistry);
+    }
+
+    /**
+     * @param target Name of the NiFi target the gate guards, used as the metrics tag
+     * @param nifiProperties Gate and retry settings
+     * @param meterRegistry Registry for the gate meters
+     */
+    public NiFiCallGate(String target, NiFiProperties nifiProperties, MeterRegistry meterRegistry) {
+        this.target = target;
+        this.nifiProperties = nifiProperties;
+        this.retryBudget = new NiFiRetryBudget(nifiProperties.getGate());
+        for (NiFiBulkhead bulkhead : NiFiBulkhead.values()) {
+            Compartment compartment = new Compartment(target, bulkhead, nifiProperties.getGate());
+            compartments.put(bulkhead, compartment);
+            registerMeters(compartment, meterRegistry);
+        }
+        Gauge.builder("nifi.gate.retry.budget", retryBudget, NiFiRetryBudget::getBalance)
+            .description("Retries currently available to NiFi calls")
+            .tag("target", target)
+            .register(meterRegistry);
+    }
+
+    private void registerMeters(Compartment compartment, MeterRegistry meterRegistry) {
+        Tags tags = Tags.of("target", target, "bulkhead", compartment.bulkhead.name().toLowerCase());
+        Gauge.builder("nifi.gate.limit", compartment.limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Adaptive concurrency limit").tags(tags).register(meterRegistry);
+        Gauge.builder("nifi.gate.inflight", compartment.limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("Calls holding a permit").tags(tags).register(meterRegistry);
+        Gauge.builder("nifi.gate.queued", compartment.limiter, AdaptiveConcurrencyLimiter::getQueued)
+            .description("Calls waiting for a permit").tags(tags).register(meterRegistry);
+        Gauge.builder("nifi.gate.circuit.state", compartment.breaker, breaker -> breaker.getState().ordinal())
+            .description("Circuit state: 0 closed, 1 open, 2 half open").tags(tags).register(meterRegistry);
+        FunctionCounter.builder("nifi.gate.calls", compartment.calls, LongAdder::sum)
+            .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("nifi.gate.failures", compartment.failures, LongAdder::sum)
+            .description("Calls that timed out or failed server side").tags(tags).register(meterRegistry);
+        FunctionCounter.builder("nifi.gate.rejected", compartment.limiter, AdaptiveConcurrencyLimiter::getRejected)
+            .description("Calls rejected by the concurrency limit").tags(tags).register(meterRegistry);
+        FunctionCounter.builder("nifi.gate.short.circuited", compartment.breaker, NiFiCircuitBreaker::getShortCircuited)
+            .description("Calls rejected by the open circuit").tags(tags).register(meterRegistry);
+        FunctionCounter.builder("nifi.gate.retries", compartment.retries, LongAdder::sum)
+            .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("nifi.gate.retries.denied", compartment.retriesDenied, LongAdder::sum)
+            .description("Retries refused by the retry budget").tags(tags).register(meterRegistry);
+    }
+
+    /**
+     * Run a NiFi call through the bulkhead, retrying transient failures while the retry
+     * budget allows. Calls rejected by the limit or the open circuit fail with
+     * NiFiUnavailableException and are not retried.
+     *
+     * @param bulkhead Group of calls the call belongs to
+     * @param call Supplier of the call, invoked once per attempt
+     * @return Mono with the result of the call
+     */
+    public <T> Mono<T> execute(NiFiBulkhead bulkhead, Supplier<Mono<T>> call) {
+        Compartment compartment = compartments.get(bulkhead);
+        return Mono.defer(() -> {
+            retryBudget.onRequest();
+            return Mono.defer(() -> attempt(compartment, call))
+                .retryWhen(retrySpec(compartment));
+        });
+    }
+
+    /**
+     * Run a streaming NiFi call through the bulkhead. Streams are not retried because
+     * elements may already have been emitted.
+     *
+     * @param bulkhead Group of calls the call belongs to
+     * @param call Supplier of the call
+     * @return Flux with the elements of the call
+     */
+    public <T> Flux<T> executeMany(NiFiBulkhead bulkhead, Supplier<Flux<T>> call) {
+        Compartment compartment = compartments.get(bulkhead);
+        return Flux.defer(() -> {
+            if (!compartment.breaker.tryAcquire()) {
+                return Flux.error(circuitOpen(compartment));
+            }
+            compartment.calls.increment();
+            return compartment.limiter.acquire()
+                .doOnError(error -> compartment.breaker.onIgnored())
+                .doOnCancel(compartment.breaker::onIgnored)
+                .flatMapMany(permit -> {
+                    CallTracker tracker = new CallTracker(compartment, permit);
+                    return call.get()
+                        .doOnComplete(tracker::completed)
+                        .doOnError(tracker::failed)
+                        .doOnCancel(tracker::cancelled);
+                });
+        });
+    }
+
+    private <T> Mono<T> attempt(Compartment compartment, Supplier<Mono<T>> call) {
+        if (!compartment.breaker.tryAcquire()) {
+            return Mono.error(circuitOpen(compartment));
+        }
+        compartment.calls.increment();
+        return compartment.limiter.acquire()
+            .doOnError(error -> compartment.breaker.onIgnored())
+            .doOnCancel(compartment.breaker::onIgnored)
+            .flatMap(permit -> {
+                CallTracker tracker = new CallTracker(compartment, permit);
+                return call.get()
+                    .doOnSuccess(value -> tracker.completed())
+                    .doOnError(tracker::failed)
+                    .doOnCancel(tracker::cancelled);
+            });
+    }
+
+    private Retry retrySpec(Compartment compartment) {
+        return Retry.backoff(nifiProperties.getRetryAttempts(), Duration.ofMillis(nifiProperties.getRetryDelay()))
+            .filter(error -> isTransient(error) && tryRetry(compartment))
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private boolean tryRetry(Compartment compartment) {
+        if (retryBudget.tryRetry()) {
+            compartment.retries.increment();
+            return true;
+        }
+        compartment.retriesDenied.increment();
+        log.debug("Retry budget exhausted, not retrying NiFi {} call to {}", compartment.bulkhead, target);
+        return false;
+    }
+
+    private static NiFiUnavailableException circuitOpen(Compartment compartment) {
+        return new NiFiUnavailableException("NiFi " + compartment.bulkhead.name().toLowerCase()
+            + " calls are failing, circuit is open");
+    }
+
+    /**
+     * Timeouts, connection failures, 5xx and 429 responses: worth retrying and a sign
+     * that NiFi is overloaded or down
+     */
+    static boolean isTransient(Throwable error) {
+        if (error instanceof TimeoutException || error instanceof NiFiServerException
+                || error instanceof WebClientRequestException) {
+            return true;
+        }
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return false;
+    }
+
+    /**
+     * Reports the outcome of one attempt to the limiter and the breaker, once
+     */
+    private final class CallTracker {
+        private final Compartment compartment;
+        private final AdaptiveConcurrencyLimiter.Permit permit;
+        private final long startedAt = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        CallTracker(Compartment compartment, AdaptiveConcurrencyLimiter.Permit permit) {
+            this.compartment = compartment;
+            this.permit = permit;
+        }
+
+        void completed() {
+            if (!done.compareAndSet(false, true)) return;
+            compartment.breaker.onSuccess();
+            permit.release(isSlow() ? AdaptiveConcurrencyLimiter.Outcome.DROPPED
+                : AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        }
+
+        void failed(Throwable error) {
+            if (!isTransient(error)) {
+                // NiFi answered, e.g. with a 404
+                completed();
+                return;
+            }
+            if (!done.compareAndSet(false, true)) return;
+            compartment.failures.increment();
+            compartment.breaker.onFailure();
+            permit.release(AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+        }
+
+        void cancelled() {
+            if (!done.compareAndSet(false, true)) return;
+            compartment.breaker.onIgnored();
+            permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        }
+
+        private boolean isSlow() {
+            return System.nanoTime() - startedAt > nifiProperties.getGate().getSlowCallThreshold() * 1_000_000;
+        }
+    }
+
+    /**
+     * Get the limiter, circuit and retry state of each bulkhead
+     *
+     * @return List of gate statistics, one per bulkhead
+     */
+    public List<NiFiGateStats> getStats() {
+        double budget = retryBudget.getBalance();
+        return Arrays.stream(NiFiBulkhead.values())
+            .map(compartments::get)
+            .map(compartment -> NiFiGateStats.builder()
+                .target(target)
+                .bulkhead(compartment.bulkhead)
+                .circuitState(compartment.breaker.getState().name())
+                .limit(compartment.limiter.getLimit())
+                .inFlight(compartment.limiter.getInFlight())
+                .queued(compartment.limiter.getQueued())
+                .calls(compartment.calls.sum())
+                .failures(compartment.failures.sum())
+                .rejected(compartment.limiter.getRejected())
+                .shortCircuited(compartment.breaker.getShortCircuited())
+                .retries(compartment.retries.sum())
+                .retriesDenied(compartment.retriesDenied.sum())
+                .retryBudget(budget)
+                .build())
+            .toList();
+    }
+}
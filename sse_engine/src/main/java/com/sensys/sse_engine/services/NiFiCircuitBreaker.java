@@ -0,0 +1,130 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Count-based circuit breaker. Opens when the failure rate over the last calls reaches the
+ * threshold, rejects calls while open, then lets a few probe calls through and closes
+ * again once they all succeed.
+ */
+@Slf4j
+class NiFiCircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final NiFiProperties.Gate settings;
+    /** Outcomes of the last calls, true for a failure */
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+    private long shortCircuited;
+
+    NiFiCircuitBreaker(String name, NiFiProperties.Gate settings) {
+        this.name = name;
+        this.settings = settings;
+        this.window = new boolean[settings.getSlidingWindowSize()];
+    }
+
+    /**
+     * Whether a call may run now. A permitted call must be followed by exactly one of
+     * {@link #onSuccess}, {@link #onFailure} or {@link #onIgnored}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < settings.getOpenDuration()) {
+                shortCircuited++;
+                return false;
+            }
+            log.info("Circuit for NiFi {} calls is half open, sending probe calls", name);
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= settings.getHalfOpenCalls()) {
+                shortCircuited++;
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= settings.getHalfOpenCalls()) {
+                log.info("Circuit for NiFi {} calls closed", name);
+                state = State.CLOSED;
+                resetWindow();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && windowCount >= settings.getMinimumCalls()
+                && windowFailures >= settings.getFailureRateThreshold() * windowCount) {
+            open();
+        }
+    }
+
+    /**
+     * The call ended without telling anything about NiFi's health, e.g. it was cancelled
+     */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+            probesStarted--;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (state != State.CLOSED) return;
+        if (windowCount == window.length) {
+            if (window[windowIndex]) windowFailures--;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) windowFailures++;
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        log.warn("Circuit for NiFi {} calls opened, failing fast for {} ms", name, settings.getOpenDuration());
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    synchronized long getShortCircuited() {
+        return shortCircuited;
+    }
+}
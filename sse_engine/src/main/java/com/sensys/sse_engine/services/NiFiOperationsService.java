@@ -1,14 +1,14 @@
 package com.sensys.sse_engine.services;
 
+import com.sensys.sse_engine.dto.enums.NiFiBulkhead;
+import com.sensys.sse_engine.dto.enums.ProcessGroupAction;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
-import java.time.Duration;
 import java.util.Map;
 
 @Service
@@ -17,6 +17,7 @@ import java.util.Map;
 public class NiFiOperationsService {
     
     private final WebClient nifiWebClient;
+    private final NiFiCallGate callGate;
 
     /**
      * Start a process group
@@ -27,17 +28,7 @@ public class NiFiOperationsService {
     public Mono<Void> startProcessGroup(String processGroupId) {
         log.debug("Starting process group with ID: {}", processGroupId);
         
-        return nifiWebClient.put()
-            .uri("/nifi-api/flow/process-groups/{id}", processGroupId)
-            .contentType(MediaType.APPLICATION_JSON)
-            .bodyValue(Map.of(
-                "id", processGroupId,
-                "state", "RUNNING",
-                "disconnectedNodeAcknowledged", false
-            ))
-            .retrieve()
-            .bodyToMono(Void.class)
-            .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+        return changeState(processGroupId, ProcessGroupAction.START)
             .doOnSuccess(result -> log.debug("Successfully started process group: {}", processGroupId))
             .doOnError(error -> log.error("Failed to start process group {}: {}", 
                 processGroupId, error.getMessage()));
@@ -52,19 +43,29 @@ public class NiFiOperationsService {
     public Mono<Void> stopProcessGroup(String processGroupId) {
         log.debug("Stopping process group with ID: {}", processGroupId);
         
-        return nifiWebClient.put()
-            .uri("/nifi-api/flow/process-groups/{id}", processGroupId)
-            .contentType(MediaType.APPLICATION_JSON)
-            .bodyValue(Map.of(
-                "id", processGroupId,
-                "state", "STOPPED",
-                "disconnectedNodeAcknowledged", false
-            ))
-            .retrieve()
-            .bodyToMono(Void.class)
-            .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+        return changeState(processGroupId, ProcessGroupAction.STOP)
             .doOnSuccess(result -> log.debug("Successfully stopped process group: {}", processGroupId))
             .doOnError(error -> log.error("Failed to stop process group {}: {}", 
                 processGroupId, error.getMessage()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Schedule all components of a process group
+     *
+     * @param processGroupId ID of the process group
+     * @param action Whether to start or stop the components
+     * @return Mono<Void> indicating success or error
+     */
+    public Mono<Void> changeState(String processGroupId, ProcessGroupAction action) {
+        return callGate.execute(NiFiBulkhead.OPERATIONS, () -> nifiWebClient.put()
+                .uri("/nifi-api/flow/process-groups/{id}", processGroupId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of(
+                    "id", processGroupId,
+                    "state", action.getScheduledState(),
+                    "disconnectedNodeAcknowledged", false
+                ))
+                .retrieve()
+                .bodyToMono(Void.class));
+    }
+}
@@ -0,0 +1,114 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.dto.CoalescingStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of NiFi reads: concurrent calls for the same key share one
+ * in-flight request and all receive its result.
+ */
+@Service
+@Slf4j
+public class NiFiRequestCoalescer {
+
+    private final ConcurrentMap<String, Mono<Object>> inFlight = new ConcurrentHashMap<>();
+    // Per URI template, so the map stays as small as the set of endpoints read
+    private final ConcurrentMap<String, KeyCounters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Key of a request: identical requests share the expanded URI, statistics are kept per
+     * URI template
+     *
+     * @param uriTemplate URI template of the request
+     * @param uri Expanded URI
+     */
+    public record RequestKey(String uriTemplate, String uri) {
+    }
+
+    /**
+     * Build a coalescing key from a URI template, e.g. {@code /nifi-api/processors/{id}}
+     *
+     * @param uriTemplate URI template of the request
+     * @param uriVariables Values to expand the template with
+     * @return Key holding the template and the expanded URI
+     */
+    public static RequestKey key(String uriTemplate, Object... uriVariables) {
+        return new RequestKey(uriTemplate, UriComponentsBuilder.fromUriString(uriTemplate)
+            .buildAndExpand(uriVariables)
+            .toUriString());
+    }
+
+    /**
+     * Execute a request, joining an identical request already in flight if there is one
+     *
+     * @param requestKey Key identifying identical requests
+     * @param request Supplier of the request, only invoked when no request is in flight
+     * @return Mono emitting the shared result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(RequestKey requestKey, Supplier<Mono<T>> request) {
+        String key = requestKey.uri();
+        return Mono.defer(() -> {
+            KeyCounters keyCounters = counters.computeIfAbsent(requestKey.uriTemplate(), k -> new KeyCounters());
+            keyCounters.requests.increment();
+
+            Sinks.One<Object> sink = Sinks.one();
+            Mono<Object> shared = sink.asMono();
+            Mono<Object> existing = inFlight.putIfAbsent(key, shared);
+            if (existing != null) {
+                keyCounters.collapsed.increment();
+                log.debug("Joined in-flight request: {}", key);
+                return (Mono<T>) existing;
+            }
+
+            keyCounters.executions.increment();
+            // The key is released before the result is published so late callers start a fresh request
+            request.get().subscribe(
+                value -> {
+                    inFlight.remove(key, shared);
+                    sink.tryEmitValue(value);
+                },
+                error -> {
+                    inFlight.remove(key, shared);
+                    sink.tryEmitError(error);
+                },
+                () -> {
+                    inFlight.remove(key, shared);
+                    sink.tryEmitEmpty();
+                });
+            return (Mono<T>) shared;
+        });
+    }
+
+    /**
+     * Get per-template request counters
+     *
+     * @return List of coalescing statistics, one per URI template seen
+     */
+    public List<CoalescingStats> getStats() {
+        return counters.entrySet().stream()
+            .map(entry -> CoalescingStats.builder()
+                .key(entry.getKey())
+                .requests(entry.getValue().requests.sum())
+                .executions(entry.getValue().executions.sum())
+                .collapsed(entry.getValue().collapsed.sum())
+                .build())
+            .toList();
+    }
+
+    private static final class KeyCounters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder collapsed = new LongAdder();
+    }
+}
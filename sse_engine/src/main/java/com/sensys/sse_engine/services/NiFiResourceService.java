@@ -1,17 +1,27 @@
 package com.sensys.sse_engine.services;
 
+import com.sensys.sse_engine.config.NiFiProperties;
 import com.sensys.sse_engine.dto.NiFiResource;
+import com.sensys.sse_engine.dto.NiFiResourceCatalog;
 import com.sensys.sse_engine.dto.NiFiResourcesDTO;
+import com.sensys.sse_engine.dto.enums.NiFiBulkhead;
+import com.sensys.sse_engine.helper.JsonArrayStreamDecoder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
+import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Slf4j
@@ -19,18 +29,116 @@ import java.util.Objects;
 public class NiFiResourceService {
     
     private final WebClient nifiWebClient;
-    
+    private final NiFiProperties nifiProperties;
+    private final JsonArrayStreamDecoder streamDecoder;
+    private final NiFiCallGate callGate;
+
+    private final AtomicReference<CachedCatalog> cachedCatalog = new AtomicReference<>();
+    private final AtomicReference<Mono<NiFiResourceCatalog>> inFlightRefresh = new AtomicReference<>();
+    private Disposable backgroundRefresh;
+
+    private record CachedCatalog(NiFiResourceCatalog catalog, Instant fetchedAt) {
+    }
+
+    @PostConstruct
+    void startBackgroundRefresh() {
+        Duration ttl = Duration.ofSeconds(nifiProperties.getResourceCacheTtl());
+        backgroundRefresh = Flux.interval(ttl, ttl)
+            .onBackpressureDrop()
+            .concatMap(tick -> refreshCatalog())
+            .subscribe();
+    }
+
+    @PreDestroy
+    void stopBackgroundRefresh() {
+        if (backgroundRefresh != null) {
+            backgroundRefresh.dispose();
+        }
+    }
+
     /**
-     * Retrieves all NiFi resources from the API
+     * Retrieves all NiFi resources, served from the resource cache
      *
      * @return Mono containing NiFiResourcesDTO with all resources
      */
     public Mono<NiFiResourcesDTO> getAllResources() {
-        return nifiWebClient.get()
-            .uri("/nifi-api/resources")
-            .retrieve()
-            .bodyToMono(NiFiResourcesDTO.class)
-            .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+        return getCatalog().map(NiFiResourceCatalog::getResources);
+    }
+
+    /**
+     * Streams all NiFi resources. Once the catalog is loaded it is served from the cache;
+     * before that resources are emitted as they are decoded from the NiFi response.
+     *
+     * @return Flux of all NiFi resources
+     */
+    public Flux<NiFiResource> streamAllResources() {
+        return Flux.defer(() -> {
+            if (cachedCatalog.get() != null) {
+                return getCatalog().flatMapIterable(catalog -> catalog.getResources().getResources());
+            }
+            log.debug("NiFi resource cache is empty, streaming resources from NiFi");
+            return streamResourcesFromNiFi();
+        });
+    }
+
+    /**
+     * Gets the indexed resource catalog. The first call waits for NiFi; afterwards the
+     * cached catalog is returned immediately and refreshed in the background once stale.
+     *
+     * @return Mono containing the current NiFiResourceCatalog, empty if it was never loaded
+     */
+    public Mono<NiFiResourceCatalog> getCatalog() {
+        return Mono.defer(() -> {
+            CachedCatalog cached = cachedCatalog.get();
+            if (cached == null) {
+                return refreshCatalog();
+            }
+            if (isStale(cached)) {
+                log.debug("NiFi resource cache is stale, refreshing in background");
+                refreshCatalog().subscribe();
+            }
+            return Mono.just(cached.catalog());
+        });
+    }
+
+    private boolean isStale(CachedCatalog cached) {
+        return cached.fetchedAt()
+            .plusSeconds(nifiProperties.getResourceCacheTtl())
+            .isBefore(Instant.now());
+    }
+
+    /**
+     * Refreshes the catalog from NiFi. Concurrent callers share the refresh in flight.
+     */
+    private Mono<NiFiResourceCatalog> refreshCatalog() {
+        Sinks.One<NiFiResourceCatalog> sink = Sinks.one();
+        Mono<NiFiResourceCatalog> refresh = sink.asMono();
+        Mono<NiFiResourceCatalog> existing = inFlightRefresh.compareAndExchange(null, refresh);
+        if (existing != null) {
+            return existing;
+        }
+
+        fetchAllResources()
+            .map(NiFiResourceCatalog::new)
+            .doFinally(signal -> inFlightRefresh.compareAndSet(refresh, null))
+            .subscribe(
+                catalog -> {
+                    cachedCatalog.set(new CachedCatalog(catalog, Instant.now()));
+                    sink.tryEmitValue(catalog);
+                },
+                sink::tryEmitError,
+                sink::tryEmitEmpty);
+        return refresh;
+    }
+
+    private Mono<NiFiResourcesDTO> fetchAllResources() {
+        return callGate.execute(NiFiBulkhead.RESOURCES, () -> decodeResources()
+                .collectList()
+                .map(resources -> {
+                    NiFiResourcesDTO dto = new NiFiResourcesDTO();
+                    dto.setResources(resources);
+                    return dto;
+                }))
             .onErrorResume(error -> {
                 log.error("Failed to fetch NiFi resources: {}", error.getMessage());
                 return Mono.empty();
@@ -43,14 +151,29 @@ public class NiFiResourceService {
             });
     }
 
+    private Flux<NiFiResource> streamResourcesFromNiFi() {
+        return callGate.executeMany(NiFiBulkhead.RESOURCES, this::decodeResources);
+    }
+
+    /**
+     * Decodes /resources element by element, so the response is never buffered whole
+     */
+    private Flux<NiFiResource> decodeResources() {
+        Flux<DataBuffer> body = nifiWebClient.get()
+            .uri("/nifi-api/resources")
+            .retrieve()
+            .bodyToFlux(DataBuffer.class);
+        return streamDecoder.decode(body, "resources", NiFiResource.class);
+    }
+
     /**
      * Gets all process groups
      *
      * @return Flux of process group resources
      */
     public Flux<NiFiResource> getProcessGroups() {
-        return getAllResources()
-            .mapNotNull(dto -> dto.getProcessGroups())
+        return getCatalog()
+            .mapNotNull(NiFiResourceCatalog::getProcessGroups)
             .flatMapMany(Flux::fromIterable)
             .filter(Objects::nonNull)
             .doOnComplete(() -> log.debug("Completed retrieving process groups"));
@@ -62,8 +185,8 @@ public class NiFiResourceService {
      * @return Flux of processor resources
      */
     public Flux<NiFiResource> getProcessors() {
-        return getAllResources()
-            .mapNotNull(dto -> dto.getProcessors())
+        return getCatalog()
+            .mapNotNull(NiFiResourceCatalog::getProcessors)
             .flatMapMany(Flux::fromIterable)
             .filter(Objects::nonNull)
             .doOnComplete(() -> log.debug("Completed retrieving processors"));
@@ -81,8 +204,8 @@ public class NiFiResourceService {
             return Mono.empty();
         }
 
-        return getAllResources()
-            .mapNotNull(dto -> dto.findProcessGroupByName(name))
+        return getCatalog()
+            .mapNotNull(catalog -> catalog.findProcessGroupByName(name))
             .doOnNext(pg -> {
                 if (pg != null) {
                     log.debug("Found process group: {} with id: {}", name, pg.getId());
@@ -104,8 +227,8 @@ public class NiFiResourceService {
             return Mono.empty();
         }
 
-        return getAllResources()
-            .mapNotNull(dto -> dto.findProcessorByName(name))
+        return getCatalog()
+            .mapNotNull(catalog -> catalog.findProcessorByName(name))
             .doOnNext(processor -> {
                 if (processor != null) {
                     log.debug("Found processor: {} with id: {}", name, processor.getId());
@@ -127,8 +250,8 @@ public class NiFiResourceService {
             return Mono.empty();
         }
 
-        return getAllResources()
-            .mapNotNull(dto -> dto.findResourceById(id))
+        return getCatalog()
+            .mapNotNull(catalog -> catalog.findResourceById(id))
             .filter(NiFiResource::isProcessGroup)
             .doOnNext(pg -> {
                 if (pg != null) {
@@ -151,15 +274,9 @@ public class NiFiResourceService {
             return Flux.empty();
         }
 
-        return getAllResources()
-            .mapNotNull(dto -> dto.getResources())
-            .flatMapMany(resources -> Flux.fromIterable(resources)
-                .filter(Objects::nonNull)
-                .filter(resource -> {
-                    String identifier = resource.getIdentifier();
-                    return identifier != null && 
-                           identifier.contains("/process-groups/" + processGroupId + "/");
-                }))
+        return getCatalog()
+            .flatMapMany(catalog -> Flux.fromIterable(
+                catalog.getResourcesInProcessGroup(processGroupId)))
             .doOnComplete(() -> log.debug("Completed retrieving resources in process group: {}", 
                 processGroupId));
     }
@@ -0,0 +1,52 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+
+/**
+ * Token bucket limiting retries to a share of first attempts, plus a small steady
+ * allowance, so retries cannot multiply the load on NiFi while it is struggling
+ */
+class NiFiRetryBudget {
+
+    private final NiFiProperties.Gate settings;
+
+    private double balance;
+    private long refilledAt = System.nanoTime();
+
+    NiFiRetryBudget(NiFiProperties.Gate settings) {
+        this.settings = settings;
+        this.balance = settings.getRetryBudgetMax();
+    }
+
+    /**
+     * Credit the budget for a first attempt
+     */
+    synchronized void onRequest() {
+        refill();
+        balance = Math.min(settings.getRetryBudgetMax(), balance + settings.getRetryBudgetRatio());
+    }
+
+    /**
+     * Withdraw one retry
+     *
+     * @return false when the budget is exhausted and the retry must not be sent
+     */
+    synchronized boolean tryRetry() {
+        refill();
+        if (balance < 1) return false;
+        balance--;
+        return true;
+    }
+
+    synchronized double getBalance() {
+        refill();
+        return balance;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - refilledAt) / 1_000_000_000.0;
+        refilledAt = now;
+        balance = Math.min(settings.getRetryBudgetMax(), balance + elapsedSeconds * settings.getRetryBudgetMinPerSecond());
+    }
+}
@@ -0,0 +1,107 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.dto.ProcessGroupTree;
+import com.sensys.sse_engine.dto.ProcessGroupTreeNode;
+import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
+import com.sensys.sse_engine.dto.ScatterGatherResult;
+import com.sensys.sse_engine.dto.TargetResult;
+import com.sensys.sse_engine.dto.enums.TargetOutcome;
+import com.sensys.sse_engine.dto.enums.TreeFetchMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Sends a query to every NiFi target in parallel and gathers the answers. Each target has
+ * its own time limit; targets that fail or time out are reported next to the results of
+ * the others instead of failing the whole query.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NiFiScatterGatherService {
+
+    /** NiFi alias of the root process group of an instance */
+    private static final String ROOT_GROUP = "root";
+
+    private final NiFiTargetRegistry targetRegistry;
+    private final NiFiProperties nifiProperties;
+
+    /**
+     * Get the processors of every target, optionally only those with a run status
+     *
+     * @param runStatus Run status to match, e.g. Stopped, or null for all processors
+     * @return Mono containing the processors per target
+     */
+    public Mono<ScatterGatherResult<ProcessorStatusSnapshot>> findProcessors(String runStatus) {
+        return scatter(target -> target.getTreeService().getProcessGroupTree(ROOT_GROUP, TreeFetchMode.RECURSIVE)
+            .flatMapIterable(ProcessGroupTree::getProcessors)
+            .filter(processor -> runStatus == null || runStatus.equalsIgnoreCase(processor.getRunStatus())));
+    }
+
+    /**
+     * Get the subtree totals of the root process group of every target
+     *
+     * @return Mono containing one root node per target
+     */
+    public Mono<ScatterGatherResult<ProcessGroupTreeNode>> getRootTotals() {
+        return scatter(target -> target.getTreeService().getSubtreeTotals(ROOT_GROUP, TreeFetchMode.RECURSIVE, 0)
+            .flatMapIterable(Function.identity()));
+    }
+
+    /**
+     * Run a query against every target in parallel
+     *
+     * @param query Query to run against one target
+     * @return Mono containing the result of each target, in registry order
+     */
+    public <T> Mono<ScatterGatherResult<T>> scatter(Function<NiFiTarget, Flux<T>> query) {
+        Duration timeout = Duration.ofMillis(nifiProperties.getScatterTimeout());
+        return Flux.fromIterable(targetRegistry.getTargets())
+            .flatMapSequential(target -> queryTarget(target, query, timeout))
+            .collectList()
+            .map(results -> ScatterGatherResult.<T>builder()
+                .complete(results.stream().allMatch(result -> result.getOutcome() == TargetOutcome.OK))
+                .itemCount(results.stream().mapToInt(result -> result.getItems().size()).sum())
+                .targets(results)
+                .build());
+    }
+
+    private <T> Mono<TargetResult<T>> queryTarget(NiFiTarget target, Function<NiFiTarget, Flux<T>> query,
+                                                 Duration timeout) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return Flux.defer(() -> query.apply(target))
+                .collectList()
+                .timeout(timeout)
+                .map(items -> result(target, TargetOutcome.OK, items, null, startedAt))
+                .onErrorResume(error -> {
+                    TargetOutcome outcome = error instanceof TimeoutException
+                        ? TargetOutcome.TIMED_OUT
+                        : TargetOutcome.FAILED;
+                    log.warn("Query to NiFi target {} {}: {}", target.getName(),
+                        outcome == TargetOutcome.TIMED_OUT ? "timed out" : "failed", error.getMessage());
+                    return Mono.just(result(target, outcome, List.of(), error.getMessage(), startedAt));
+                });
+        });
+    }
+
+    private static <T> TargetResult<T> result(NiFiTarget target, TargetOutcome outcome, List<T> items,
+                                              String error, long startedAt) {
+        return TargetResult.<T>builder()
+            .target(target.getName())
+            .outcome(outcome)
+            .error(error)
+            .elapsedMillis((System.nanoTime() - startedAt) / 1_000_000)
+            .items(items)
+            .build();
+    }
+}
@@ -1,51 +1,52 @@
 package com.sensys.sse_engine.services;
 
+import com.sensys.sse_engine.dto.enums.NiFiBulkhead;
 import com.sensys.sse_engine.exception.NiFiClientException;
 import com.sensys.sse_engine.exception.NiFiServerException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.nifi.web.api.entity.ProcessGroupEntity;
 import org.apache.nifi.web.api.entity.ProcessorEntity;
 import org.apache.nifi.web.api.entity.ScheduleComponentsEntity;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
 import java.time.Duration;
-import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
 public class NiFiService {
     private final WebClient nifiWebClient;
+    private final NiFiRequestCoalescer requestCoalescer;
+    private final NiFiCallGate callGate;
 
     public enum ComponentState {
         RUNNING, STOPPED
     }
 
-    public NiFiService(WebClient nifiWebClient) {
+    public NiFiService(WebClient nifiWebClient, NiFiRequestCoalescer requestCoalescer, NiFiCallGate callGate) {
         this.nifiWebClient = nifiWebClient;
+        this.requestCoalescer = requestCoalescer;
+        this.callGate = callGate;
     }
 
     public Mono<ProcessGroupEntity> getProcessGroup(String processGroupId) {
         log.debug("Getting process group with ID: {}", processGroupId);
-        return nifiWebClient.get()
-                .uri("/nifi-api/process-groups/{id}", processGroupId)
-                .accept(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError(), 
-                    response -> handleClientError(response, "Failed to get process group: " + processGroupId))
-                .onStatus(status -> status.is5xxServerError(), 
-                    response -> handleServerError(response, "NiFi server error while getting process group"))
-                .bodyToMono(ProcessGroupEntity.class)
-                .doOnError(error -> log.error("Error getting process group {}: {}", 
-                    processGroupId, error.getMessage()))
-                .timeout(Duration.ofSeconds(30))
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
-                    .filter(this::shouldRetry));
+        return requestCoalescer.execute(NiFiRequestCoalescer.key("/nifi-api/process-groups/{id}", processGroupId), () ->
+                callGate.execute(NiFiBulkhead.COMPONENTS, () -> nifiWebClient.get()
+                    .uri("/nifi-api/process-groups/{id}", processGroupId)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .retrieve()
+                    .onStatus(status -> status.is4xxClientError(), 
+                        response -> handleClientError(response, "Failed to get process group: " + processGroupId))
+                    .onStatus(status -> status.is5xxServerError(), 
+                        response -> handleServerError(response, "NiFi server error while getting process group"))
+                    .bodyToMono(ProcessGroupEntity.class)
+                    .doOnError(error -> log.error("Error getting process group {}: {}", 
+                        processGroupId, error.getMessage()))
+                    .timeout(Duration.ofSeconds(30))));
     }
 
     public Mono<ProcessGroupEntity> startProcessGroup(String processGroupId) {
@@ -63,7 +64,7 @@ public class NiFiService {
         scheduleComponents.setState(state.toString());
         scheduleComponents.setId(processGroupId);
 
-        return nifiWebClient.put()
+        return callGate.execute(NiFiBulkhead.OPERATIONS, () -> nifiWebClient.put()
                 .uri("/nifi-api/process-groups/{id}/run-status", processGroupId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(Mono.just(scheduleComponents), ScheduleComponentsEntity.class)
@@ -75,27 +76,24 @@ public class NiFiService {
                 .bodyToMono(ProcessGroupEntity.class)
                 .doOnError(error -> log.error("Error updating process group {} state to {}: {}", 
                     processGroupId, state, error.getMessage()))
-                .timeout(Duration.ofSeconds(30))
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
-                    .filter(this::shouldRetry));
+                .timeout(Duration.ofSeconds(30)));
     }
 
     public Mono<ProcessorEntity> getProcessor(String processorId) {
         log.debug("Getting processor with ID: {}", processorId);
-        return nifiWebClient.get()
-                .uri("/nifi-api/processors/{id}", processorId)
-                .accept(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError(), 
-                    response -> handleClientError(response, "Failed to get processor: " + processorId))
-                .onStatus(status -> status.is5xxServerError(), 
-                    response -> handleServerError(response, "NiFi server error while getting processor"))
-                .bodyToMono(ProcessorEntity.class)
-                .doOnError(error -> log.error("Error getting processor {}: {}", 
-                    processorId, error.getMessage()))
-                .timeout(Duration.ofSeconds(30))
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
-                    .filter(this::shouldRetry));
+        return requestCoalescer.execute(NiFiRequestCoalescer.key("/nifi-api/processors/{id}", processorId), () ->
+                callGate.execute(NiFiBulkhead.COMPONENTS, () -> nifiWebClient.get()
+                    .uri("/nifi-api/processors/{id}", processorId)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .retrieve()
+                    .onStatus(status -> status.is4xxClientError(), 
+                        response -> handleClientError(response, "Failed to get processor: " + processorId))
+                    .onStatus(status -> status.is5xxServerError(), 
+                        response -> handleServerError(response, "NiFi server error while getting processor"))
+                    .bodyToMono(ProcessorEntity.class)
+                    .doOnError(error -> log.error("Error getting processor {}: {}", 
+                        processorId, error.getMessage()))
+                    .timeout(Duration.ofSeconds(30))));
     }
 
     private Mono<? extends Throwable> handleClientError(ClientResponse response, String message) {
@@ -109,11 +107,4 @@ public class NiFiService {
                 .flatMap(errorBody -> Mono.error(new NiFiServerException(
                         message + " Status: " + response.statusCode() + " Body: " + errorBody)));
     }
-
-    private boolean shouldRetry(Throwable throwable) {
-        return throwable instanceof TimeoutException ||
-                throwable instanceof NiFiServerException ||
-                (throwable instanceof NiFiClientException &&
-                        ((NiFiClientException) throwable).getStatusCode() == HttpStatus.TOO_MANY_REQUESTS);
-    }
 }
\ No newline at end of file
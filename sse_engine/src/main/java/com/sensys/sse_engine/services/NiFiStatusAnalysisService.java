@@ -1,14 +1,19 @@
 package com.sensys.sse_engine.services;
 
+import com.sensys.sse_engine.config.NiFiProperties;
 import com.sensys.sse_engine.dto.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Slf4j
@@ -16,46 +21,166 @@ import java.util.stream.Collectors;
 public class NiFiStatusAnalysisService {
     
     private final NiFiStatusService nifiStatusService;
+    private final NiFiProperties nifiProperties;
     private static final double BYTES_TO_KB = 1024.0;
     private static final double BYTES_TO_MB = 1024.0 * 1024.0;
-    private static final DecimalFormat df = new DecimalFormat("#,##0.00");
+    private static final ThreadLocal<DecimalFormat> DECIMAL_FORMAT =
+        ThreadLocal.withInitial(() -> new DecimalFormat("#,##0.00"));
+    private final ProcessGroupRateTracker rateTracker = new ProcessGroupRateTracker();
+    private final ConcurrentMap<AnalysisStreamKey, Flux<ProcessGroupAnalysis>> analysisStreams = new ConcurrentHashMap<>();
+
+    private record AnalysisStreamKey(String processGroupId, int interval) {
+    }
+
+    /**
+     * What a stream subscriber sees change: queue depths, processor states and the window
+     * counters. Rates derived from them are left out, as queue growth moves with the time
+     * between polls even when NiFi reported nothing new.
+     */
+    private record AnalysisChangeKey(List<QueueConnectionInfo> queueConnections,
+                                     List<ProcessorStateInfo> stoppedProcessors,
+                                     List<ProcessorStateInfo> notRunningProcessors,
+                                     List<ProcessorTransferInfo> processorTransfers,
+                                     TransferMetrics groupTotalTransfer) {
+
+        static AnalysisChangeKey of(ProcessGroupAnalysis analysis) {
+            return new AnalysisChangeKey(analysis.getQueueConnections(), analysis.getStoppedProcessors(),
+                analysis.getNotRunningProcessors(), analysis.getProcessorTransfers(), analysis.getGroupTotalTransfer());
+        }
+    }
 
     /**
      * Analyzes a process group to extract queue information, processor states and transfer metrics
      */
     public Mono<ProcessGroupAnalysis> analyzeProcessGroupStatus(String processGroupId) {
         return nifiStatusService.getProcessGroupStatus(processGroupId)
-            .map(this::extractProcessGroupAnalysis)
+            .map(status -> extractProcessGroupAnalysis(status, ProcessGroupRateTracker.REQUEST_SERIES))
             .doOnSuccess(analysis -> logAnalysisResults(analysis))
             .doOnError(error -> log.error("Error analyzing process group {}: {}", 
                 processGroupId, error.getMessage()));
     }
 
     /**
-     * Extracts comprehensive analysis from process group status
+     * Streams analysis of a process group computed from the shared status poll. Subscribers
+     * to the same group and interval share one analysis pipeline, and an analysis is only
+     * emitted when its queues, processor states or counters changed.
+     *
+     * @param processGroupId ID of the process group
+     * @param interval Polling interval in seconds
+     * @return Flux of process group analyses
      */
-    private ProcessGroupAnalysis extractProcessGroupAnalysis(ProcessGroupStatus status) {
-        ProcessGroupSnapshot snapshot = status.getAggregateSnapshot();
-        
-        return ProcessGroupAnalysis.builder()
-            .processGroupId(status.getId())
-            .processGroupName(status.getName())
-            .queueConnections(extractQueueConnections(snapshot))
-            .stoppedProcessors(extractStoppedProcessors(snapshot))
-            .notRunningProcessors(extractNonRunningProcessors(snapshot))
-            .processorTransfers(extractProcessorTransfers(snapshot))
-            .groupTotalTransfer(calculateGroupTotalTransfers(snapshot))
-            .build();
+    public Flux<ProcessGroupAnalysis> streamProcessGroupAnalysis(String processGroupId, int interval) {
+        return analysisStreams.computeIfAbsent(new AnalysisStreamKey(processGroupId, interval), this::createAnalysisStream);
+    }
+
+    private Flux<ProcessGroupAnalysis> createAnalysisStream(AnalysisStreamKey key) {
+        AtomicReference<Flux<ProcessGroupAnalysis>> shared = new AtomicReference<>();
+        Flux<ProcessGroupAnalysis> stream = nifiStatusService.streamProcessGroupStatus(key.processGroupId(), key.interval())
+            .map(status -> extractProcessGroupAnalysis(status, ProcessGroupRateTracker.streamSeries(key.interval())))
+            .distinctUntilChanged(AnalysisChangeKey::of)
+            .doOnSubscribe(subscription ->
+                log.debug("Starting analysis stream for process group: {}", key.processGroupId()))
+            .doFinally(signal -> {
+                // A newer stream may already be registered under the key once this one ended
+                analysisStreams.remove(key, shared.get());
+                log.debug("Analysis stream ended for process group: {} ({})", key.processGroupId(), signal);
+            })
+            .replay(1)
+            .refCount();
+        shared.set(stream);
+        return stream;
     }
 
     /**
-     * Extracts information about queued connections
+     * Breaks the status of a process group down per cluster node and reports hotspots
+     *
+     * @param processGroupId ID of the process group
+     * @param threshold Node share above which a component is a hotspot, null for the configured one
+     * @return Mono containing the per-node breakdown
      */
-    private List<QueueConnectionInfo> extractQueueConnections(ProcessGroupSnapshot snapshot) {
-        return snapshot.getConnectionStatusSnapshots().stream()
-            .filter(conn -> hasQueuedFlowFiles(conn.getConnectionStatusSnapshot()))
-            .map(this::createQueueConnectionInfo)
-            .collect(Collectors.toList());
+    public Mono<NodeStatusBreakdown> analyzeNodes(String processGroupId, Double threshold) {
+        double skewThreshold = skewThreshold(threshold);
+        return nifiStatusService.getNodewiseStatus(processGroupId)
+            .map(status -> NodeSkewAnalyzer.analyze(status, nifiProperties.getCluster(), skewThreshold))
+            .doOnSuccess(breakdown -> {
+                if (breakdown != null && !breakdown.getHotspots().isEmpty()) {
+                    log.debug("Process group {} has {} node hotspots", processGroupId, breakdown.getHotspots().size());
+                }
+            })
+            .doOnError(error -> log.error("Error analyzing nodes of process group {}: {}",
+                processGroupId, error.getMessage()));
+    }
+
+    /**
+     * Streams the per-node breakdown of a process group from a shared nodewise poll
+     *
+     * @param processGroupId ID of the process group
+     * @param interval Polling interval in seconds
+     * @param threshold Node share above which a component is a hotspot, null for the configured one
+     * @return Flux of per-node breakdowns
+     */
+    public Flux<NodeStatusBreakdown> streamNodeAnalysis(String processGroupId, int interval, Double threshold) {
+        double skewThreshold = skewThreshold(threshold);
+        return nifiStatusService.streamNodewiseStatus(processGroupId, interval)
+            .map(status -> NodeSkewAnalyzer.analyze(status, nifiProperties.getCluster(), skewThreshold));
+    }
+
+    private double skewThreshold(Double threshold) {
+        return threshold != null ? threshold : nifiProperties.getCluster().getSkewThreshold();
+    }
+
+    /**
+     * Extracts comprehensive analysis from process group status, including throughput
+     * rates, queue growth and Little's-law wait estimates once a previous snapshot exists.
+     * Processors and connections are each walked once, filling every section in the same loop.
+     *
+     * @param status Status to analyse
+     * @param series Sample history queue growth is measured against
+     */
+    ProcessGroupAnalysis extractProcessGroupAnalysis(ProcessGroupStatus status, String series) {
+        ProcessGroupSnapshot snapshot = status.getAggregateSnapshot();
+        List<ProcessorStatusEntity> processors = snapshot.getProcessorStatusSnapshots();
+        List<ConnectionStatusEntity> connections = snapshot.getConnectionStatusSnapshots();
+
+        ProcessGroupRateTracker.GroupRates rates =
+            rateTracker.begin(status.getId(), series, processors.size(), connections.size());
+
+        List<ProcessorStateInfo> stoppedProcessors = new ArrayList<>();
+        List<ProcessorStateInfo> notRunningProcessors = new ArrayList<>();
+        List<ProcessorTransferInfo> processorTransfers = new ArrayList<>(processors.size());
+        for (ProcessorStatusEntity entity : processors) {
+            ProcessorStatusSnapshot processor = entity.getProcessorStatusSnapshot();
+            String runStatus = processor.getRunStatus();
+            if ("STOPPED".equalsIgnoreCase(runStatus)) {
+                stoppedProcessors.add(createProcessorStateInfo(processor));
+            } else if (!"RUNNING".equalsIgnoreCase(runStatus)) {
+                notRunningProcessors.add(createProcessorStateInfo(processor));
+            }
+            processorTransfers.add(createProcessorTransferInfo(processor));
+            rates.addProcessor(processor);
+        }
+
+        List<QueueConnectionInfo> queueConnections = new ArrayList<>();
+        for (ConnectionStatusEntity entity : connections) {
+            ConnectionStatusSnapshot connection = entity.getConnectionStatusSnapshot();
+            if (hasQueuedFlowFiles(connection)) {
+                queueConnections.add(createQueueConnectionInfo(connection));
+            }
+            rates.addConnection(connection);
+        }
+
+        ProcessGroupAnalysis.ProcessGroupAnalysisBuilder analysis = ProcessGroupAnalysis.builder()
+            .processGroupId(status.getId())
+            .processGroupName(status.getName())
+            .queueConnections(queueConnections)
+            .stoppedProcessors(stoppedProcessors)
+            .notRunningProcessors(notRunningProcessors)
+            .processorTransfers(processorTransfers)
+            .groupTotalTransfer(calculateGroupTotalTransfers(snapshot));
+
+        // Queue growth compares against the previous snapshot of the same group and series
+        rates.applyTo(analysis, snapshot);
+        return analysis.build();
     }
 
     private boolean hasQueuedFlowFiles(ConnectionStatusSnapshot connectionSnapshot) {
@@ -63,8 +188,7 @@ public class NiFiStatusAnalysisService {
                connectionSnapshot.getFlowFilesQueued() > 0;
     }
 
-    private QueueConnectionInfo createQueueConnectionInfo(ConnectionStatusEntity connection) {
-        ConnectionStatusSnapshot snapshot = connection.getConnectionStatusSnapshot();
+    private QueueConnectionInfo createQueueConnectionInfo(ConnectionStatusSnapshot snapshot) {
         return QueueConnectionInfo.builder()
             .connectionId(snapshot.getId())
             .sourceProcessor(snapshot.getSourceName())
@@ -74,33 +198,6 @@ public class NiFiStatusAnalysisService {
             .build();
     }
 
-    /**
-     * Extracts information about stopped processors
-     */
-    private List<ProcessorStateInfo> extractStoppedProcessors(ProcessGroupSnapshot snapshot) {
-        return snapshot.getProcessorStatusSnapshots().stream()
-            .map(proc -> proc.getProcessorStatusSnapshot())
-            .filter(proc -> "STOPPED".equalsIgnoreCase(proc.getRunStatus()))
-            .map(this::createProcessorStateInfo)
-            .collect(Collectors.toList());
-    }
-
-    /**
-     * Extracts information about processors in non-running states (excluding STOPPED)
-     */
-    private List<ProcessorStateInfo> extractNonRunningProcessors(ProcessGroupSnapshot snapshot) {
-        return snapshot.getProcessorStatusSnapshots().stream()
-            .map(proc -> proc.getProcessorStatusSnapshot())
-            .filter(proc -> !isProcessorRunning(proc))
-            .filter(proc -> !"STOPPED".equalsIgnoreCase(proc.getRunStatus()))
-            .map(this::createProcessorStateInfo)
-            .collect(Collectors.toList());
-    }
-
-    private boolean isProcessorRunning(ProcessorStatusSnapshot processor) {
-        return "RUNNING".equalsIgnoreCase(processor.getRunStatus());
-    }
-
     private ProcessorStateInfo createProcessorStateInfo(ProcessorStatusSnapshot processor) {
         return ProcessorStateInfo.builder()
             .processorId(processor.getId())
@@ -110,15 +207,6 @@ public class NiFiStatusAnalysisService {
             .build();
     }
 
-    /**
-     * Extracts transfer metrics for all processors
-     */
-    private List<ProcessorTransferInfo> extractProcessorTransfers(ProcessGroupSnapshot snapshot) {
-        return snapshot.getProcessorStatusSnapshots().stream()
-            .map(proc -> createProcessorTransferInfo(proc.getProcessorStatusSnapshot()))
-            .collect(Collectors.toList());
-    }
-
      /**
      * Creates processor timing information with human-readable format
      */
@@ -146,34 +234,36 @@ public class NiFiStatusAnalysisService {
         if (ms < 1000) return ms + " ms";
         
         long seconds = ms / 1000;
-        if (seconds < 60) return df.format(seconds) + " seconds";
+        if (seconds < 60) return formatDecimal(seconds) + " seconds";
         
         long minutes = seconds / 60;
         seconds = seconds % 60;
         if (minutes < 60) {
-            return String.format("%d minutes %d seconds", minutes, seconds);
+            return minutes + " minutes " + seconds + " seconds";
         }
         
         long hours = minutes / 60;
         minutes = minutes % 60;
-        return String.format("%d hours %d minutes", hours, minutes);
+        return hours + " hours " + minutes + " minutes";
     }
-    
 
+    /**
+     * Formats with the shared "#,##0.00" pattern; DecimalFormat is not thread-safe,
+     * so each thread reuses its own instance
+     */
+    private static String formatDecimal(double value) {
+        return DECIMAL_FORMAT.get().format(value);
+    }
 
     private ProcessorTransferInfo createProcessorTransferInfo(ProcessorStatusSnapshot processor) {
         return ProcessorTransferInfo.builder()
-                .processorId(processor.getId())
-                .processorName(processor.getName())
-                .processorType(processor.getType())
-                .input(createTransferMetrics(
-                        processor.getFlowFilesIn(),
-                        processor.getBytesIn()))
-                .output(createTransferMetrics(
-                        processor.getFlowFilesOut(),
-                        processor.getBytesOut()))
-                .timing(createProcessorTimingInfo(processor))
-                .build();
+            .processorId(processor.getId())
+            .processorName(processor.getName())
+            .processorType(processor.getType())
+            .input(createTransferMetrics(processor.getFlowFilesIn(), processor.getBytesIn()))
+            .output(createTransferMetrics(processor.getFlowFilesOut(), processor.getBytesOut()))
+            .timing(createProcessorTimingInfo(processor))
+            .build();
     }
 
     /**
@@ -197,7 +287,7 @@ public class NiFiStatusAnalysisService {
                 .flowFileCount(flowFiles)
                 .size(kbSize)
                 .sizeUnit("KB")
-                .formattedSize(df.format(kbSize) + " KB")
+                .formattedSize(formatDecimal(kbSize) + " KB")
                 .build();
         }
         else { // 1MB or greater
@@ -206,7 +296,7 @@ public class NiFiStatusAnalysisService {
                 .flowFileCount(flowFiles)
                 .size(mbSize)
                 .sizeUnit("MB")
-                .formattedSize(df.format(mbSize) + " MB")
+                .formattedSize(formatDecimal(mbSize) + " MB")
                 .build();
         }
     }
@@ -247,6 +337,13 @@ public class NiFiStatusAnalysisService {
             analysis.getGroupTotalTransfer().getFlowFileCount(),
             analysis.getGroupTotalTransfer().getFormattedSize());
 
+        if (analysis.getRateWindowSeconds() != null) {
+            log.info("Throughput over {}s: {} flow files/s in, {} flow files/s out", 
+                formatDecimal(analysis.getRateWindowSeconds()),
+                formatDecimal(analysis.getFlowFilesInPerSecond()),
+                formatDecimal(analysis.getFlowFilesOutPerSecond()));
+        }
+
         // Log details of queued connections
         analysis.getQueueConnections().forEach(queue -> 
             log.debug("Queued connection: {} -> {}: {} files, {}", 
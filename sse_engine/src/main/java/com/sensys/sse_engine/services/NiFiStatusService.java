@@ -1,16 +1,25 @@
 package com.sensys.sse_engine.services;
 
+import com.sensys.sse_engine.dto.ConnectionStatusEntity;
 import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.ProcessorStatusEntity;
 import com.sensys.sse_engine.dto.StatusResponse;
+import com.sensys.sse_engine.dto.StatusStreamStats;
+import com.sensys.sse_engine.dto.enums.NiFiBulkhead;
+import com.sensys.sse_engine.exception.NiFiUnavailableException;
+import com.sensys.sse_engine.helper.JsonArrayStreamDecoder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -18,20 +27,34 @@ import java.time.Duration;
 public class NiFiStatusService {
     
     private final WebClient nifiWebClient;
+    private final NiFiRequestCoalescer requestCoalescer;
+    private final NiFiCallGate callGate;
+    private final ProcessGroupHistoryService historyService;
+    private final JsonArrayStreamDecoder streamDecoder;
+    private final ProcessGroupStatusHub statusHub = new ProcessGroupStatusHub("status", this::getProcessGroupStatus);
+    private final ProcessGroupStatusHub nodewiseHub = new ProcessGroupStatusHub("nodewise", this::getNodewiseStatus);
+    private final ConcurrentMap<String, ProcessGroupStatus> lastKnownStatus = new ConcurrentHashMap<>();
 
     /**
-     * Get detailed status for a process group
+     * Get detailed status for a process group. While NiFi status calls are rejected by the
+     * call gate the last status fetched for the group is served instead.
      *
      * @param processGroupId ID of the process group
      * @return Mono containing process group status
      */
     public Mono<ProcessGroupStatus> getProcessGroupStatus(String processGroupId) {
-        return nifiWebClient.get()
-            .uri("/nifi-api/flow/process-groups/{id}/status", processGroupId)
-            .retrieve()
-            .bodyToMono(StatusResponse.class)
-            .map(StatusResponse::getProcessGroupStatus)
-            .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+        String uri = "/nifi-api/flow/process-groups/{id}/status";
+        return requestCoalescer.execute(NiFiRequestCoalescer.key(uri, processGroupId), () ->
+                callGate.execute(NiFiBulkhead.STATUS, () -> nifiWebClient.get()
+                        .uri(uri, processGroupId)
+                        .retrieve()
+                        .bodyToMono(StatusResponse.class)
+                        .map(StatusResponse::getProcessGroupStatus))
+                    .doOnNext(status -> {
+                        lastKnownStatus.put(processGroupId, status);
+                        historyService.record(status);
+                    })
+                    .onErrorResume(NiFiUnavailableException.class, error -> lastKnownStatus(processGroupId, error)))
             .doOnError(error -> log.error("Failed to fetch status for process group {}: {}", 
                 processGroupId, error.getMessage()))
             .doOnSuccess(status -> {
@@ -43,15 +66,80 @@ public class NiFiStatusService {
     }
 
     /**
-     * Stream status updates for a process group
+     * Get the status of a process group with a snapshot per cluster node. Nodewise statuses
+     * are not recorded in the history, which tracks the cluster aggregate.
+     *
+     * @param processGroupId ID of the process group
+     * @return Mono containing process group status with node snapshots
+     */
+    public Mono<ProcessGroupStatus> getNodewiseStatus(String processGroupId) {
+        String uri = "/nifi-api/flow/process-groups/{id}/status?nodewise=true";
+        return requestCoalescer.execute(NiFiRequestCoalescer.key(uri, processGroupId), () ->
+                callGate.execute(NiFiBulkhead.STATUS, () -> nifiWebClient.get()
+                    .uri(uri, processGroupId)
+                    .retrieve()
+                    .bodyToMono(StatusResponse.class)
+                    .map(StatusResponse::getProcessGroupStatus)))
+            .doOnError(error -> log.error("Failed to fetch nodewise status for process group {}: {}",
+                processGroupId, error.getMessage()));
+    }
+
+    private Mono<ProcessGroupStatus> lastKnownStatus(String processGroupId, NiFiUnavailableException error) {
+        ProcessGroupStatus status = lastKnownStatus.get(processGroupId);
+        if (status == null) {
+            return Mono.error(error);
+        }
+        log.debug("Serving last known status for process group {}: {}", processGroupId, error.getMessage());
+        return Mono.just(status);
+    }
+
+    /**
+     * Stream the processor statuses of a process group as they are decoded from the
+     * NiFi response, without buffering the whole status document
+     *
+     * @param processGroupId ID of the process group
+     * @param recursive Include processors of nested process groups
+     * @return Flux of processor status entities
+     */
+    public Flux<ProcessorStatusEntity> streamProcessorStatuses(String processGroupId, boolean recursive) {
+        return streamDecoder.decodeEvery(fetchStatusBody(processGroupId, recursive),
+                "processorStatusSnapshots", ProcessorStatusEntity.class)
+            .doOnError(error -> log.error("Failed to stream processor statuses for process group {}: {}",
+                processGroupId, error.getMessage()));
+    }
+
+    /**
+     * Stream the connection statuses of a process group as they are decoded from the
+     * NiFi response, without buffering the whole status document
+     *
+     * @param processGroupId ID of the process group
+     * @param recursive Include connections of nested process groups
+     * @return Flux of connection status entities
+     */
+    public Flux<ConnectionStatusEntity> streamConnectionStatuses(String processGroupId, boolean recursive) {
+        return streamDecoder.decodeEvery(fetchStatusBody(processGroupId, recursive),
+                "connectionStatusSnapshots", ConnectionStatusEntity.class)
+            .doOnError(error -> log.error("Failed to stream connection statuses for process group {}: {}",
+                processGroupId, error.getMessage()));
+    }
+
+    private Flux<DataBuffer> fetchStatusBody(String processGroupId, boolean recursive) {
+        return callGate.executeMany(NiFiBulkhead.STATUS, () -> nifiWebClient.get()
+            .uri("/nifi-api/flow/process-groups/{id}/status?recursive={recursive}", processGroupId, recursive)
+            .retrieve()
+            .bodyToFlux(DataBuffer.class));
+    }
+
+    /**
+     * Stream status updates for a process group. Subscribers to the same group and
+     * interval share a single poll and receive the latest snapshot on subscribe.
      *
      * @param processGroupId ID of the process group
      * @param interval Polling interval in seconds
      * @return Flux of process group status updates
      */
     public Flux<ProcessGroupStatus> streamProcessGroupStatus(String processGroupId, int interval) {
-        return Flux.interval(Duration.ZERO, Duration.ofSeconds(interval))
-            .flatMap(tick -> getProcessGroupStatus(processGroupId))
+        return statusHub.subscribe(processGroupId, interval)
             .doOnSubscribe(subscription -> 
                 log.debug("Starting status stream for process group: {}", processGroupId))
             .doOnCancel(() -> 
@@ -59,4 +147,28 @@ public class NiFiStatusService {
             .doOnComplete(() -> 
                 log.debug("Status stream completed for process group: {}", processGroupId));
     }
+
+    /**
+     * Stream nodewise status updates for a process group, shared like the aggregate stream
+     *
+     * @param processGroupId ID of the process group
+     * @param interval Polling interval in seconds
+     * @return Flux of process group statuses with node snapshots
+     */
+    public Flux<ProcessGroupStatus> streamNodewiseStatus(String processGroupId, int interval) {
+        return nodewiseHub.subscribe(processGroupId, interval)
+            .doOnSubscribe(subscription ->
+                log.debug("Starting nodewise status stream for process group: {}", processGroupId))
+            .doOnCancel(() ->
+                log.debug("Nodewise status stream cancelled for process group: {}", processGroupId));
+    }
+
+    /**
+     * Get subscriber and poll counters of the active status streams
+     *
+     * @return List of stream statistics, one per shared poller
+     */
+    public List<StatusStreamStats> getStreamStats() {
+        return Stream.concat(statusHub.getStats().stream(), nodewiseHub.getStats().stream()).toList();
+    }
 }
\ No newline at end of file
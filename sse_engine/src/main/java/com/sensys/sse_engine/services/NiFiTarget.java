@@ -0,0 +1,42 @@
+package com.sensys.sse_engine.services;
+
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * A NiFi instance together with the services bound to it. Every target has its own
+ * WebClient, connection pool, token, call gate, caches and status streams.
+ */
+@Getter
+public final class NiFiTarget {
+
+    private final String name;
+    private final String url;
+    private final WebClient webClient;
+    private final NiFiCallGate callGate;
+    private final NiFiRequestCoalescer requestCoalescer;
+    private final ProcessGroupHistoryService historyService;
+    private final NiFiResourceService resourceService;
+    private final NiFiStatusService statusService;
+    private final NiFiStatusAnalysisService analysisService;
+    private final ProcessGroupTreeService treeService;
+    private final NiFiOperationsService operationsService;
+
+    NiFiTarget(String name, String url, WebClient webClient, NiFiCallGate callGate,
+               NiFiRequestCoalescer requestCoalescer, ProcessGroupHistoryService historyService,
+               NiFiResourceService resourceService, NiFiStatusService statusService,
+               NiFiStatusAnalysisService analysisService, ProcessGroupTreeService treeService,
+               NiFiOperationsService operationsService) {
+        this.name = name;
+        this.url = url;
+        this.webClient = webClient;
+        this.callGate = callGate;
+        this.requestCoalescer = requestCoalescer;
+        this.historyService = historyService;
+        this.resourceService = resourceService;
+        this.statusService = statusService;
+        this.analysisService = analysisService;
+        this.treeService = treeService;
+        this.operationsService = operationsService;
+    }
+}
@@ -0,0 +1,109 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.config.NiFiWebClientFactory;
+import com.sensys.sse_engine.exception.UnknownNiFiTargetException;
+import com.sensys.sse_engine.helper.JsonArrayStreamDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import javax.net.ssl.SSLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named NiFi targets. The default target is served by the application's service beans;
+ * every target under nifi.targets gets its own instances of those services.
+ */
+@Service
+@Slf4j
+public class NiFiTargetRegistry {
+
+    private final Map<String, NiFiTarget> targets = new LinkedHashMap<>();
+    private final List<NiFiResourceService> startedResourceServices = new ArrayList<>();
+
+    public NiFiTargetRegistry(NiFiProperties nifiProperties, NiFiWebClientFactory webClientFactory,
+                              JsonArrayStreamDecoder streamDecoder, MeterRegistry meterRegistry,
+                              WebClient nifiWebClient, NiFiCallGate callGate, NiFiRequestCoalescer requestCoalescer,
+                              ProcessGroupHistoryService historyService, NiFiResourceService resourceService,
+                              NiFiStatusService statusService, NiFiStatusAnalysisService analysisService,
+                              ProcessGroupTreeService treeService, NiFiOperationsService operationsService) {
+        targets.put(NiFiWebClientFactory.DEFAULT_TARGET, new NiFiTarget(NiFiWebClientFactory.DEFAULT_TARGET,
+            nifiProperties.getUrl(), nifiWebClient, callGate, requestCoalescer, historyService,
+            resourceService, statusService, analysisService, treeService, operationsService));
+
+        nifiProperties.getTargets().forEach((name, target) -> {
+            if (targets.containsKey(name)) {
+                throw new IllegalStateException("NiFi target name '" + name + "' is reserved for nifi.url");
+            }
+            targets.put(name, createTarget(name, target, nifiProperties, webClientFactory, streamDecoder, meterRegistry));
+            log.info("Registered NiFi target {} at {}", name, target.getUrl());
+        });
+    }
+
+    private NiFiTarget createTarget(String name, NiFiProperties.Target target, NiFiProperties nifiProperties,
+                                    NiFiWebClientFactory webClientFactory, JsonArrayStreamDecoder streamDecoder,
+                                    MeterRegistry meterRegistry) {
+        WebClient webClient;
+        try {
+            // Tokens of further targets are fetched on first use, so an unreachable
+            // instance does not keep the application from starting
+            webClient = webClientFactory.create(name, target, false);
+        } catch (SSLException e) {
+            throw new IllegalStateException("Failed to configure SSL for NiFi target " + name, e);
+        }
+        NiFiCallGate callGate = new NiFiCallGate(name, nifiProperties, meterRegistry);
+        NiFiRequestCoalescer requestCoalescer = new NiFiRequestCoalescer();
+        ProcessGroupHistoryService historyService = new ProcessGroupHistoryService(nifiProperties);
+        NiFiResourceService resourceService = new NiFiResourceService(webClient, nifiProperties, streamDecoder, callGate);
+        NiFiStatusService statusService = new NiFiStatusService(webClient, requestCoalescer, callGate,
+            historyService, streamDecoder);
+
+        resourceService.startBackgroundRefresh();
+        startedResourceServices.add(resourceService);
+
+        return new NiFiTarget(name, target.getUrl(), webClient, callGate, requestCoalescer, historyService,
+            resourceService, statusService, new NiFiStatusAnalysisService(statusService, nifiProperties),
+            new ProcessGroupTreeService(webClient, requestCoalescer, callGate, nifiProperties),
+            new NiFiOperationsService(webClient, callGate));
+    }
+
+    @PreDestroy
+    void stopTargets() {
+        startedResourceServices.forEach(NiFiResourceService::stopBackgroundRefresh);
+    }
+
+    /**
+     * Get a target by name
+     *
+     * @param name Name of the target, the default target when null or blank
+     * @return The target
+     * @throws UnknownNiFiTargetException when no target has the name
+     */
+    public NiFiTarget get(String name) {
+        if (name == null || name.isBlank()) {
+            return targets.get(NiFiWebClientFactory.DEFAULT_TARGET);
+        }
+        NiFiTarget target = targets.get(name.trim());
+        if (target == null) {
+            throw new UnknownNiFiTargetException(name.trim());
+        }
+        return target;
+    }
+
+    /**
+     * Get all targets, the default target first
+     *
+     * @return Unmodifiable collection of targets
+     */
+    public Collection<NiFiTarget> getTargets() {
+        return Collections.unmodifiableCollection(targets.values());
+    }
+}
@@ -0,0 +1,205 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.dto.ConnectionStatusEntity;
+import com.sensys.sse_engine.dto.ConnectionStatusSnapshot;
+import com.sensys.sse_engine.dto.NodeLoad;
+import com.sensys.sse_engine.dto.NodeSkew;
+import com.sensys.sse_engine.dto.NodeStatusBreakdown;
+import com.sensys.sse_engine.dto.NodeStatusSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.ProcessorStatusEntity;
+import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
+import com.sensys.sse_engine.dto.enums.NodeSkewMetric;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Breaks a nodewise process group status down per cluster node and reports components
+ * whose queue, threads or throughput sit mostly on one node
+ */
+final class NodeSkewAnalyzer {
+
+    private final NiFiProperties.Cluster settings;
+    private final double threshold;
+    private final List<NodeStatusSnapshot> nodes;
+    private final List<NodeSkew> hotspots = new ArrayList<>();
+
+    /**
+     * Per-node values of one component metric, indexed like the node list
+     */
+    private static final class Series {
+        private final String name;
+        private final long[] values;
+
+        Series(String name, int nodeCount) {
+            this.name = name;
+            this.values = new long[nodeCount];
+        }
+    }
+
+    private NodeSkewAnalyzer(NiFiProperties.Cluster settings, double threshold, List<NodeStatusSnapshot> nodes) {
+        this.settings = settings;
+        this.threshold = threshold;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Break a status down per node
+     *
+     * @param status Status fetched with nodewise=true
+     * @param settings Minimum totals worth checking
+     * @param threshold Node share above which a component is a hotspot
+     * @return Per-node loads and hotspots, empty when the status has no node snapshots
+     */
+    static NodeStatusBreakdown analyze(ProcessGroupStatus status, NiFiProperties.Cluster settings, double threshold) {
+        List<NodeStatusSnapshot> nodes = new ArrayList<>();
+        if (status.getNodeSnapshots() != null) {
+            for (NodeStatusSnapshot node : status.getNodeSnapshots()) {
+                if (node != null && node.getStatusSnapshot() != null) {
+                    nodes.add(node);
+                }
+            }
+        }
+        NodeSkewAnalyzer analyzer = new NodeSkewAnalyzer(settings, threshold, nodes);
+        List<NodeLoad> loads = analyzer.nodeLoads();
+        // A single node always carries everything
+        if (nodes.size() > 1) {
+            analyzer.checkGroup();
+            analyzer.checkConnections();
+            analyzer.checkProcessors();
+        }
+        analyzer.hotspots.sort(Comparator.comparingDouble(NodeSkew::getShare).reversed());
+
+        return NodeStatusBreakdown.builder()
+            .processGroupId(status.getId())
+            .processGroupName(status.getName())
+            .statsLastRefreshed(status.getStatsLastRefreshed())
+            .nodeCount(nodes.size())
+            .skewThreshold(threshold)
+            .nodes(loads)
+            .hotspots(analyzer.hotspots)
+            .build();
+    }
+
+    private List<NodeLoad> nodeLoads() {
+        long totalQueued = 0;
+        long totalThreads = 0;
+        long totalOut = 0;
+        for (NodeStatusSnapshot node : nodes) {
+            ProcessGroupSnapshot snapshot = node.getStatusSnapshot();
+            totalQueued += value(snapshot.getFlowFilesQueued());
+            totalThreads += value(snapshot.getActiveThreadCount());
+            totalOut += value(snapshot.getFlowFilesOut());
+        }
+
+        List<NodeLoad> loads = new ArrayList<>(nodes.size());
+        for (NodeStatusSnapshot node : nodes) {
+            ProcessGroupSnapshot snapshot = node.getStatusSnapshot();
+            loads.add(NodeLoad.builder()
+                .nodeId(node.getNodeId())
+                .address(node.getAddress())
+                .flowFilesIn(value(snapshot.getFlowFilesIn()))
+                .bytesIn(value(snapshot.getBytesIn()))
+                .flowFilesOut(value(snapshot.getFlowFilesOut()))
+                .bytesOut(value(snapshot.getBytesOut()))
+                .activeThreadCount((int) value(snapshot.getActiveThreadCount()))
+                .flowFilesQueued(value(snapshot.getFlowFilesQueued()))
+                .bytesQueued(value(snapshot.getBytesQueued()))
+                .queuedShare(share(value(snapshot.getFlowFilesQueued()), totalQueued))
+                .threadShare(share(value(snapshot.getActiveThreadCount()), totalThreads))
+                .throughputShare(share(value(snapshot.getFlowFilesOut()), totalOut))
+                .build());
+        }
+        return loads;
+    }
+
+    private void checkGroup() {
+        Series queued = new Series(null, nodes.size());
+        Series threads = new Series(null, nodes.size());
+        Series out = new Series(null, nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            ProcessGroupSnapshot snapshot = nodes.get(i).getStatusSnapshot();
+            queued.values[i] = value(snapshot.getFlowFilesQueued());
+            threads.values[i] = value(snapshot.getActiveThreadCount());
+            out.values[i] = value(snapshot.getFlowFilesOut());
+        }
+        String groupId = nodes.get(0).getStatusSnapshot().getId();
+        check(NodeSkewMetric.GROUP_QUEUE, groupId, queued, settings.getSkewMinFlowFiles());
+        check(NodeSkewMetric.GROUP_THREADS, groupId, threads, settings.getSkewMinThreads());
+        check(NodeSkewMetric.GROUP_THROUGHPUT, groupId, out, settings.getSkewMinFlowFiles());
+    }
+
+    private void checkConnections() {
+        Map<String, Series> queued = new LinkedHashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            List<ConnectionStatusEntity> connections = nodes.get(i).getStatusSnapshot().getConnectionStatusSnapshots();
+            if (connections == null) continue;
+            for (ConnectionStatusEntity entity : connections) {
+                ConnectionStatusSnapshot connection = entity.getConnectionStatusSnapshot();
+                if (connection == null || connection.getId() == null) continue;
+                queued.computeIfAbsent(connection.getId(), id -> new Series(connection.getName(), nodes.size()))
+                    .values[i] = value(connection.getFlowFilesQueued());
+            }
+        }
+        queued.forEach((id, series) -> check(NodeSkewMetric.CONNECTION_QUEUE, id, series, settings.getSkewMinFlowFiles()));
+    }
+
+    private void checkProcessors() {
+        Map<String, Series> threads = new LinkedHashMap<>();
+        Map<String, Series> out = new LinkedHashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            List<ProcessorStatusEntity> processors = nodes.get(i).getStatusSnapshot().getProcessorStatusSnapshots();
+            if (processors == null) continue;
+            for (ProcessorStatusEntity entity : processors) {
+                ProcessorStatusSnapshot processor = entity.getProcessorStatusSnapshot();
+                if (processor == null || processor.getId() == null) continue;
+                threads.computeIfAbsent(processor.getId(), id -> new Series(processor.getName(), nodes.size()))
+                    .values[i] = value(processor.getActiveThreadCount());
+                out.computeIfAbsent(processor.getId(), id -> new Series(processor.getName(), nodes.size()))
+                    .values[i] = value(processor.getFlowFilesOut());
+            }
+        }
+        threads.forEach((id, series) -> check(NodeSkewMetric.PROCESSOR_THREADS, id, series, settings.getSkewMinThreads()));
+        out.forEach((id, series) -> check(NodeSkewMetric.PROCESSOR_THROUGHPUT, id, series, settings.getSkewMinFlowFiles()));
+    }
+
+    private void check(NodeSkewMetric metric, String componentId, Series series, long minimumTotal) {
+        long total = 0;
+        for (long value : series.values) {
+            total += value;
+        }
+        if (total <= 0 || total < minimumTotal) return;
+
+        for (int i = 0; i < series.values.length; i++) {
+            double share = share(series.values[i], total);
+            if (share > threshold) {
+                NodeStatusSnapshot node = nodes.get(i);
+                hotspots.add(NodeSkew.builder()
+                    .metric(metric)
+                    .componentId(componentId)
+                    .componentName(series.name != null ? series.name : node.getStatusSnapshot().getName())
+                    .nodeId(node.getNodeId())
+                    .address(node.getAddress())
+                    .nodeValue(series.values[i])
+                    .clusterValue(total)
+                    .share(share)
+                    .expectedShare(1.0 / nodes.size())
+                    .build());
+            }
+        }
+    }
+
+    private static double share(long value, long total) {
+        return total > 0 ? (double) value / total : 0;
+    }
+
+    private static long value(Number number) {
+        return number != null ? number.longValue() : 0;
+    }
+}
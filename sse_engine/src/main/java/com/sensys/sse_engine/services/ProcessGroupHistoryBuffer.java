@@ -0,0 +1,507 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.dto.ConnectionStatusEntity;
+import com.sensys.sse_engine.dto.ConnectionStatusSnapshot;
+import com.sensys.sse_engine.dto.HistoryMemoryStats;
+import com.sensys.sse_engine.dto.ProcessGroupSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.ProcessorStatusEntity;
+import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
+import com.sensys.sse_engine.dto.StatusHistory;
+import com.sensys.sse_engine.dto.enums.HistoryDownsampling;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Fixed-capacity, columnar ring buffer of the numeric counters of one process group.
+ * Every component is interned to an index and owns one primitive column block;
+ * counts are stored as ints, bytes and nanos as longs. No DTOs are retained.
+ */
+@Slf4j
+class ProcessGroupHistoryBuffer {
+
+    static final int MISSING_INT = Integer.MIN_VALUE;
+    static final long MISSING_LONG = Long.MIN_VALUE;
+
+    private static final MetricLayout<ProcessGroupSnapshot> GROUP_LAYOUT = new MetricLayout<>(GroupMetric.values());
+    private static final MetricLayout<ProcessorStatusSnapshot> PROCESSOR_LAYOUT = new MetricLayout<>(ProcessorMetric.values());
+    private static final MetricLayout<ConnectionStatusSnapshot> CONNECTION_LAYOUT = new MetricLayout<>(ConnectionMetric.values());
+
+    private final String processGroupId;
+    private final int capacity;
+    private final int maxComponents;
+    private final long[] timestamps;
+    private final MetricColumns<ProcessGroupSnapshot> groupColumns;
+    private final ComponentTable<ProcessorStatusSnapshot> processors;
+    private final ComponentTable<ConnectionStatusSnapshot> connections;
+    private String processGroupName;
+    private long writeCount;
+    private volatile long lastWriteAt;
+
+    ProcessGroupHistoryBuffer(String processGroupId, int capacity, int maxComponents) {
+        this.processGroupId = processGroupId;
+        this.capacity = capacity;
+        this.maxComponents = maxComponents;
+        this.timestamps = new long[capacity];
+        this.groupColumns = new MetricColumns<>(GROUP_LAYOUT, capacity);
+        this.processors = new ComponentTable<>(PROCESSOR_LAYOUT, capacity, maxComponents);
+        this.connections = new ComponentTable<>(CONNECTION_LAYOUT, capacity, maxComponents);
+    }
+
+    long getLastWriteAt() {
+        return lastWriteAt;
+    }
+
+    /**
+     * Appends one tick, overwriting the oldest slot once the buffer is full
+     */
+    synchronized void record(long timestamp, ProcessGroupStatus status) {
+        ProcessGroupSnapshot snapshot = status.getAggregateSnapshot();
+        if (snapshot == null) return;
+
+        int slot = (int) (writeCount % capacity);
+        timestamps[slot] = timestamp;
+        processGroupName = status.getName();
+        groupColumns.write(slot, snapshot);
+
+        long tick = writeCount;
+        for (ProcessorStatusEntity entity : snapshot.getProcessorStatusSnapshots()) {
+            ProcessorStatusSnapshot processor = entity.getProcessorStatusSnapshot();
+            if (processor != null) {
+                processors.write(tick, slot, processor.getId(), processor.getName(), processor);
+            }
+        }
+        processors.markAbsent(tick, slot);
+
+        for (ConnectionStatusEntity entity : snapshot.getConnectionStatusSnapshots()) {
+            ConnectionStatusSnapshot connection = entity.getConnectionStatusSnapshot();
+            if (connection != null) {
+                connections.write(tick, slot, connection.getId(), connection.getName(), connection);
+            }
+        }
+        connections.markAbsent(tick, slot);
+
+        writeCount++;
+        lastWriteAt = timestamp;
+    }
+
+    synchronized StatusHistory queryProcessGroup(long from, long to, long step, HistoryDownsampling mode) {
+        return collect(groupColumns, from, to, step, mode)
+            .processGroupId(processGroupId)
+            .componentId(processGroupId)
+            .componentName(processGroupName)
+            .componentType("PROCESS_GROUP")
+            .build();
+    }
+
+    synchronized StatusHistory queryProcessor(String processorId, long from, long to, long step, HistoryDownsampling mode) {
+        return queryComponent(processors, "PROCESSOR", processorId, from, to, step, mode);
+    }
+
+    synchronized StatusHistory queryConnection(String connectionId, long from, long to, long step, HistoryDownsampling mode) {
+        return queryComponent(connections, "CONNECTION", connectionId, from, to, step, mode);
+    }
+
+    private StatusHistory queryComponent(ComponentTable<?> table, String type, String componentId,
+                                         long from, long to, long step, HistoryDownsampling mode) {
+        Integer index = table.indexById.get(componentId);
+        if (index == null) return null;
+        return collect(table.columns[index], from, to, step, mode)
+            .processGroupId(processGroupId)
+            .componentId(componentId)
+            .componentName(table.names[index])
+            .componentType(type)
+            .build();
+    }
+
+    /**
+     * Walks the ring in chronological order, keeping samples within [from, to] and
+     * folding them into buckets of {@code step} millis (one bucket per sample when step is 0)
+     */
+    private StatusHistory.StatusHistoryBuilder collect(MetricColumns<?> columns, long from, long to,
+                                                       long step, HistoryDownsampling mode) {
+        List<? extends HistoryMetric<?>> metrics = columns.layout.metrics;
+        int metricCount = metrics.size();
+        List<Long> bucketTimes = new ArrayList<>();
+        List<List<Long>> values = new ArrayList<>(metricCount);
+        for (int m = 0; m < metricCount; m++) {
+            values.add(new ArrayList<>());
+        }
+
+        Bucket bucket = new Bucket(metricCount);
+        long first = Math.max(0, writeCount - capacity);
+        for (long i = first; i < writeCount; i++) {
+            int slot = (int) (i % capacity);
+            long timestamp = timestamps[slot];
+            if (timestamp < from || timestamp > to) continue;
+
+            long bucketStart = step > 0 ? timestamp - Math.floorMod(timestamp, step) : timestamp;
+            if (bucket.open && bucket.start != bucketStart) {
+                bucket.flush(mode, bucketTimes, values);
+            }
+            if (!bucket.open) {
+                bucket.reset(bucketStart);
+            }
+            for (int m = 0; m < metricCount; m++) {
+                long value = columns.read(m, slot);
+                if (value != MISSING_LONG) {
+                    bucket.add(m, value);
+                }
+            }
+        }
+        if (bucket.open) {
+            bucket.flush(mode, bucketTimes, values);
+        }
+
+        Map<String, List<Long>> series = new LinkedHashMap<>();
+        for (int m = 0; m < metricCount; m++) {
+            series.put(metrics.get(m).key(), values.get(m));
+        }
+
+        return StatusHistory.builder()
+            .from(from)
+            .to(to)
+            .stepMillis(step)
+            .downsampling(mode.name())
+            .timestamps(bucketTimes)
+            .series(series);
+    }
+
+    synchronized HistoryMemoryStats getMemoryStats() {
+        int slotsUsed = (int) Math.min(writeCount, capacity);
+        long bytesPerSlot = Long.BYTES
+            + GROUP_LAYOUT.bytesPerSlot()
+            + (long) processors.size * PROCESSOR_LAYOUT.bytesPerSlot()
+            + (long) connections.size * CONNECTION_LAYOUT.bytesPerSlot();
+        long maxBytesPerSlot = Long.BYTES
+            + GROUP_LAYOUT.bytesPerSlot()
+            + (long) maxComponents * (PROCESSOR_LAYOUT.bytesPerSlot() + CONNECTION_LAYOUT.bytesPerSlot());
+
+        long averageInterval = 0;
+        if (slotsUsed > 1) {
+            long newest = timestamps[(int) ((writeCount - 1) % capacity)];
+            long oldest = timestamps[(int) ((writeCount - slotsUsed) % capacity)];
+            averageInterval = (newest - oldest) / (slotsUsed - 1);
+        }
+        long slotsPerHour = averageInterval > 0 ? Math.min(capacity, 3_600_000L / averageInterval) : 0;
+
+        return HistoryMemoryStats.builder()
+            .processGroupId(processGroupId)
+            .capacity(capacity)
+            .slotsUsed(slotsUsed)
+            .processorCount(processors.size)
+            .connectionCount(connections.size)
+            .maxComponents(maxComponents)
+            .bytesPerSlot(bytesPerSlot)
+            .retainedBytes(bytesPerSlot * capacity)
+            .maxRetainedBytes(maxBytesPerSlot * capacity)
+            .averageIntervalMillis(averageInterval)
+            .estimatedBytesPerHour(bytesPerSlot * slotsPerHour)
+            .build();
+    }
+
+    /**
+     * Per-bucket accumulator for every metric of a series
+     */
+    private static final class Bucket {
+        private final long[] sum;
+        private final long[] min;
+        private final long[] max;
+        private final long[] last;
+        private final int[] count;
+        private long start;
+        private boolean open;
+
+        private Bucket(int metricCount) {
+            sum = new long[metricCount];
+            min = new long[metricCount];
+            max = new long[metricCount];
+            last = new long[metricCount];
+            count = new int[metricCount];
+        }
+
+        private void reset(long bucketStart) {
+            start = bucketStart;
+            open = true;
+            Arrays.fill(sum, 0L);
+            Arrays.fill(min, Long.MAX_VALUE);
+            Arrays.fill(max, Long.MIN_VALUE);
+            Arrays.fill(count, 0);
+        }
+
+        private void add(int metric, long value) {
+            sum[metric] += value;
+            min[metric] = Math.min(min[metric], value);
+            max[metric] = Math.max(max[metric], value);
+            last[metric] = value;
+            count[metric]++;
+        }
+
+        private void flush(HistoryDownsampling mode, List<Long> bucketTimes, List<List<Long>> values) {
+            bucketTimes.add(start);
+            for (int m = 0; m < count.length; m++) {
+                Long value = null;
+                if (count[m] > 0) {
+                    value = switch (mode) {
+                        case LAST -> last[m];
+                        case AVG -> sum[m] / count[m];
+                        case MIN -> min[m];
+                        case MAX -> max[m];
+                    };
+                }
+                values.get(m).add(value);
+            }
+            open = false;
+        }
+    }
+
+    /**
+     * Interns component IDs to indexes and keeps one column block per component
+     */
+    private static final class ComponentTable<T> {
+        private final MetricLayout<T> layout;
+        private final int capacity;
+        private final int maxComponents;
+        private final Map<String, Integer> indexById = new HashMap<>();
+        private String[] names = new String[16];
+        private long[] lastTick = new long[16];
+        @SuppressWarnings("unchecked")
+        private MetricColumns<T>[] columns = new MetricColumns[16];
+        private int size;
+        private boolean overflowLogged;
+
+        private ComponentTable(MetricLayout<T> layout, int capacity, int maxComponents) {
+            this.layout = layout;
+            this.capacity = capacity;
+            this.maxComponents = maxComponents;
+        }
+
+        private void write(long tick, int slot, String id, String name, T source) {
+            if (id == null) return;
+            int index = intern(id);
+            if (index < 0) return;
+            names[index] = name;
+            lastTick[index] = tick;
+            columns[index].write(slot, source);
+        }
+
+        /**
+         * Components missing from this tick get explicit gaps instead of stale values from the previous lap
+         */
+        private void markAbsent(long tick, int slot) {
+            for (int i = 0; i < size; i++) {
+                if (lastTick[i] != tick) {
+                    columns[i].writeMissing(slot);
+                }
+            }
+        }
+
+        private int intern(String id) {
+            Integer existing = indexById.get(id);
+            if (existing != null) return existing;
+            if (size >= maxComponents) {
+                if (!overflowLogged) {
+                    log.warn("History component limit of {} reached, further components are not recorded", maxComponents);
+                    overflowLogged = true;
+                }
+                return -1;
+            }
+            if (size == columns.length) {
+                int grown = Math.min(maxComponents, size * 2);
+                names = Arrays.copyOf(names, grown);
+                lastTick = Arrays.copyOf(lastTick, grown);
+                columns = Arrays.copyOf(columns, grown);
+            }
+            int index = size++;
+            columns[index] = new MetricColumns<>(layout, capacity);
+            indexById.put(id, index);
+            return index;
+        }
+    }
+
+    /**
+     * Primitive column storage of one entity: value of metric column {@code c} at slot {@code s}
+     * lives at {@code c * capacity + s} in the int or long array depending on the metric width
+     */
+    private static final class MetricColumns<T> {
+        private final MetricLayout<T> layout;
+        private final int capacity;
+        private final int[] ints;
+        private final long[] longs;
+
+        private MetricColumns(MetricLayout<T> layout, int capacity) {
+            this.layout = layout;
+            this.capacity = capacity;
+            this.ints = new int[layout.intColumns * capacity];
+            this.longs = new long[layout.longColumns * capacity];
+            Arrays.fill(ints, MISSING_INT);
+            Arrays.fill(longs, MISSING_LONG);
+        }
+
+        private void write(int slot, T source) {
+            List<HistoryMetric<T>> metrics = layout.metrics;
+            for (int m = 0; m < metrics.size(); m++) {
+                HistoryMetric<T> metric = metrics.get(m);
+                Number value = metric.reader().apply(source);
+                int offset = layout.columns[m] * capacity + slot;
+                if (metric.wide()) {
+                    longs[offset] = value != null ? value.longValue() : MISSING_LONG;
+                } else {
+                    ints[offset] = value != null ? value.intValue() : MISSING_INT;
+                }
+            }
+        }
+
+        private void writeMissing(int slot) {
+            for (int m = 0; m < layout.metrics.size(); m++) {
+                int offset = layout.columns[m] * capacity + slot;
+                if (layout.metrics.get(m).wide()) {
+                    longs[offset] = MISSING_LONG;
+                } else {
+                    ints[offset] = MISSING_INT;
+                }
+            }
+        }
+
+        private long read(int metric, int slot) {
+            int offset = layout.columns[metric] * capacity + slot;
+            if (layout.metrics.get(metric).wide()) {
+                return longs[offset];
+            }
+            int value = ints[offset];
+            return value == MISSING_INT ? MISSING_LONG : value;
+        }
+    }
+
+    /**
+     * Maps each metric to its column within the int or long array
+     */
+    private static final class MetricLayout<T> {
+        private final List<HistoryMetric<T>> metrics;
+        private final int[] columns;
+        private final int intColumns;
+        private final int longColumns;
+
+        @SafeVarargs
+        private MetricLayout(HistoryMetric<T>... metrics) {
+            this.metrics = List.of(metrics);
+            this.columns = new int[metrics.length];
+            int ints = 0;
+            int longs = 0;
+            for (int m = 0; m < metrics.length; m++) {
+                columns[m] = metrics[m].wide() ? longs++ : ints++;
+            }
+            this.intColumns = ints;
+            this.longColumns = longs;
+        }
+
+        private int bytesPerSlot() {
+            return intColumns * Integer.BYTES + longColumns * Long.BYTES;
+        }
+    }
+
+    interface HistoryMetric<T> {
+        String key();
+
+        boolean wide();
+
+        Function<T, Number> reader();
+    }
+
+    enum GroupMetric implements HistoryMetric<ProcessGroupSnapshot> {
+        FLOW_FILES_IN("flowFilesIn", false, ProcessGroupSnapshot::getFlowFilesIn),
+        BYTES_IN("bytesIn", true, ProcessGroupSnapshot::getBytesIn),
+        FLOW_FILES_OUT("flowFilesOut", false, ProcessGroupSnapshot::getFlowFilesOut),
+        BYTES_OUT("bytesOut", true, ProcessGroupSnapshot::getBytesOut),
+        FLOW_FILES_QUEUED("flowFilesQueued", false, ProcessGroupSnapshot::getFlowFilesQueued),
+        BYTES_QUEUED("bytesQueued", true, ProcessGroupSnapshot::getBytesQueued),
+        BYTES_READ("bytesRead", true, ProcessGroupSnapshot::getBytesRead),
+        BYTES_WRITTEN("bytesWritten", true, ProcessGroupSnapshot::getBytesWritten),
+        FLOW_FILES_TRANSFERRED("flowFilesTransferred", false, ProcessGroupSnapshot::getFlowFilesTransferred),
+        BYTES_TRANSFERRED("bytesTransferred", true, ProcessGroupSnapshot::getBytesTransferred),
+        FLOW_FILES_RECEIVED("flowFilesReceived", false, ProcessGroupSnapshot::getFlowFilesReceived),
+        BYTES_RECEIVED("bytesReceived", true, ProcessGroupSnapshot::getBytesReceived),
+        FLOW_FILES_SENT("flowFilesSent", false, ProcessGroupSnapshot::getFlowFilesSent),
+        BYTES_SENT("bytesSent", true, ProcessGroupSnapshot::getBytesSent),
+        ACTIVE_THREAD_COUNT("activeThreadCount", false, ProcessGroupSnapshot::getActiveThreadCount),
+        PROCESSING_NANOS("processingNanos", true, ProcessGroupSnapshot::getProcessingNanos);
+
+        private final String key;
+        private final boolean wide;
+        private final Function<ProcessGroupSnapshot, Number> reader;
+
+        GroupMetric(String key, boolean wide, Function<ProcessGroupSnapshot, Number> reader) {
+            this.key = key;
+            this.wide = wide;
+            this.reader = reader;
+        }
+
+        public String key() { return key; }
+
+        public boolean wide() { return wide; }
+
+        public Function<ProcessGroupSnapshot, Number> reader() { return reader; }
+    }
+
+    enum ProcessorMetric implements HistoryMetric<ProcessorStatusSnapshot> {
+        FLOW_FILES_IN("flowFilesIn", false, ProcessorStatusSnapshot::getFlowFilesIn),
+        BYTES_IN("bytesIn", true, ProcessorStatusSnapshot::getBytesIn),
+        FLOW_FILES_OUT("flowFilesOut", false, ProcessorStatusSnapshot::getFlowFilesOut),
+        BYTES_OUT("bytesOut", true, ProcessorStatusSnapshot::getBytesOut),
+        BYTES_READ("bytesRead", true, ProcessorStatusSnapshot::getBytesRead),
+        BYTES_WRITTEN("bytesWritten", true, ProcessorStatusSnapshot::getBytesWritten),
+        TASK_COUNT("taskCount", false, ProcessorStatusSnapshot::getTaskCount),
+        TASKS_DURATION_NANOS("tasksDurationNanos", true, ProcessorStatusSnapshot::getTasksDurationNanos),
+        ACTIVE_THREAD_COUNT("activeThreadCount", false, ProcessorStatusSnapshot::getActiveThreadCount);
+
+        private final String key;
+        private final boolean wide;
+        private final Function<ProcessorStatusSnapshot, Number> reader;
+
+        ProcessorMetric(String key, boolean wide, Function<ProcessorStatusSnapshot, Number> reader) {
+            this.key = key;
+            this.wide = wide;
+            this.reader = reader;
+        }
+
+        public String key() { return key; }
+
+        public boolean wide() { return wide; }
+
+        public Function<ProcessorStatusSnapshot, Number> reader() { return reader; }
+    }
+
+    enum ConnectionMetric implements HistoryMetric<ConnectionStatusSnapshot> {
+        FLOW_FILES_IN("flowFilesIn", false, ConnectionStatusSnapshot::getFlowFilesIn),
+        BYTES_IN("bytesIn", true, ConnectionStatusSnapshot::getBytesIn),
+        FLOW_FILES_OUT("flowFilesOut", false, ConnectionStatusSnapshot::getFlowFilesOut),
+        BYTES_OUT("bytesOut", true, ConnectionStatusSnapshot::getBytesOut),
+        FLOW_FILES_QUEUED("flowFilesQueued", false, ConnectionStatusSnapshot::getFlowFilesQueued),
+        BYTES_QUEUED("bytesQueued", true, ConnectionStatusSnapshot::getBytesQueued),
+        PERCENT_USE_COUNT("percentUseCount", false, ConnectionStatusSnapshot::getPercentUseCount),
+        PERCENT_USE_BYTES("percentUseBytes", false, ConnectionStatusSnapshot::getPercentUseBytes);
+
+        private final String key;
+        private final boolean wide;
+        private final Function<ConnectionStatusSnapshot, Number> reader;
+
+        ConnectionMetric(String key, boolean wide, Function<ConnectionStatusSnapshot, Number> reader) {
+            this.key = key;
+            this.wide = wide;
+            this.reader = reader;
+        }
+
+        public String key() { return key; }
+
+        public boolean wide() { return wide; }
+
+        public Function<ConnectionStatusSnapshot, Number> reader() { return reader; }
+    }
+}
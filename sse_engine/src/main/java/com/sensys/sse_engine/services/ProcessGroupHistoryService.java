@@ -0,0 +1,98 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.dto.HistoryMemoryStats;
+import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.StatusHistory;
+import com.sensys.sse_engine.dto.enums.HistoryDownsampling;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProcessGroupHistoryService {
+
+    private final NiFiProperties nifiProperties;
+    private final ConcurrentMap<String, ProcessGroupHistoryBuffer> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * Record the counters of a polled process group status
+     *
+     * @param status Status returned by NiFi
+     */
+    public void record(ProcessGroupStatus status) {
+        if (status == null || status.getId() == null) return;
+
+        ProcessGroupHistoryBuffer buffer = buffers.get(status.getId());
+        if (buffer == null) {
+            evictIfFull();
+            buffer = buffers.computeIfAbsent(status.getId(), id -> new ProcessGroupHistoryBuffer(
+                id, nifiProperties.getHistoryCapacity(), nifiProperties.getHistoryMaxComponents()));
+        }
+        buffer.record(System.currentTimeMillis(), status);
+    }
+
+    /**
+     * Evicts the least recently written group once the group limit is reached
+     */
+    private void evictIfFull() {
+        if (buffers.size() < nifiProperties.getHistoryMaxGroups()) return;
+        buffers.entrySet().stream()
+            .min(Comparator.comparingLong(entry -> entry.getValue().getLastWriteAt()))
+            .ifPresent(entry -> {
+                log.debug("Evicting status history of process group: {}", entry.getKey());
+                buffers.remove(entry.getKey(), entry.getValue());
+            });
+    }
+
+    /**
+     * Get the aggregate counter history of a process group
+     *
+     * @param processGroupId ID of the process group
+     * @param from Start of the range, epoch millis
+     * @param to End of the range, epoch millis
+     * @param step Bucket width in millis, 0 for raw samples
+     * @param mode How samples within a bucket are combined
+     * @return History of the process group, empty if nothing was recorded
+     */
+    public Optional<StatusHistory> getProcessGroupHistory(String processGroupId, long from, long to,
+                                                          long step, HistoryDownsampling mode) {
+        return Optional.ofNullable(buffers.get(processGroupId))
+            .map(buffer -> buffer.queryProcessGroup(from, to, step, mode));
+    }
+
+    /**
+     * Get the counter history of a processor within a process group
+     */
+    public Optional<StatusHistory> getProcessorHistory(String processGroupId, String processorId, long from,
+                                                       long to, long step, HistoryDownsampling mode) {
+        return Optional.ofNullable(buffers.get(processGroupId))
+            .map(buffer -> buffer.queryProcessor(processorId, from, to, step, mode));
+    }
+
+    /**
+     * Get the counter history of a connection within a process group
+     */
+    public Optional<StatusHistory> getConnectionHistory(String processGroupId, String connectionId, long from,
+                                                        long to, long step, HistoryDownsampling mode) {
+        return Optional.ofNullable(buffers.get(processGroupId))
+            .map(buffer -> buffer.queryConnection(connectionId, from, to, step, mode));
+    }
+
+    /**
+     * Get memory usage of the recorded history, one entry per process group
+     */
+    public List<HistoryMemoryStats> getMemoryStats() {
+        return buffers.values().stream()
+            .map(ProcessGroupHistoryBuffer::getMemoryStats)
+            .toList();
+    }
+}
@@ -0,0 +1,224 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.dto.ConnectionRateInfo;
+import com.sensys.sse_engine.dto.ConnectionStatusSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupAnalysis;
+import com.sensys.sse_engine.dto.ProcessGroupSnapshot;
+import com.sensys.sse_engine.dto.ProcessorRateInfo;
+import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Derives throughput, processor utilisation, queue growth and Little's-law wait estimates
+ * for process group analyses.
+ *
+ * <p>NiFi reports flowFilesIn/Out, bytesIn/Out and tasksDurationNanos as totals over a
+ * rolling five minute window, not as cumulative counters, so throughput is the window
+ * total over the window length. Only the queue gauges (queued count and bytes) are
+ * compared against an earlier sample, which is kept per series: one-shot requests and
+ * each stream interval sample at their own pace and keep their own history.
+ *
+ * <p>Rates are filled through {@link GroupRates} while the analysis walks the snapshot,
+ * so processors and connections are not walked again.
+ */
+class ProcessGroupRateTracker {
+
+    /** Length of the rolling window NiFi's flow counters cover */
+    static final double STATS_WINDOW_SECONDS = 300.0;
+
+    /** Series name of one-shot analysis requests */
+    static final String REQUEST_SERIES = "request";
+
+    /**
+     * Samples closer together than this are compared against the sample before them,
+     * so coalesced or back-to-back requests do not produce near-zero windows
+     */
+    private static final long MIN_GROWTH_WINDOW_MILLIS = 1000;
+
+    /** Series nobody sampled for this long are dropped */
+    private static final long IDLE_SERIES_MILLIS = 10 * 60 * 1000;
+
+    private static final long EVICTION_INTERVAL_MILLIS = 60 * 1000;
+
+    private static final int QUEUED = 0;
+    private static final int BYTES_QUEUED = 1;
+
+    private final ConcurrentMap<SeriesKey, QueueState> queueStates = new ConcurrentHashMap<>();
+    private final AtomicLong lastEviction = new AtomicLong();
+
+    private record SeriesKey(String processGroupId, String series) {
+    }
+
+    private record QueueSample(long takenAt, Map<String, long[]> connections) {
+    }
+
+    private record QueueState(QueueSample previous, QueueSample latest) {
+    }
+
+    /**
+     * Series name of a stream polling at the given interval
+     */
+    static String streamSeries(int interval) {
+        return "stream-" + interval;
+    }
+
+    /**
+     * Starts the rates of one poll of a process group. The caller feeds each processor and
+     * connection to the returned rates while walking the snapshot, then applies them.
+     *
+     * @param processGroupId ID of the process group
+     * @param series Sample history to compare queue gauges against
+     * @param processorCount Number of processors in the snapshot, to presize the results
+     * @param connectionCount Number of connections in the snapshot, to presize the results
+     * @return Rates to fill
+     */
+    GroupRates begin(String processGroupId, String series, int processorCount, int connectionCount) {
+        long now = System.currentTimeMillis();
+        evictIdleSeries(now);
+        SeriesKey key = processGroupId != null ? new SeriesKey(processGroupId, series) : null;
+        QueueState state = key != null ? queueStates.get(key) : null;
+        return new GroupRates(key, now, state != null ? baseOf(state, now) : null, processorCount, connectionCount);
+    }
+
+    /**
+     * Sample a new sample at the given time is compared against
+     */
+    private static QueueSample baseOf(QueueState state, long takenAt) {
+        return takenAt - state.latest().takenAt() < MIN_GROWTH_WINDOW_MILLIS ? state.previous() : state.latest();
+    }
+
+    /**
+     * Stores the sample as the latest of its series, unless it is too close to the latest one
+     */
+    private void record(SeriesKey key, QueueSample sample) {
+        queueStates.compute(key, (k, state) -> {
+            if (state == null) {
+                return new QueueState(null, sample);
+            }
+            if (sample.takenAt() - state.latest().takenAt() < MIN_GROWTH_WINDOW_MILLIS) {
+                return state;
+            }
+            return new QueueState(state.latest(), sample);
+        });
+    }
+
+    /**
+     * Drops the history of series nobody sampled for a while, at most once per interval
+     */
+    private void evictIdleSeries(long now) {
+        long last = lastEviction.get();
+        if (now - last < EVICTION_INTERVAL_MILLIS || !lastEviction.compareAndSet(last, now)) return;
+        queueStates.entrySet().removeIf(entry -> now - entry.getValue().latest().takenAt() > IDLE_SERIES_MILLIS);
+    }
+
+    /**
+     * Rates of one poll, filled per processor and connection in the caller's own loops
+     */
+    final class GroupRates {
+        private final SeriesKey key;
+        private final long takenAt;
+        private final QueueSample base;
+        private final Double elapsedSeconds;
+        private final Map<String, long[]> queues;
+        private final List<ProcessorRateInfo> processorRates;
+        private final List<ConnectionRateInfo> connectionRates;
+
+        private GroupRates(SeriesKey key, long takenAt, QueueSample base, int processorCount, int connectionCount) {
+            this.key = key;
+            this.takenAt = takenAt;
+            this.base = base;
+            this.elapsedSeconds = base != null ? (takenAt - base.takenAt()) / 1000.0 : null;
+            this.queues = new HashMap<>(capacityFor(connectionCount));
+            this.processorRates = new ArrayList<>(processorCount);
+            this.connectionRates = new ArrayList<>(connectionCount);
+        }
+
+        void addProcessor(ProcessorStatusSnapshot processor) {
+            if (processor.getId() == null) return;
+            processorRates.add(ProcessorRateInfo.builder()
+                .processorId(processor.getId())
+                .processorName(processor.getName())
+                .flowFilesInPerSecond(windowRate(processor.getFlowFilesIn()))
+                .flowFilesOutPerSecond(windowRate(processor.getFlowFilesOut()))
+                .bytesInPerSecond(windowRate(processor.getBytesIn()))
+                .bytesOutPerSecond(windowRate(processor.getBytesOut()))
+                .utilisation(windowRate(processor.getTasksDurationNanos()) / 1_000_000_000.0)
+                .build());
+        }
+
+        void addConnection(ConnectionStatusSnapshot connection) {
+            if (connection.getId() == null) return;
+            long queued = valueOf(connection.getFlowFilesQueued());
+            long bytesQueued = valueOf(connection.getBytesQueued());
+            queues.put(connection.getId(), new long[] {queued, bytesQueued});
+
+            long[] previous = base != null ? base.connections().get(connection.getId()) : null;
+            double outRate = windowRate(connection.getFlowFilesOut());
+            connectionRates.add(ConnectionRateInfo.builder()
+                .connectionId(connection.getId())
+                .sourceProcessor(connection.getSourceName())
+                .destinationProcessor(connection.getDestinationName())
+                .queuedCount((int) queued)
+                // Queue depth is a gauge, so its delta is meaningful even when negative
+                .queueGrowthPerSecond(previous != null ? (queued - previous[QUEUED]) / elapsedSeconds : null)
+                .queuedBytesGrowthPerSecond(previous != null
+                    ? (bytesQueued - previous[BYTES_QUEUED]) / elapsedSeconds
+                    : null)
+                .flowFilesOutPerSecond(outRate)
+                .estimatedWaitSeconds(estimateWaitSeconds(queued, outRate))
+                .build());
+        }
+
+        /**
+         * Sets the rate fields of the analysis and records the queue gauges as the latest
+         * sample of the series. Queue growth stays null until the series has an earlier sample.
+         *
+         * @param analysis Analysis to fill
+         * @param snapshot Aggregate snapshot of the group, for the group throughput
+         */
+        void applyTo(ProcessGroupAnalysis.ProcessGroupAnalysisBuilder analysis, ProcessGroupSnapshot snapshot) {
+            if (key != null) {
+                record(key, new QueueSample(takenAt, queues));
+            }
+            analysis
+                .rateWindowSeconds(STATS_WINDOW_SECONDS)
+                .queueGrowthWindowSeconds(elapsedSeconds)
+                .flowFilesInPerSecond(windowRate(snapshot.getFlowFilesIn()))
+                .flowFilesOutPerSecond(windowRate(snapshot.getFlowFilesOut()))
+                .bytesInPerSecond(windowRate(snapshot.getBytesIn()))
+                .bytesOutPerSecond(windowRate(snapshot.getBytesOut()))
+                .processorRates(processorRates)
+                .connectionRates(connectionRates);
+        }
+    }
+
+    /**
+     * Little's law, W = L / λ, with the queue depth as L and the drain rate as λ
+     */
+    private static Double estimateWaitSeconds(long queued, double outRate) {
+        if (queued == 0) return 0.0;
+        return outRate > 0 ? queued / outRate : null;
+    }
+
+    /**
+     * Average per second of a total over NiFi's rolling window
+     */
+    static double windowRate(Number windowTotal) {
+        return valueOf(windowTotal) / STATS_WINDOW_SECONDS;
+    }
+
+    private static long valueOf(Number value) {
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+}
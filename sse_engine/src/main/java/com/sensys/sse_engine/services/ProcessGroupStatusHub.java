@@ -0,0 +1,167 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.StatusStreamStats;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Shares one NiFi status poll per process group and interval between all stream subscribers.
+ * The latest snapshot is replayed to late subscribers and polling stops when the last one leaves.
+ * A polled status is only emitted when NiFi refreshed its statistics and the counter
+ * fingerprint changed.
+ */
+@Slf4j
+class ProcessGroupStatusHub {
+
+    private final String stream;
+    private final Function<String, Mono<ProcessGroupStatus>> statusFetcher;
+    private final ConcurrentMap<PollerKey, SharedPoller> pollers = new ConcurrentHashMap<>();
+
+    /**
+     * @param stream Name of the kind of status polled, reported in the stream statistics
+     * @param statusFetcher Fetches the status of a process group
+     */
+    ProcessGroupStatusHub(String stream, Function<String, Mono<ProcessGroupStatus>> statusFetcher) {
+        this.stream = stream;
+        this.statusFetcher = statusFetcher;
+    }
+
+    /**
+     * Subscribe to the shared status poll of a process group
+     *
+     * @param processGroupId ID of the process group
+     * @param interval Polling interval in seconds
+     * @return Flux of status updates, starting with the latest known snapshot
+     */
+    Flux<ProcessGroupStatus> subscribe(String processGroupId, int interval) {
+        PollerKey key = new PollerKey(processGroupId, interval);
+        return Flux.defer(() -> {
+            SharedPoller poller = acquire(key);
+            return poller.statusFlux
+                .doFinally(signal -> release(key, poller));
+        });
+    }
+
+    /**
+     * Snapshot of subscriber and poll counters for every active poller
+     */
+    List<StatusStreamStats> getStats() {
+        return pollers.values().stream()
+            .map(SharedPoller::toStats)
+            .toList();
+    }
+
+    private SharedPoller acquire(PollerKey key) {
+        return pollers.compute(key, (k, existing) -> {
+            SharedPoller poller = existing != null ? existing : new SharedPoller(k);
+            poller.subscribers.incrementAndGet();
+            return poller;
+        });
+    }
+
+    private void release(PollerKey key, SharedPoller poller) {
+        pollers.computeIfPresent(key, (k, existing) -> {
+            if (existing != poller) {
+                return existing;
+            }
+            return existing.subscribers.decrementAndGet() == 0 ? null : existing;
+        });
+    }
+
+    private record PollerKey(String processGroupId, int interval) {
+    }
+
+    private final class SharedPoller {
+        private final PollerKey key;
+        private final AtomicInteger subscribers = new AtomicInteger();
+        private final AtomicLong pollCount = new AtomicLong();
+        private final AtomicLong failedPollCount = new AtomicLong();
+        private final AtomicLong emittedCount = new AtomicLong();
+        private final AtomicLong suppressedCount = new AtomicLong();
+        private volatile Instant lastPollAt;
+        private volatile String lastStatsRefreshed;
+        private volatile long lastFingerprint;
+        private final Flux<ProcessGroupStatus> statusFlux;
+
+        private SharedPoller(PollerKey key) {
+            this.key = key;
+            // Ticks arriving while a poll is still in flight are dropped rather than queued
+            this.statusFlux = Flux.interval(Duration.ZERO, Duration.ofSeconds(key.interval()))
+                .onBackpressureDrop()
+                .flatMap(tick -> poll(), 1)
+                .filter(this::hasChanged)
+                .doOnSubscribe(subscription ->
+                    log.debug("Starting shared {} poller for process group: {} ({}s)",
+                        stream, key.processGroupId(), key.interval()))
+                .doOnCancel(() ->
+                    log.debug("Stopping shared {} poller for process group: {} ({}s)",
+                        stream, key.processGroupId(), key.interval()))
+                .replay(1)
+                .refCount();
+        }
+
+        private Mono<ProcessGroupStatus> poll() {
+            return statusFetcher.apply(key.processGroupId())
+                .doOnNext(status -> {
+                    pollCount.incrementAndGet();
+                    lastPollAt = Instant.now();
+                })
+                .onErrorResume(error -> {
+                    failedPollCount.incrementAndGet();
+                    log.warn("Status poll failed for process group {}: {}",
+                        key.processGroupId(), error.getMessage());
+                    return Mono.empty();
+                });
+        }
+
+        /**
+         * An unchanged statsLastRefreshed means NiFi has not recomputed its status, so the poll
+         * is dropped without fingerprinting. Once it moved, the fingerprint decides: NiFi
+         * refreshes on a timer, and a refresh with equal counters is dropped too. Polls run
+         * one at a time, so the previous values need no further synchronisation.
+         */
+        private boolean hasChanged(ProcessGroupStatus status) {
+            String statsRefreshed = status.getStatsLastRefreshed();
+            boolean first = emittedCount.get() == 0;
+            if (!first && statsRefreshed != null && statsRefreshed.equals(lastStatsRefreshed)) {
+                suppressedCount.incrementAndGet();
+                return false;
+            }
+            lastStatsRefreshed = statsRefreshed;
+
+            long fingerprint = StatusFingerprint.of(status);
+            if (!first && fingerprint == lastFingerprint) {
+                suppressedCount.incrementAndGet();
+                return false;
+            }
+            lastFingerprint = fingerprint;
+            emittedCount.incrementAndGet();
+            return true;
+        }
+
+        private StatusStreamStats toStats() {
+            return StatusStreamStats.builder()
+                .stream(stream)
+                .processGroupId(key.processGroupId())
+                .intervalSeconds(key.interval())
+                .subscriberCount(subscribers.get())
+                .pollCount(pollCount.get())
+                .failedPollCount(failedPollCount.get())
+                .emittedCount(emittedCount.get())
+                .suppressedCount(suppressedCount.get())
+                .lastPollAt(lastPollAt)
+                .build();
+        }
+    }
+}
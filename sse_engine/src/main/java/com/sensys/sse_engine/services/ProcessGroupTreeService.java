@@ -0,0 +1,276 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.dto.ConnectionStatusEntity;
+import com.sensys.sse_engine.dto.ConnectionStatusSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.ProcessGroupStatusEntity;
+import com.sensys.sse_engine.dto.ProcessGroupTree;
+import com.sensys.sse_engine.dto.ProcessGroupTreeNode;
+import com.sensys.sse_engine.dto.ProcessorStatusEntity;
+import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
+import com.sensys.sse_engine.dto.StatusResponse;
+import com.sensys.sse_engine.dto.SubtreeTotals;
+import com.sensys.sse_engine.dto.enums.NiFiBulkhead;
+import com.sensys.sse_engine.dto.enums.TreeFetchMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a flattened, indexed view of a process group and everything nested below it,
+ * either from one recursive status call or by fetching each group with bounded concurrency
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProcessGroupTreeService {
+
+    private static final String STATUS_URI = "/nifi-api/flow/process-groups/{id}/status?recursive={recursive}";
+
+    private final WebClient nifiWebClient;
+    private final NiFiRequestCoalescer requestCoalescer;
+    private final NiFiCallGate callGate;
+    private final NiFiProperties nifiProperties;
+
+    private record Level(ProcessGroupSnapshot snapshot, int depth) {
+    }
+
+    /**
+     * Get the status tree of a process group
+     *
+     * @param processGroupId ID of the root process group
+     * @param mode How the statuses are fetched from NiFi
+     * @return Mono containing the flattened tree
+     */
+    public Mono<ProcessGroupTree> getProcessGroupTree(String processGroupId, TreeFetchMode mode) {
+        Mono<ProcessGroupTree> tree = mode == TreeFetchMode.FAN_OUT
+            ? fetchFanOut(processGroupId)
+            : fetchRecursive(processGroupId);
+        return tree
+            .doOnError(error -> log.error("Failed to build status tree for process group {}: {}",
+                processGroupId, error.getMessage()))
+            .doOnSuccess(result -> {
+                if (result != null) {
+                    log.debug("Built status tree for process group {} with {} groups using {} NiFi calls",
+                        processGroupId, result.getGroups().size(), result.getNifiCalls());
+                }
+            });
+    }
+
+    /**
+     * Get the subtree totals of a process group and its descendants, without the
+     * processor and connection lists
+     *
+     * @param processGroupId ID of the root process group
+     * @param mode How the statuses are fetched from NiFi
+     * @param maxDepth Deepest level to return, 0 for the root only
+     * @return Mono containing the tree nodes in pre-order
+     */
+    public Mono<List<ProcessGroupTreeNode>> getSubtreeTotals(String processGroupId, TreeFetchMode mode, int maxDepth) {
+        return getProcessGroupTree(processGroupId, mode)
+            .map(tree -> tree.getGroups().stream()
+                .filter(node -> node.getDepth() <= maxDepth)
+                .toList());
+    }
+
+    private Mono<ProcessGroupTree> fetchRecursive(String processGroupId) {
+        return fetchStatus(processGroupId, true)
+            .map(status -> build(status, TreeFetchMode.RECURSIVE, 1, Collections.emptyMap()));
+    }
+
+    /**
+     * Fetches the root, then each level of child groups breadth first. The expansion runs
+     * one group's children at a time, so at most fan-out-concurrency calls are in flight.
+     */
+    private Mono<ProcessGroupTree> fetchFanOut(String processGroupId) {
+        NiFiProperties.Tree settings = nifiProperties.getTree();
+        return fetchStatus(processGroupId, false).flatMap(root -> Mono.just(new Level(root.getAggregateSnapshot(), 0))
+            .expand(level -> level.depth() >= settings.getMaxDepth()
+                ? Flux.empty()
+                : Flux.fromIterable(childSnapshots(level.snapshot()))
+                    .flatMap(child -> fetchStatus(child.getId(), false)
+                        .map(status -> new Level(status.getAggregateSnapshot(), level.depth() + 1)),
+                        settings.getFanOutConcurrency()))
+            .collectMap(level -> level.snapshot().getId(), Level::snapshot)
+            .map(fetched -> build(root, TreeFetchMode.FAN_OUT, fetched.size(), fetched)));
+    }
+
+    private Mono<ProcessGroupStatus> fetchStatus(String processGroupId, boolean recursive) {
+        return requestCoalescer.execute(NiFiRequestCoalescer.key(STATUS_URI, processGroupId, recursive), () ->
+            callGate.execute(NiFiBulkhead.STATUS, () -> nifiWebClient.get()
+                .uri(STATUS_URI, processGroupId, recursive)
+                .retrieve()
+                .bodyToMono(StatusResponse.class)
+                .map(StatusResponse::getProcessGroupStatus)));
+    }
+
+    private ProcessGroupTree build(ProcessGroupStatus root, TreeFetchMode mode, int nifiCalls,
+                                   Map<String, ProcessGroupSnapshot> fetched) {
+        TreeBuilder builder = new TreeBuilder(fetched, nifiProperties.getTree().getMaxDepth());
+        if (root.getAggregateSnapshot() != null) {
+            builder.visit(root.getAggregateSnapshot(), null, null, 0);
+        }
+        return ProcessGroupTree.builder()
+            .rootId(root.getId())
+            .rootName(root.getName())
+            .fetchMode(mode)
+            .nifiCalls(nifiCalls)
+            .truncated(builder.truncated)
+            .groups(builder.groups)
+            .processors(builder.processors)
+            .connections(builder.connections)
+            .groupIndex(builder.groupIndex)
+            .build();
+    }
+
+    private static List<ProcessGroupSnapshot> childSnapshots(ProcessGroupSnapshot snapshot) {
+        if (snapshot == null || snapshot.getProcessGroupStatusSnapshots() == null) {
+            return List.of();
+        }
+        List<ProcessGroupSnapshot> children = new ArrayList<>(snapshot.getProcessGroupStatusSnapshots().size());
+        for (ProcessGroupStatusEntity entity : snapshot.getProcessGroupStatusSnapshots()) {
+            if (entity.getProcessGroupStatusSnapshot() != null) {
+                children.add(entity.getProcessGroupStatusSnapshot());
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Walks the snapshots depth first, appending each group before its descendants so that
+     * every subtree occupies a contiguous range of the lists
+     */
+    private static final class TreeBuilder {
+        private final Map<String, ProcessGroupSnapshot> fetched;
+        private final int maxDepth;
+        private final List<ProcessGroupTreeNode> groups = new ArrayList<>();
+        private final List<ProcessorStatusSnapshot> processors = new ArrayList<>();
+        private final List<ConnectionStatusSnapshot> connections = new ArrayList<>();
+        private final Map<String, Integer> groupIndex = new HashMap<>();
+        private boolean truncated;
+
+        TreeBuilder(Map<String, ProcessGroupSnapshot> fetched, int maxDepth) {
+            this.fetched = fetched;
+            this.maxDepth = maxDepth;
+        }
+
+        SubtreeTotals visit(ProcessGroupSnapshot snapshot, Integer parentIndex, String parentId, int depth) {
+            // Fanned out groups carry their processors in their own status, not the parent's
+            ProcessGroupSnapshot group = fetched.getOrDefault(snapshot.getId(), snapshot);
+            int index = groups.size();
+            groups.add(null);
+            groupIndex.put(group.getId(), index);
+
+            SubtreeTotals totals = new SubtreeTotals();
+            totals.setGroupCount(1);
+
+            int processorStart = processors.size();
+            if (group.getProcessorStatusSnapshots() != null) {
+                for (ProcessorStatusEntity entity : group.getProcessorStatusSnapshots()) {
+                    if (entity.getProcessorStatusSnapshot() != null) {
+                        addProcessor(totals, entity.getProcessorStatusSnapshot());
+                    }
+                }
+            }
+            int processorEnd = processors.size();
+
+            int connectionStart = connections.size();
+            if (group.getConnectionStatusSnapshots() != null) {
+                for (ConnectionStatusEntity entity : group.getConnectionStatusSnapshots()) {
+                    if (entity.getConnectionStatusSnapshot() != null) {
+                        addConnection(totals, entity.getConnectionStatusSnapshot());
+                    }
+                }
+            }
+            int connectionEnd = connections.size();
+
+            int childCount = 0;
+            List<ProcessGroupSnapshot> children = childSnapshots(group);
+            if (depth >= maxDepth) {
+                truncated |= !children.isEmpty();
+            } else {
+                for (ProcessGroupSnapshot child : children) {
+                    if (groupIndex.containsKey(child.getId())) continue;
+                    add(totals, visit(child, index, group.getId(), depth + 1));
+                    childCount++;
+                }
+            }
+
+            groups.set(index, ProcessGroupTreeNode.builder()
+                .index(index)
+                .id(group.getId())
+                .name(group.getName())
+                .parentIndex(parentIndex)
+                .parentId(parentId)
+                .depth(depth)
+                .childCount(childCount)
+                .subtreeEnd(groups.size())
+                .processorStart(processorStart)
+                .processorEnd(processorEnd)
+                .subtreeProcessorEnd(processors.size())
+                .connectionStart(connectionStart)
+                .connectionEnd(connectionEnd)
+                .subtreeConnectionEnd(connections.size())
+                .flowFilesIn(group.getFlowFilesIn())
+                .bytesIn(group.getBytesIn())
+                .flowFilesOut(group.getFlowFilesOut())
+                .bytesOut(group.getBytesOut())
+                .totals(totals)
+                .build());
+            return totals;
+        }
+
+        private void addProcessor(SubtreeTotals totals, ProcessorStatusSnapshot processor) {
+            processors.add(processor);
+            totals.setProcessorCount(totals.getProcessorCount() + 1);
+            if (processor.getActiveThreadCount() != null) {
+                totals.setActiveThreadCount(totals.getActiveThreadCount() + processor.getActiveThreadCount());
+            }
+            String runStatus = processor.getRunStatus();
+            if ("Running".equalsIgnoreCase(runStatus)) {
+                totals.setRunningCount(totals.getRunningCount() + 1);
+            } else if ("Stopped".equalsIgnoreCase(runStatus)) {
+                totals.setStoppedCount(totals.getStoppedCount() + 1);
+            } else if ("Invalid".equalsIgnoreCase(runStatus)) {
+                totals.setInvalidCount(totals.getInvalidCount() + 1);
+            } else if ("Disabled".equalsIgnoreCase(runStatus)) {
+                totals.setDisabledCount(totals.getDisabledCount() + 1);
+            }
+        }
+
+        private void addConnection(SubtreeTotals totals, ConnectionStatusSnapshot connection) {
+            connections.add(connection);
+            totals.setConnectionCount(totals.getConnectionCount() + 1);
+            if (connection.getFlowFilesQueued() != null) {
+                totals.setFlowFilesQueued(totals.getFlowFilesQueued() + connection.getFlowFilesQueued());
+            }
+            if (connection.getBytesQueued() != null) {
+                totals.setBytesQueued(totals.getBytesQueued() + connection.getBytesQueued());
+            }
+        }
+
+        private static void add(SubtreeTotals totals, SubtreeTotals child) {
+            totals.setGroupCount(totals.getGroupCount() + child.getGroupCount());
+            totals.setProcessorCount(totals.getProcessorCount() + child.getProcessorCount());
+            totals.setRunningCount(totals.getRunningCount() + child.getRunningCount());
+            totals.setStoppedCount(totals.getStoppedCount() + child.getStoppedCount());
+            totals.setInvalidCount(totals.getInvalidCount() + child.getInvalidCount());
+            totals.setDisabledCount(totals.getDisabledCount() + child.getDisabledCount());
+            totals.setConnectionCount(totals.getConnectionCount() + child.getConnectionCount());
+            totals.setFlowFilesQueued(totals.getFlowFilesQueued() + child.getFlowFilesQueued());
+            totals.setBytesQueued(totals.getBytesQueued() + child.getBytesQueued());
+            totals.setActiveThreadCount(totals.getActiveThreadCount() + child.getActiveThreadCount());
+        }
+    }
+}
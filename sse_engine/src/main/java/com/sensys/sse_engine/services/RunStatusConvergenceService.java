@@ -0,0 +1,204 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.config.NiFiProperties;
+import com.sensys.sse_engine.dto.ProcessGroupTree;
+import com.sensys.sse_engine.dto.ProcessorStateInfo;
+import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
+import com.sensys.sse_engine.dto.RunStatusConvergence;
+import com.sensys.sse_engine.dto.enums.ConvergenceState;
+import com.sensys.sse_engine.dto.enums.ProcessGroupAction;
+import com.sensys.sse_engine.dto.enums.TreeFetchMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Follows the processors of a process group after a start or stop until they all reached
+ * the target run status. Each poll is one recursive status call; the interval starts short,
+ * doubles while nothing changes and drops back once processors move again.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RunStatusConvergenceService {
+
+    private final NiFiProperties nifiProperties;
+
+    private record Poll(RunStatusConvergence event, boolean emit) {
+    }
+
+    /**
+     * Track the processors of a process group towards the run status of an action
+     *
+     * @param target Target the group belongs to
+     * @param processGroupId ID of the process group
+     * @param action Start or stop that was sent for the group
+     * @param deadline Time after which tracking gives up
+     * @return Flux of convergence events, emitted when the counts change; the last event
+     *         has a state other than TRANSITIONING
+     */
+    public Flux<RunStatusConvergence> track(NiFiTarget target, String processGroupId, ProcessGroupAction action,
+                                            Duration deadline) {
+        return Flux.defer(() -> {
+            Tracker tracker = new Tracker(target, processGroupId, action, deadline, nifiProperties.getConvergence());
+            return tracker.poll()
+                .expand(poll -> poll.event().getState() != ConvergenceState.TRANSITIONING
+                    ? Mono.empty()
+                    : Mono.delay(tracker.nextDelay()).then(tracker.poll()))
+                .filter(Poll::emit)
+                .map(Poll::event)
+                .doOnComplete(() -> log.debug("Stopped tracking {} of process group {} after {} polls",
+                    action, processGroupId, tracker.pollCount));
+        });
+    }
+
+    /**
+     * Polling state of one subscription
+     */
+    private static final class Tracker {
+        private final NiFiTarget target;
+        private final String processGroupId;
+        private final ProcessGroupAction action;
+        private final NiFiProperties.Convergence settings;
+        private final long startedAt = System.nanoTime();
+        private final long deadlineAt;
+        private long interval;
+        private int pollCount;
+        private RunStatusConvergence last;
+
+        Tracker(NiFiTarget target, String processGroupId, ProcessGroupAction action, Duration deadline,
+                NiFiProperties.Convergence settings) {
+            this.target = target;
+            this.processGroupId = processGroupId;
+            this.action = action;
+            this.settings = settings;
+            this.deadlineAt = startedAt + deadline.toNanos();
+            this.interval = settings.getMinPollInterval();
+        }
+
+        Mono<Poll> poll() {
+            return Mono.defer(() -> target.getTreeService().getProcessGroupTree(processGroupId, TreeFetchMode.RECURSIVE))
+                .map(this::evaluate)
+                .onErrorResume(error -> {
+                    log.warn("Run status poll of process group {} failed: {}", processGroupId, error.getMessage());
+                    return Mono.just(failed(error));
+                });
+        }
+
+        Duration nextDelay() {
+            long remaining = (deadlineAt - System.nanoTime()) / 1_000_000;
+            return Duration.ofMillis(Math.max(0, Math.min(interval, remaining)));
+        }
+
+        private Poll evaluate(ProcessGroupTree tree) {
+            pollCount++;
+            int inTargetState = 0;
+            int transitioning = 0;
+            int invalid = 0;
+            int disabled = 0;
+            List<ProcessorStateInfo> lagging = new ArrayList<>();
+
+            for (ProcessorStatusSnapshot processor : tree.getProcessors()) {
+                String runStatus = processor.getRunStatus();
+                boolean threadsActive = processor.getActiveThreadCount() != null && processor.getActiveThreadCount() > 0;
+                if ("Disabled".equalsIgnoreCase(runStatus)) {
+                    disabled++;
+                } else if ("Invalid".equalsIgnoreCase(runStatus)) {
+                    invalid++;
+                } else if (action.getRunStatus().equalsIgnoreCase(runStatus)
+                        // A stopped processor is not done until its running tasks finished
+                        && !(action == ProcessGroupAction.STOP && threadsActive)) {
+                    inTargetState++;
+                } else {
+                    transitioning++;
+                    if (lagging.size() < settings.getMaxListed()) {
+                        lagging.add(ProcessorStateInfo.builder()
+                            .processorId(processor.getId())
+                            .processorName(processor.getName())
+                            .processorType(processor.getType())
+                            .runStatus(runStatus)
+                            .build());
+                    }
+                }
+            }
+
+            ConvergenceState state;
+            if (transitioning == 0) {
+                // Invalid processors cannot run, so they only keep a start from converging
+                state = action == ProcessGroupAction.START && invalid > 0
+                    ? ConvergenceState.INCOMPLETE
+                    : ConvergenceState.CONVERGED;
+            } else {
+                state = System.nanoTime() >= deadlineAt ? ConvergenceState.TIMED_OUT : ConvergenceState.TRANSITIONING;
+            }
+
+            // Back off while nothing moves, poll quickly again once it does
+            if (last != null && transitioning < last.getTransitioning()) {
+                interval = settings.getMinPollInterval();
+            } else if (last != null) {
+                interval = Math.min(interval * 2, settings.getMaxPollInterval());
+            }
+
+            RunStatusConvergence event = RunStatusConvergence.builder()
+                .processGroupId(processGroupId)
+                .action(action)
+                .targetRunStatus(action.getRunStatus())
+                .state(state)
+                .processorCount(tree.getProcessors().size())
+                .inTargetState(inTargetState)
+                .transitioning(transitioning)
+                .invalid(invalid)
+                .disabled(disabled)
+                .pollCount(pollCount)
+                .elapsedMillis(elapsedMillis())
+                .transitioningProcessors(lagging)
+                .build();
+            boolean changed = last == null
+                || state != ConvergenceState.TRANSITIONING
+                || last.getError() != null
+                || inTargetState != last.getInTargetState()
+                || transitioning != last.getTransitioning()
+                || invalid != last.getInvalid()
+                || disabled != last.getDisabled();
+            last = event;
+            return new Poll(event, changed);
+        }
+
+        private Poll failed(Throwable error) {
+            pollCount++;
+            interval = Math.min(interval * 2, settings.getMaxPollInterval());
+            boolean expired = System.nanoTime() >= deadlineAt;
+            RunStatusConvergence.RunStatusConvergenceBuilder event = RunStatusConvergence.builder()
+                .processGroupId(processGroupId)
+                .action(action)
+                .targetRunStatus(action.getRunStatus())
+                .state(expired ? ConvergenceState.TIMED_OUT : ConvergenceState.TRANSITIONING)
+                .pollCount(pollCount)
+                .elapsedMillis(elapsedMillis())
+                .error(error.getMessage())
+                .transitioningProcessors(List.of());
+            if (last != null) {
+                event.processorCount(last.getProcessorCount())
+                    .inTargetState(last.getInTargetState())
+                    .transitioning(last.getTransitioning())
+                    .invalid(last.getInvalid())
+                    .disabled(last.getDisabled())
+                    .transitioningProcessors(last.getTransitioningProcessors());
+            }
+            // Only the first failure in a row is reported
+            boolean emit = expired || last == null || last.getError() == null;
+            last = event.build();
+            return new Poll(last, emit);
+        }
+
+        private long elapsedMillis() {
+            return (System.nanoTime() - startedAt) / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.sensys.sse_engine.services;
+
+import com.sensys.sse_engine.dto.ConnectionStatusEntity;
+import com.sensys.sse_engine.dto.ConnectionStatusSnapshot;
+import com.sensys.sse_engine.dto.NodeStatusSnapshot;
+import com.sensys.sse_engine.dto.PortStatusEntity;
+import com.sensys.sse_engine.dto.PortStatusSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupSnapshot;
+import com.sensys.sse_engine.dto.ProcessGroupStatus;
+import com.sensys.sse_engine.dto.ProcessGroupStatusEntity;
+import com.sensys.sse_engine.dto.ProcessorStatusEntity;
+import com.sensys.sse_engine.dto.ProcessorStatusSnapshot;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 64-bit fingerprint over the numeric counters, component IDs and run states of a status
+ * snapshot, including the per-node snapshots of nodewise statuses. Formatted text fields
+ * are left out since they are derived from the counters.
+ */
+final class StatusFingerprint {
+
+    private static final long SEED = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = SEED;
+
+    private StatusFingerprint() {
+    }
+
+    /**
+     * Fingerprint of a status, equal for two statuses with the same counters
+     */
+    static long of(ProcessGroupStatus status) {
+        StatusFingerprint fingerprint = new StatusFingerprint();
+        fingerprint.add(status.getId());
+        fingerprint.addSnapshot(status.getAggregateSnapshot());
+        fingerprint.addNodes(status.getNodeSnapshots());
+        return fingerprint.hash;
+    }
+
+    private void addSnapshot(ProcessGroupSnapshot snapshot) {
+        if (snapshot == null) return;
+        addGroup(snapshot);
+        addProcessors(snapshot.getProcessorStatusSnapshots());
+        addConnections(snapshot.getConnectionStatusSnapshots());
+        addPorts(snapshot.getInputPortStatusSnapshots());
+        addPorts(snapshot.getOutputPortStatusSnapshots());
+        addChildGroups(snapshot.getProcessGroupStatusSnapshots());
+    }
+
+    /**
+     * Counters can move between nodes without changing the aggregate, so each node is hashed in full
+     */
+    private void addNodes(List<NodeStatusSnapshot> nodes) {
+        if (nodes == null) return;
+        add(nodes.size());
+        for (NodeStatusSnapshot node : nodes) {
+            add(node.getNodeId());
+            addSnapshot(node.getStatusSnapshot());
+        }
+    }
+
+    private void addGroup(ProcessGroupSnapshot group) {
+        add(group.getId());
+        add(group.getFlowFilesIn());
+        add(group.getBytesIn());
+        add(group.getFlowFilesOut());
+        add(group.getBytesOut());
+        add(group.getFlowFilesQueued());
+        add(group.getBytesQueued());
+        add(group.getBytesRead());
+        add(group.getBytesWritten());
+        add(group.getFlowFilesTransferred());
+        add(group.getBytesTransferred());
+        add(group.getFlowFilesReceived());
+        add(group.getBytesReceived());
+        add(group.getFlowFilesSent());
+        add(group.getBytesSent());
+        add(group.getActiveThreadCount());
+        add(group.getTerminatedThreadCount());
+        add(group.getProcessingNanos());
+    }
+
+    private void addProcessors(List<ProcessorStatusEntity> processors) {
+        if (processors == null) return;
+        add(processors.size());
+        for (ProcessorStatusEntity entity : processors) {
+            ProcessorStatusSnapshot processor = entity.getProcessorStatusSnapshot();
+            if (processor == null) continue;
+            add(processor.getId());
+            add(processor.getRunStatus());
+            add(processor.getFlowFilesIn());
+            add(processor.getBytesIn());
+            add(processor.getFlowFilesOut());
+            add(processor.getBytesOut());
+            add(processor.getBytesRead());
+            add(processor.getBytesWritten());
+            add(processor.getTaskCount());
+            add(processor.getTasksDurationNanos());
+            add(processor.getActiveThreadCount());
+            add(processor.getTerminatedThreadCount());
+        }
+    }
+
+    private void addConnections(List<ConnectionStatusEntity> connections) {
+        if (connections == null) return;
+        add(connections.size());
+        for (ConnectionStatusEntity entity : connections) {
+            ConnectionStatusSnapshot connection = entity.getConnectionStatusSnapshot();
+            if (connection == null) continue;
+            add(connection.getId());
+            add(connection.getFlowFilesIn());
+            add(connection.getBytesIn());
+            add(connection.getFlowFilesOut());
+            add(connection.getBytesOut());
+            add(connection.getFlowFilesQueued());
+            add(connection.getBytesQueued());
+            add(connection.getPercentUseCount());
+            add(connection.getPercentUseBytes());
+        }
+    }
+
+    private void addPorts(List<PortStatusEntity> ports) {
+        if (ports == null) return;
+        add(ports.size());
+        for (PortStatusEntity entity : ports) {
+            PortStatusSnapshot port = entity.getPortStatusSnapshot();
+            if (port == null) continue;
+            add(port.getId());
+            add(port.getRunStatus());
+            add(port.getFlowFilesReceived());
+            add(port.getBytesReceived());
+            add(port.getFlowFilesSent());
+            add(port.getBytesSent());
+            add(port.getActiveThreadCount());
+        }
+    }
+
+    private void addChildGroups(List<ProcessGroupStatusEntity> groups) {
+        if (groups == null) return;
+        add(groups.size());
+        for (ProcessGroupStatusEntity entity : groups) {
+            if (entity.getProcessGroupStatusSnapshot() != null) {
+                addGroup(entity.getProcessGroupStatusSnapshot());
+            }
+        }
+    }
+
+    private void add(Number value) {
+        add(value != null ? value.longValue() : Long.MIN_VALUE);
+    }
+
+    private void add(String value) {
+        add(Objects.hashCode(value));
+    }
+
+    private void add(long value) {
+        hash = (hash ^ value) * PRIME;
+        hash ^= hash >>> 29;
+    }
+}
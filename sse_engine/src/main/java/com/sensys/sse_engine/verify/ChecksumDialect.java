@@ -0,0 +1,147 @@
+package com.sensys.sse_engine.verify;
+
+import com.sensys.sse_engine.exception.DatabaseConfigException;
+import com.sensys.sse_engine.model.ColumnMetadata;
+import com.sensys.sse_engine.model.TableMetadata;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * SQL of the chunk queries per database type. A row hash is the first 60 bits of the MD5
+ * of the row's column values, each prefixed with its length so that values cannot run
+ * into each other; chunks sum these hashes, which makes the checksum independent of row
+ * order.
+ */
+public enum ChecksumDialect {
+
+    MYSQL {
+        @Override
+        String identifier(String name) {
+            return "`" + name.replace("`", "``") + "`";
+        }
+
+        @Override
+        String rowHash(List<ColumnMetadata> columns) {
+            StringJoiner row = new StringJoiner(", ", "CONCAT_WS(',', ", ")");
+            for (ColumnMetadata column : columns) {
+                String value = "BINARY".equals(column.getType())
+                    ? "HEX(" + identifier(columnName(column)) + ")"
+                    : "CAST(" + identifier(columnName(column)) + " AS CHAR)";
+                row.add("COALESCE(CONCAT(CHAR_LENGTH(" + value + "), ':', " + value + "), 'N')");
+            }
+            return "CAST(CONV(SUBSTRING(MD5(" + row + "), 1, 15), 16, 10) AS UNSIGNED)";
+        }
+    },
+
+    POSTGRESQL {
+        @Override
+        String identifier(String name) {
+            return "\"" + name.replace("\"", "\"\"") + "\"";
+        }
+
+        // The text of a row value quotes values holding separators and tells NULL from ''
+        @Override
+        String rowHash(List<ColumnMetadata> columns) {
+            StringJoiner row = new StringJoiner(", ", "ROW(", ")::text");
+            for (ColumnMetadata column : columns) {
+                row.add(identifier(columnName(column)));
+            }
+            return "('x' || substr(md5(" + row + "), 1, 15))::bit(60)::bigint";
+        }
+    },
+
+    ORACLE {
+        @Override
+        String identifier(String name) {
+            return "\"" + name.replace("\"", "\"\"") + "\"";
+        }
+
+        @Override
+        String rowHash(List<ColumnMetadata> columns) {
+            StringJoiner row = new StringJoiner(" || ',' || ");
+            for (ColumnMetadata column : columns) {
+                String name = identifier(columnName(column));
+                String value = text(name, column.getType());
+                row.add("NVL2(" + name + ", LENGTH(" + value + ") || ':' || " + value + ", 'N')");
+            }
+            return "TO_NUMBER(SUBSTR(RAWTOHEX(STANDARD_HASH(" + row + ", 'MD5')), 1, 15), 'XXXXXXXXXXXXXXX')";
+        }
+
+        // Fixed formats, so the session's NLS settings do not change the text
+        private String text(String name, String type) {
+            if (type.equals("BINARY")) {
+                return "RAWTOHEX(" + name + ")";
+            }
+            if (type.equals("DATE")) {
+                return "TO_CHAR(" + name + ", 'YYYY-MM-DD HH24:MI:SS')";
+            }
+            if (type.equals("TIMESTAMP")) {
+                return "TO_CHAR(" + name + ", 'YYYY-MM-DD HH24:MI:SS.FF9')";
+            }
+            if (type.equals("TIMESTAMP WITH TIME ZONE")) {
+                return "TO_CHAR(" + name + ", 'YYYY-MM-DD HH24:MI:SS.FF9 TZH:TZM')";
+            }
+            if (type.startsWith("DECIMAL") || type.equals("DOUBLE") || type.equals("REAL")) {
+                return "TO_CHAR(" + name + ", 'TM9', 'NLS_NUMERIC_CHARACTERS=''.,''')";
+            }
+            return "TO_CHAR(" + name + ")";
+        }
+    };
+
+    /**
+     * Get the dialect of a database type
+     *
+     * @param databaseType Database type of the config, e.g. mysql
+     * @return The dialect
+     * @throws DatabaseConfigException with status 400 for types without checksum queries
+     */
+    public static ChecksumDialect forDatabaseType(String databaseType) {
+        return switch (databaseType.toLowerCase(Locale.ROOT)) {
+            case "mysql" -> MYSQL;
+            case "postgresql" -> POSTGRESQL;
+            case "oracle" -> ORACLE;
+            default -> throw new DatabaseConfigException(400,
+                "Data verification is not supported for database type: " + databaseType);
+        };
+    }
+
+    /**
+     * Quote a name; the name must be in the case the database stores it, as quoted
+     * identifiers are case-sensitive
+     */
+    abstract String identifier(String name);
+
+    abstract String rowHash(List<ColumnMetadata> columns);
+
+    /**
+     * Build the chunk queries of a table
+     *
+     * @param table Table to query
+     * @param keyColumn Lower-case name of the single-column integer primary key
+     * @param columns Lower-case names of the columns to hash, in the same order on both sides
+     * @param hashRows False to compare row counts only, every row then hashes to 0
+     * @return The queries
+     */
+    TableQueries queries(TableMetadata table, String keyColumn, List<String> columns, boolean hashRows) {
+        Map<String, ColumnMetadata> byName = new HashMap<>();
+        table.getColumns().forEach(column -> byName.put(column.getName(), column));
+        String schema = table.getOriginalSchema() != null ? table.getOriginalSchema() : table.getSchema();
+        String from = (schema != null ? identifier(schema) + "." : "")
+            + identifier(table.getOriginalName() != null ? table.getOriginalName() : table.getName());
+        String key = identifier(columnName(byName.get(keyColumn)));
+        String hash = hashRows ? rowHash(columns.stream().map(byName::get).toList()) : "0";
+        String range = " WHERE " + key + " BETWEEN ? AND ?";
+        return new TableQueries(
+            "SELECT MIN(" + key + ") AS min_key, MAX(" + key + ") AS max_key FROM " + from,
+            "SELECT COUNT(*) AS row_count, SUM(" + hash + ") AS checksum FROM " + from + range,
+            "SELECT " + key + " AS row_key, " + hash + " AS row_hash FROM " + from + range + " ORDER BY " + key);
+    }
+
+    private static String columnName(ColumnMetadata column) {
+        return column.getOriginalName() != null ? column.getOriginalName() : column.getName();
+    }
+}
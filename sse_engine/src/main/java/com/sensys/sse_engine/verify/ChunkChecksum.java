@@ -0,0 +1,16 @@
+package com.sensys.sse_engine.verify;
+
+import java.math.BigInteger;
+
+/**
+ * Row count and sum of the row hashes of a key range
+ */
+record ChunkChecksum(long rows, BigInteger checksum) {
+
+    /**
+     * @return Count and checksum of the rows of this range outside the given part of it
+     */
+    ChunkChecksum minus(ChunkChecksum part) {
+        return new ChunkChecksum(rows - part.rows, checksum.subtract(part.checksum));
+    }
+}
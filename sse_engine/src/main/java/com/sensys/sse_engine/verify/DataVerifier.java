@@ -0,0 +1,492 @@
+package com.sensys.sse_engine.verify;
+
+import com.sensys.sse_engine.config.DatabaseProperties;
+import com.sensys.sse_engine.model.ColumnMetadata;
+import com.sensys.sse_engine.model.DataComparisonResult;
+import com.sensys.sse_engine.model.DiffStatus;
+import com.sensys.sse_engine.model.RowMismatch;
+import com.sensys.sse_engine.model.TableMetadata;
+import com.sensys.sse_engine.model.TableVerification;
+import com.sensys.sse_engine.model.VerificationStatus;
+import com.sensys.sse_engine.schema.ConnectionSource;
+import com.sensys.sse_engine.schema.ParallelReads;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Verifies the rows of tables on both sides without reading them into the JVM. Each table
+ * is split into ranges of its integer primary key; the databases count the rows of each
+ * range and sum their row hashes. Ranges whose counts or sums differ are halved until
+ * they hold few rows, and only then are the keys and hashes of their rows compared.
+ *
+ * <p>The chunks of all tables share one bounded set of queries per side, so both
+ * databases work at the same time with at most the configured number of connections. A
+ * failing query fails only the table it belongs to; the other tables are still verified.
+ */
+public class DataVerifier {
+
+    private static final Pattern INTEGER_TYPE = Pattern.compile("SMALLINT|INTEGER|BIGINT|DECIMAL\\(\\d+,0\\)");
+
+    private final ExecutorService executor;
+    private final DatabaseProperties.Verify settings;
+    private final Side source;
+    private final Side destination;
+
+    /**
+     * A database being verified
+     *
+     * @param databaseType Database type of the config
+     * @param connections Opens read-only connections to the database
+     */
+    public record Side(String databaseType, ConnectionSource connections) {
+    }
+
+    // A table found on both sides with a key the chunks can be cut along
+    private record Plan(String table, String keyColumn, TableQueries source, TableQueries destination) {
+    }
+
+    private record Chunk(int plan, KeyRange range) {
+    }
+
+    private record BothSides<T>(List<T> source, List<T> destination) {
+    }
+
+    private record RowHash(long key, BigInteger hash) {
+    }
+
+    /**
+     * First query failure per plan. Once a plan has failed, its remaining reads are skipped.
+     */
+    private static final class Failures {
+
+        private final AtomicReferenceArray<String> messages;
+
+        Failures(int plans) {
+            messages = new AtomicReferenceArray<>(plans);
+        }
+
+        /**
+         * @return The read, returning null instead of throwing when its query fails
+         */
+        <T> Callable<T> guard(int plan, String step, Callable<T> read) {
+            return () -> {
+                if (failed(plan)) {
+                    return null;
+                }
+                try {
+                    return read.call();
+                } catch (SQLException e) {
+                    messages.compareAndSet(plan, null, step + " failed: " + e.getMessage());
+                    return null;
+                }
+            };
+        }
+
+        boolean failed(int plan) {
+            return messages.get(plan) != null;
+        }
+
+        String message(int plan) {
+            return messages.get(plan);
+        }
+    }
+
+    public DataVerifier(ExecutorService executor, DatabaseProperties.Verify settings, Side source, Side destination) {
+        this.executor = executor;
+        this.settings = settings;
+        this.source = source;
+        this.destination = destination;
+    }
+
+    /**
+     * Verify the rows of the tables present on both sides
+     *
+     * @param sourceTables Tables of the source database
+     * @param destinationTables Tables of the destination database
+     * @param compareByTableNamesOnly Match tables by name, ignoring schema or database names
+     * @param tableFilter Tables to verify, all tables on both sides when null or empty
+     * @param chunkSize Primary key values per chunk, the configured size when null
+     * @return Outcome per table, ordered by table
+     */
+    public DataComparisonResult verify(List<TableMetadata> sourceTables, List<TableMetadata> destinationTables,
+                                       boolean compareByTableNamesOnly, Collection<String> tableFilter, Long chunkSize)
+            throws SQLException, InterruptedException {
+        Function<TableMetadata, String> key = compareByTableNamesOnly
+            ? TableMetadata::getName
+            : TableMetadata::qualifiedName;
+        Map<String, TableMetadata> sourceByKey = index(sourceTables, key);
+        Map<String, TableMetadata> destinationByKey = index(destinationTables, key);
+
+        Set<String> names = new TreeSet<>();
+        if (tableFilter == null || tableFilter.isEmpty()) {
+            names.addAll(sourceByKey.keySet());
+            names.retainAll(destinationByKey.keySet());
+        } else {
+            tableFilter.forEach(name -> names.add(name.toLowerCase(Locale.ROOT)));
+        }
+
+        boolean hashRows = source.databaseType().equalsIgnoreCase(destination.databaseType());
+        ChecksumDialect sourceDialect = ChecksumDialect.forDatabaseType(source.databaseType());
+        ChecksumDialect destinationDialect = ChecksumDialect.forDatabaseType(destination.databaseType());
+
+        Map<String, TableVerification> results = new LinkedHashMap<>();
+        List<Plan> plans = new ArrayList<>();
+        for (String name : names) {
+            TableMetadata sourceTable = sourceByKey.get(name);
+            TableMetadata destinationTable = destinationByKey.get(name);
+            String skipped = skipReason(sourceTable, destinationTable);
+            if (skipped != null) {
+                results.put(name, TableVerification.builder()
+                    .table(name)
+                    .status(VerificationStatus.SKIPPED)
+                    .message(skipped)
+                    .build());
+                continue;
+            }
+            String keyColumn = sourceTable.getPrimaryKey().get(0);
+            List<String> columns = commonColumns(sourceTable, destinationTable);
+            plans.add(new Plan(name, keyColumn,
+                sourceDialect.queries(sourceTable, keyColumn, columns, hashRows),
+                destinationDialect.queries(destinationTable, keyColumn, columns, hashRows)));
+        }
+
+        Failures failures = new Failures(plans.size());
+        List<Chunk> chunks = chunks(plans, chunkSize != null ? chunkSize : settings.getChunkSize(), failures);
+        BothSides<ChunkChecksum> checksums = onBothSides(
+            reads(chunks, chunk -> failures.guard(chunk.plan(), "Source checksum",
+                () -> checksum(source, plans.get(chunk.plan()).source(), chunk.range()))),
+            reads(chunks, chunk -> failures.guard(chunk.plan(), "Destination checksum",
+                () -> checksum(destination, plans.get(chunk.plan()).destination(), chunk.range()))));
+
+        long[] sourceRows = new long[plans.size()];
+        long[] destinationRows = new long[plans.size()];
+        int[] chunkCounts = new int[plans.size()];
+        int[] mismatchedChunks = new int[plans.size()];
+        List<Callable<List<RowMismatch>>> bisections = new ArrayList<>();
+        List<Integer> bisectedPlans = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            Chunk chunk = chunks.get(i);
+            if (failures.failed(chunk.plan())) {
+                continue;
+            }
+            ChunkChecksum sourceChecksum = checksums.source().get(i);
+            ChunkChecksum destinationChecksum = checksums.destination().get(i);
+            sourceRows[chunk.plan()] += sourceChecksum.rows();
+            destinationRows[chunk.plan()] += destinationChecksum.rows();
+            chunkCounts[chunk.plan()]++;
+            if (!sourceChecksum.equals(destinationChecksum)) {
+                mismatchedChunks[chunk.plan()]++;
+                Plan plan = plans.get(chunk.plan());
+                bisections.add(failures.guard(chunk.plan(), "Row comparison", () -> {
+                    List<RowMismatch> rows = new ArrayList<>();
+                    bisect(plan, chunk.range(), sourceChecksum, destinationChecksum, rows);
+                    return rows;
+                }));
+                bisectedPlans.add(chunk.plan());
+            }
+        }
+
+        // A bisection queries one side after the other, so the limit holds on both
+        List<List<RowMismatch>> bisected = ParallelReads.runAll(executor, bisections, settings.getConcurrency());
+        List<List<RowMismatch>> mismatchedRows = new ArrayList<>(plans.size());
+        plans.forEach(plan -> mismatchedRows.add(new ArrayList<>()));
+        for (int i = 0; i < bisected.size(); i++) {
+            if (bisected.get(i) != null) {
+                mismatchedRows.get(bisectedPlans.get(i)).addAll(bisected.get(i));
+            }
+        }
+
+        for (int i = 0; i < plans.size(); i++) {
+            if (failures.failed(i)) {
+                results.put(plans.get(i).table(), TableVerification.builder()
+                    .table(plans.get(i).table())
+                    .status(VerificationStatus.FAILED)
+                    .message(failures.message(i))
+                    .keyColumn(plans.get(i).keyColumn())
+                    .build());
+                continue;
+            }
+            List<RowMismatch> rows = mismatchedRows.get(i);
+            boolean truncated = rows.size() > settings.getMaxMismatchedRows();
+            results.put(plans.get(i).table(), TableVerification.builder()
+                .table(plans.get(i).table())
+                .status(mismatchedChunks[i] == 0 ? VerificationStatus.MATCH : VerificationStatus.MISMATCH)
+                .keyColumn(plans.get(i).keyColumn())
+                .sourceRows(sourceRows[i])
+                .destinationRows(destinationRows[i])
+                .chunks(chunkCounts[i])
+                .mismatchedChunks(mismatchedChunks[i])
+                .mismatchedRows(truncated ? new ArrayList<>(rows.subList(0, settings.getMaxMismatchedRows())) : rows)
+                .mismatchedRowsTruncated(truncated)
+                .build());
+        }
+
+        List<TableVerification> tables = new ArrayList<>(results.values());
+        tables.sort(Comparator.comparing(TableVerification::getTable));
+        int matching = count(tables, VerificationStatus.MATCH);
+        int mismatching = count(tables, VerificationStatus.MISMATCH);
+        int skipped = count(tables, VerificationStatus.SKIPPED);
+        int failed = count(tables, VerificationStatus.FAILED);
+        return DataComparisonResult.builder()
+            .dataMatches(mismatching == 0 && skipped == 0 && failed == 0)
+            .checksumsCompared(hashRows)
+            .tablesMatching(matching)
+            .tablesMismatching(mismatching)
+            .tablesSkipped(skipped)
+            .tablesFailed(failed)
+            .tables(tables)
+            .build();
+    }
+
+    private static Map<String, TableMetadata> index(List<TableMetadata> tables, Function<TableMetadata, String> key) {
+        Map<String, TableMetadata> byKey = new HashMap<>();
+        for (TableMetadata table : tables) {
+            byKey.putIfAbsent(key.apply(table), table);
+        }
+        return byKey;
+    }
+
+    /**
+     * @return Why a table cannot be verified, null when it can
+     */
+    private static String skipReason(TableMetadata source, TableMetadata destination) {
+        if (source == null || destination == null) {
+            return "Table not found on both sides";
+        }
+        List<String> primaryKey = source.getPrimaryKey();
+        if (primaryKey.size() != 1 || !primaryKey.equals(destination.getPrimaryKey())) {
+            return "Both sides need the same single-column primary key";
+        }
+        if (!isIntegerKey(source, primaryKey.get(0)) || !isIntegerKey(destination, primaryKey.get(0))) {
+            return "The primary key is not an integer column";
+        }
+        return null;
+    }
+
+    private static boolean isIntegerKey(TableMetadata table, String keyColumn) {
+        for (ColumnMetadata column : table.getColumns()) {
+            if (column.getName().equals(keyColumn)) {
+                return column.getType() != null && INTEGER_TYPE.matcher(column.getType()).matches();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Names of the source columns also present in the destination, in source order
+     */
+    private static List<String> commonColumns(TableMetadata source, TableMetadata destination) {
+        Set<String> destinationColumns = new HashSet<>();
+        destination.getColumns().forEach(column -> destinationColumns.add(column.getName()));
+        List<String> columns = new ArrayList<>();
+        for (ColumnMetadata column : source.getColumns()) {
+            if (destinationColumns.contains(column.getName())) {
+                columns.add(column.getName());
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Cuts the key range spanning both sides of each table into chunks
+     */
+    private List<Chunk> chunks(List<Plan> plans, long chunkSize, Failures failures)
+            throws SQLException, InterruptedException {
+        List<Callable<long[]>> sourceReads = new ArrayList<>(plans.size());
+        List<Callable<long[]>> destinationReads = new ArrayList<>(plans.size());
+        for (int i = 0; i < plans.size(); i++) {
+            Plan plan = plans.get(i);
+            sourceReads.add(failures.guard(i, "Source key range", () -> bounds(source, plan.source())));
+            destinationReads.add(failures.guard(i, "Destination key range", () -> bounds(destination, plan.destination())));
+        }
+        BothSides<long[]> bounds = onBothSides(sourceReads, destinationReads);
+
+        List<Chunk> chunks = new ArrayList<>();
+        for (int i = 0; i < plans.size(); i++) {
+            if (failures.failed(i)) {
+                continue;
+            }
+            long[] sourceBounds = bounds.source().get(i);
+            long[] destinationBounds = bounds.destination().get(i);
+            if (sourceBounds == null && destinationBounds == null) {
+                continue;
+            }
+            long from = sourceBounds == null ? destinationBounds[0]
+                : destinationBounds == null ? sourceBounds[0] : Math.min(sourceBounds[0], destinationBounds[0]);
+            long to = sourceBounds == null ? destinationBounds[1]
+                : destinationBounds == null ? sourceBounds[1] : Math.max(sourceBounds[1], destinationBounds[1]);
+            for (KeyRange range : KeyRange.split(from, to, chunkSize, settings.getMaxChunksPerTable())) {
+                chunks.add(new Chunk(i, range));
+            }
+        }
+        return chunks;
+    }
+
+    private static <T, R> List<Callable<R>> reads(List<T> items, Function<T, Callable<R>> read) {
+        List<Callable<R>> reads = new ArrayList<>(items.size());
+        items.forEach(item -> reads.add(read.apply(item)));
+        return reads;
+    }
+
+    /**
+     * Runs the reads of both sides at the same time, each side with its own limit. The
+     * reads are guarded per table, so what is rethrown here fails the whole verification.
+     */
+    private <T> BothSides<T> onBothSides(List<Callable<T>> sourceReads, List<Callable<T>> destinationReads)
+            throws SQLException, InterruptedException {
+        Future<List<T>> sourceResults = executor.submit(
+            () -> ParallelReads.runAll(executor, sourceReads, settings.getConcurrency()));
+        try {
+            List<T> destinationResults = ParallelReads.runAll(executor, destinationReads, settings.getConcurrency());
+            return new BothSides<>(sourceResults.get(), destinationResults);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SQLException(e.getCause());
+        } finally {
+            sourceResults.cancel(true);
+        }
+    }
+
+    /**
+     * Halves a mismatching range until it holds few rows, then compares those row by row.
+     * The upper half's checksum is the range's minus the lower half's, so each step costs
+     * one query per side.
+     */
+    private void bisect(Plan plan, KeyRange range, ChunkChecksum sourceChecksum, ChunkChecksum destinationChecksum,
+                        List<RowMismatch> mismatches) throws SQLException {
+        if (mismatches.size() > settings.getMaxMismatchedRows()) {
+            return;
+        }
+        if (Math.max(sourceChecksum.rows(), destinationChecksum.rows()) <= settings.getBisectRowThreshold()
+                || range.from() == range.to()) {
+            compareRows(plan, range, mismatches);
+            return;
+        }
+        KeyRange lower = range.lowerHalf();
+        ChunkChecksum sourceLower = checksum(source, plan.source(), lower);
+        ChunkChecksum destinationLower = checksum(destination, plan.destination(), lower);
+        if (!sourceLower.equals(destinationLower)) {
+            bisect(plan, lower, sourceLower, destinationLower, mismatches);
+        }
+        ChunkChecksum sourceUpper = sourceChecksum.minus(sourceLower);
+        ChunkChecksum destinationUpper = destinationChecksum.minus(destinationLower);
+        if (!sourceUpper.equals(destinationUpper)) {
+            bisect(plan, range.upperHalf(), sourceUpper, destinationUpper, mismatches);
+        }
+    }
+
+    /**
+     * Merges the key-ordered row hashes of both sides of a small range
+     */
+    private void compareRows(Plan plan, KeyRange range, List<RowMismatch> mismatches) throws SQLException {
+        List<RowHash> sourceRows = rows(source, plan.source(), range);
+        List<RowHash> destinationRows = rows(destination, plan.destination(), range);
+        int s = 0;
+        int d = 0;
+        while (s < sourceRows.size() || d < destinationRows.size()) {
+            RowHash sourceRow = s < sourceRows.size() ? sourceRows.get(s) : null;
+            RowHash destinationRow = d < destinationRows.size() ? destinationRows.get(d) : null;
+            if (destinationRow == null || (sourceRow != null && sourceRow.key() < destinationRow.key())) {
+                mismatches.add(RowMismatch.builder().key(sourceRow.key()).status(DiffStatus.ONLY_IN_SOURCE).build());
+                s++;
+            } else if (sourceRow == null || destinationRow.key() < sourceRow.key()) {
+                mismatches.add(RowMismatch.builder().key(destinationRow.key()).status(DiffStatus.ONLY_IN_DESTINATION).build());
+                d++;
+            } else {
+                if (!sourceRow.hash().equals(destinationRow.hash())) {
+                    mismatches.add(RowMismatch.builder().key(sourceRow.key()).status(DiffStatus.CHANGED).build());
+                }
+                s++;
+                d++;
+            }
+        }
+    }
+
+    /**
+     * @return Lowest and highest key, null for an empty table
+     */
+    private long[] bounds(Side side, TableQueries queries) throws SQLException {
+        try (Connection conn = side.connections().open();
+             PreparedStatement statement = conn.prepareStatement(queries.boundsSql())) {
+            statement.setQueryTimeout(settings.getQueryTimeout());
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                long min = rs.getLong("min_key");
+                if (rs.wasNull()) {
+                    return null;
+                }
+                return new long[]{min, rs.getLong("max_key")};
+            }
+        }
+    }
+
+    private ChunkChecksum checksum(Side side, TableQueries queries, KeyRange range) throws SQLException {
+        try (Connection conn = side.connections().open();
+             PreparedStatement statement = conn.prepareStatement(queries.checksumSql())) {
+            statement.setQueryTimeout(settings.getQueryTimeout());
+            statement.setLong(1, range.from());
+            statement.setLong(2, range.to());
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                BigDecimal checksum = rs.getBigDecimal("checksum");
+                return new ChunkChecksum(rs.getLong("row_count"),
+                    checksum != null ? checksum.toBigInteger() : BigInteger.ZERO);
+            }
+        }
+    }
+
+    private List<RowHash> rows(Side side, TableQueries queries, KeyRange range) throws SQLException {
+        try (Connection conn = side.connections().open();
+             PreparedStatement statement = conn.prepareStatement(queries.rowsSql())) {
+            statement.setQueryTimeout(settings.getQueryTimeout());
+            statement.setFetchSize(settings.getBisectRowThreshold());
+            statement.setLong(1, range.from());
+            statement.setLong(2, range.to());
+            List<RowHash> rows = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new RowHash(rs.getLong("row_key"), rs.getBigDecimal("row_hash").toBigInteger()));
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static int count(List<TableVerification> tables, VerificationStatus status) {
+        int count = 0;
+        for (TableVerification table : tables) {
+            if (table.getStatus() == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,46 @@
+package com.sensys.sse_engine.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inclusive range of primary key values. Widths are computed unsigned, as the distance
+ * between two longs may not fit a signed long.
+ */
+record KeyRange(long from, long to) {
+
+    /**
+     * Split a range into chunks
+     *
+     * @param from First key
+     * @param to Last key
+     * @param chunkSize Keys per chunk
+     * @param maxChunks Chunks at most; wider chunks are used when the range needs more
+     * @return Consecutive chunks covering the range
+     */
+    static List<KeyRange> split(long from, long to, long chunkSize, int maxChunks) {
+        long width = Math.max(Math.max(1, chunkSize), Long.divideUnsigned(to - from, Math.max(1, maxChunks)) + 1);
+        List<KeyRange> ranges = new ArrayList<>();
+        long start = from;
+        while (true) {
+            long end = Long.compareUnsigned(to - start, width - 1) <= 0 ? to : start + width - 1;
+            ranges.add(new KeyRange(start, end));
+            if (end == to) {
+                return ranges;
+            }
+            start = end + 1;
+        }
+    }
+
+    KeyRange lowerHalf() {
+        return new KeyRange(from, middle());
+    }
+
+    KeyRange upperHalf() {
+        return new KeyRange(middle() + 1, to);
+    }
+
+    private long middle() {
+        return from + ((to - from) >>> 1);
+    }
+}
@@ -0,0 +1,8 @@
+package com.sensys.sse_engine.verify;
+
+/**
+ * Chunk queries of one table on one side. The checksum and row queries take the first and
+ * last primary key of the range as parameters.
+ */
+record TableQueries(String boundsSql, String checksumSql, String rowsSql) {
+}
@@ -0,0 +1,34 @@
+package com.sensys.sse_engine.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NiFiWebClientFactoryTests {
+
+	private static final String ID = "0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0";
+
+	@Test
+	void uriTemplateReplacesComponentIds() {
+		assertEquals("/nifi-api/flow/process-groups/{id}/status",
+			NiFiWebClientFactory.uriTemplate("/nifi-api/flow/process-groups/" + ID + "/status"));
+		assertEquals("/nifi-api/connections/{id}/listing-requests/{id}",
+			NiFiWebClientFactory.uriTemplate("/nifi-api/connections/" + ID + "/listing-requests/" + ID.toUpperCase()));
+	}
+
+	@Test
+	void uriTemplateKeepsPathsWithoutIds() {
+		assertEquals("/nifi-api/flow/process-groups/root/status",
+			NiFiWebClientFactory.uriTemplate("/nifi-api/flow/process-groups/root/status"));
+		assertEquals("/nifi-api/access/token", NiFiWebClientFactory.uriTemplate("/nifi-api/access/token"));
+	}
+
+	@Test
+	void uriTemplateIgnoresMalformedIds() {
+		// One hex digit short in the last group, and the dashes in the wrong places
+		String shortId = "/nifi-api/processors/0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f";
+		String misplaced = "/nifi-api/processors/0f1e2d3c-4b5a6-978-8796-a5b4c3d2e1f0";
+		assertEquals(shortId, NiFiWebClientFactory.uriTemplate(shortId));
+		assertEquals(misplaced, NiFiWebClientFactory.uriTemplate(misplaced));
+	}
+}
@@ -0,0 +1,41 @@
+package com.sensys.sse_engine.config.deserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sensys.sse_engine.dto.PortStatusSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NiFiStatusDeserializersTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(NiFiStatusDeserializers.module());
+
+	@Test
+	void readsPortRunStatusAsText() throws Exception {
+		PortStatusSnapshot port = objectMapper.readValue(
+			"{\"id\":\"p1\",\"runStatus\":\"Running\",\"flowFilesSent\":3}", PortStatusSnapshot.class);
+		assertEquals("Running", port.getRunStatus());
+		assertEquals(3, port.getFlowFilesSent());
+	}
+
+	@Test
+	void readsNumbersSentAsTextOrFloats() throws Exception {
+		PortStatusSnapshot port = objectMapper.readValue(
+			"{\"bytesReceived\":\"1,234\",\"bytesSent\":\" 56 \",\"flowFilesReceived\":7.9}", PortStatusSnapshot.class);
+		assertEquals(1234L, port.getBytesReceived());
+		assertEquals(56L, port.getBytesSent());
+		assertEquals(7, port.getFlowFilesReceived());
+	}
+
+	@Test
+	void readsUnparseableNumbersAsNull() throws Exception {
+		PortStatusSnapshot port = objectMapper.readValue(
+			"{\"bytesReceived\":\"n/a\",\"bytesSent\":\"\",\"flowFilesReceived\":{\"nested\":1},\"flowFilesSent\":null}",
+			PortStatusSnapshot.class);
+		assertNull(port.getBytesReceived());
+		assertNull(port.getBytesSent());
+		assertNull(port.getFlowFilesReceived());
+		assertNull(port.getFlowFilesSent());
+	}
+}
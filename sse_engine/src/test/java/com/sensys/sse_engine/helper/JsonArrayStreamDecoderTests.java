@@ -0,0 +1,100 @@
+package com.sensys.sse_engine.helper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonArrayStreamDecoderTests {
+
+	// Configured like the application's mapper, which ignores unknown fields
+	private final JsonArrayStreamDecoder decoder = new JsonArrayStreamDecoder(Jackson2ObjectMapperBuilder.json().build());
+
+	record Item(String id, long count) {
+	}
+
+	@Test
+	void decodesTopLevelArraySplitAtEveryByte() {
+		byte[] json = bytes("[{\"id\":\"a\",\"count\":12345},null,{\"id\":\"b\",\"count\":-7}]");
+		for (int split = 1; split < json.length; split++) {
+			List<Item> items = decoder.decode(chunks(json, split), "", Item.class).collectList().block();
+			assertEquals(List.of(new Item("a", 12345), new Item("b", -7)), items, "split at " + split);
+		}
+	}
+
+	@Test
+	void decodesArrayAtPathFromSingleByteChunks() {
+		byte[] json = bytes("""
+			{"items":[{"id":"decoy","count":0}],
+			 "data":{"other":[1,2],"items":[{"id":"x","count":1,"extra":{"items":[3]}},{"id":"y","count":2}]},
+			 "tail":{"data":{"items":[{"id":"deeper","count":3}]}}}""");
+		List<Item> items = decoder.decode(chunks(json, 1), "data.items", Item.class).collectList().block();
+		assertEquals(List.of(new Item("x", 1), new Item("y", 2)), items);
+	}
+
+	@Test
+	void decodesEveryArrayHeldByField() {
+		byte[] json = bytes("""
+			{"items":[{"id":"root","count":1}],
+			 "groups":[{"items":[{"id":"child","count":2}],"groups":[{"items":[{"id":"grandchild","count":3}]}]}]}""");
+		for (int split = 1; split < json.length; split++) {
+			List<Item> items = decoder.decodeEvery(chunks(json, split), "items", Item.class).collectList().block();
+			assertEquals(List.of(new Item("root", 1), new Item("child", 2), new Item("grandchild", 3)), items,
+				"split at " + split);
+		}
+	}
+
+	@Test
+	void decodesMultiByteCharactersSplitAcrossChunks() {
+		byte[] json = bytes("[{\"id\":\"Zürich → 東京\",\"count\":1}]");
+		for (int split = 1; split < json.length; split++) {
+			List<Item> items = decoder.decode(chunks(json, split), "", Item.class).collectList().block();
+			assertEquals(List.of(new Item("Zürich → 東京", 1)), items, "split at " + split);
+		}
+	}
+
+	@Test
+	void emitsNothingWhenPathIsMissing() {
+		byte[] json = bytes("{\"data\":{\"rows\":[{\"id\":\"a\",\"count\":1}]}}");
+		assertEquals(List.of(), decoder.decode(chunks(json, 5), "data.items", Item.class).collectList().block());
+	}
+
+	@Test
+	void failsOnMalformedJson() {
+		byte[] json = bytes("[{\"id\":\"a\",\"count\":1},{\"id\":]");
+		assertThrows(DecodingException.class,
+			() -> decoder.decode(chunks(json, 4), "", Item.class).collectList().block());
+	}
+
+	@Test
+	void failsOnTruncatedJson() {
+		byte[] json = bytes("[{\"id\":\"a\",\"count\":1},{\"id\":\"b\"");
+		assertThrows(DecodingException.class,
+			() -> decoder.decode(chunks(json, 3), "", Item.class).collectList().block());
+	}
+
+	private static byte[] bytes(String json) {
+		return json.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * The body split into buffers of at most the given size, so tokens straddle buffers
+	 */
+	private static Flux<DataBuffer> chunks(byte[] json, int size) {
+		List<byte[]> parts = new ArrayList<>();
+		for (int from = 0; from < json.length; from += size) {
+			parts.add(Arrays.copyOfRange(json, from, Math.min(json.length, from + size)));
+		}
+		return Flux.fromIterable(parts).map(DefaultDataBufferFactory.sharedInstance::wrap);
+	}
+}
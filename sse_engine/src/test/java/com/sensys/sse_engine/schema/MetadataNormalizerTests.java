@@ -0,0 +1,48 @@
+package com.sensys.sse_engine.schema;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MetadataNormalizerTests {
+
+	@Test
+	void normalisesTypeNamesAcrossDatabases() {
+		assertEquals("VARCHAR(40)", MetadataNormalizer.type("VARCHAR2", 40L, null, null));
+		assertEquals("VARCHAR(40)", MetadataNormalizer.type("character varying", 40L, null, null));
+		assertEquals("TEXT", MetadataNormalizer.type("character varying", null, null, null));
+		assertEquals("TEXT", MetadataNormalizer.type("varchar", (long) Integer.MAX_VALUE, null, null));
+		assertEquals("CHAR(1)", MetadataNormalizer.type("bpchar", null, null, null));
+		assertEquals("DECIMAL(38,0)", MetadataNormalizer.type("NUMBER", null, null, 0));
+		assertEquals("DECIMAL", MetadataNormalizer.type("numeric", null, null, null));
+		assertEquals("DECIMAL(10,2)", MetadataNormalizer.type("NUMBER", null, 10, 2));
+		assertEquals("BIGINT", MetadataNormalizer.type("int8", null, 64, 0));
+		assertEquals("SMALLINT", MetadataNormalizer.type("tinyint", null, 3, 0));
+		assertEquals("BOOLEAN", MetadataNormalizer.type("bit", 1L, null, null));
+		assertEquals("BIT(8)", MetadataNormalizer.type("bit", 8L, null, null));
+		assertEquals("DOUBLE", MetadataNormalizer.type("BINARY_DOUBLE", null, null, null));
+		assertEquals("TIMESTAMP", MetadataNormalizer.type("datetime", null, null, null));
+		assertEquals("TIMESTAMP WITH TIME ZONE", MetadataNormalizer.type("TIMESTAMP(6) WITH TIME ZONE", null, null, 6));
+		assertEquals("BINARY", MetadataNormalizer.type("long raw", null, null, null));
+		assertEquals("JSONB", MetadataNormalizer.type(" jsonb ", null, null, null));
+		assertNull(MetadataNormalizer.type(null, null, null, null));
+	}
+
+	@Test
+	void normalisesDefaults() {
+		assertNull(MetadataNormalizer.defaultValue(null, false));
+		assertNull(MetadataNormalizer.defaultValue("  ", false));
+		assertNull(MetadataNormalizer.defaultValue("NULL", false));
+		assertEquals(MetadataNormalizer.AUTO_INCREMENT, MetadataNormalizer.defaultValue(null, true));
+		assertEquals(MetadataNormalizer.AUTO_INCREMENT,
+			MetadataNormalizer.defaultValue("nextval('orders_id_seq'::regclass)", false));
+		assertEquals("Open", MetadataNormalizer.defaultValue("'Open'::character varying", false));
+		assertEquals("Open", MetadataNormalizer.defaultValue("'Open' ", false));
+		assertEquals("0", MetadataNormalizer.defaultValue("((0))", false));
+		assertEquals("{}", MetadataNormalizer.defaultValue("'{}'::text[]", false));
+		assertEquals("current_timestamp", MetadataNormalizer.defaultValue("now()", false));
+		assertEquals("current_timestamp", MetadataNormalizer.defaultValue("SYSTIMESTAMP", false));
+		assertEquals("current_timestamp", MetadataNormalizer.defaultValue("CURRENT_TIMESTAMP", false));
+	}
+}
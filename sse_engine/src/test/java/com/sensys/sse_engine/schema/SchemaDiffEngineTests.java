@@ -0,0 +1,143 @@
+package com.sensys.sse_engine.schema;
+
+import com.sensys.sse_engine.model.ColumnDiff;
+import com.sensys.sse_engine.model.ColumnMetadata;
+import com.sensys.sse_engine.model.DiffStatus;
+import com.sensys.sse_engine.model.ForeignKeyMetadata;
+import com.sensys.sse_engine.model.IndexMetadata;
+import com.sensys.sse_engine.model.SchemaDiff;
+import com.sensys.sse_engine.model.TableDiff;
+import com.sensys.sse_engine.model.TableMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaDiffEngineTests {
+
+	@Test
+	void equalSchemasMatch() {
+		SchemaDiff diff = SchemaDiffEngine.diff(List.of(orders("app"), customers("app")),
+			List.of(customers("app"), orders("app")), false);
+		assertTrue(diff.isSchemasMatch());
+		assertEquals(List.of(), diff.getTables());
+		assertEquals(2, diff.getSourceTableCount());
+		assertEquals(2, diff.getDestinationTableCount());
+	}
+
+	@Test
+	void reportsMissingTablesOnEitherSide() {
+		SchemaDiff diff = SchemaDiffEngine.diff(List.of(orders("app")), List.of(customers("app")), false);
+		assertFalse(diff.isSchemasMatch());
+		assertEquals(1, diff.getTablesOnlyInSource());
+		assertEquals(1, diff.getTablesOnlyInDestination());
+		assertEquals(0, diff.getTablesChanged());
+		assertEquals(List.of("app.customers", "app.orders"), diff.getTables().stream().map(TableDiff::getTable).toList());
+		assertEquals(DiffStatus.ONLY_IN_DESTINATION, diff.getTables().get(0).getStatus());
+		assertEquals(DiffStatus.ONLY_IN_SOURCE, diff.getTables().get(1).getStatus());
+	}
+
+	@Test
+	void matchesAcrossSchemasByTableNameOnly() {
+		List<TableMetadata> source = List.of(orders("app"));
+		List<TableMetadata> destination = List.of(orders("app_copy"));
+		assertFalse(SchemaDiffEngine.diff(source, destination, false).isSchemasMatch());
+		assertTrue(SchemaDiffEngine.diff(source, destination, true).isSchemasMatch());
+	}
+
+	@Test
+	void reportsColumnDifferences() {
+		TableMetadata destination = orders("app");
+		List<ColumnMetadata> columns = new ArrayList<>(destination.getColumns());
+		// total widened and made nullable, status dropped, note added
+		columns.set(2, column("total", 3, "DECIMAL(12,2)", true, "0"));
+		columns.remove(3);
+		columns.add(column("note", 5, "TEXT", true, null));
+		destination.setColumns(columns);
+
+		SchemaDiff diff = SchemaDiffEngine.diff(List.of(orders("app")), List.of(destination), false);
+		assertEquals(1, diff.getTablesChanged());
+		TableDiff table = diff.getTables().get(0);
+		assertEquals(DiffStatus.CHANGED, table.getStatus());
+		assertNull(table.getSourcePrimaryKey());
+
+		List<ColumnDiff> diffs = table.getColumns();
+		assertEquals(List.of("total", "status", "note"), diffs.stream().map(ColumnDiff::getColumn).toList());
+		assertEquals(List.of("type", "nullable"), diffs.get(0).getChangedAttributes());
+		assertEquals(DiffStatus.ONLY_IN_SOURCE, diffs.get(1).getStatus());
+		assertEquals(DiffStatus.ONLY_IN_DESTINATION, diffs.get(2).getStatus());
+	}
+
+	@Test
+	void comparesKeysAndIndexesBySignature() {
+		TableMetadata destination = orders("app");
+		destination.setPrimaryKey(List.of("id", "customer_id"));
+		// Same index under another generated name, and a foreign key to another table
+		destination.setIndexes(List.of(index("idx_orders_customer_2", false, "customer_id")));
+		destination.setForeignKeys(List.of(foreignKey("fk_2", "customer_id", "clients", "id")));
+
+		TableDiff table = SchemaDiffEngine.diff(List.of(orders("app")), List.of(destination), false).getTables().get(0);
+		assertEquals(List.of(), table.getColumns());
+		assertEquals(List.of("id"), table.getSourcePrimaryKey());
+		assertEquals(List.of("id", "customer_id"), table.getDestinationPrimaryKey());
+		assertEquals(List.of(), table.getIndexesOnlyInSource());
+		assertEquals(List.of(), table.getIndexesOnlyInDestination());
+		assertEquals(List.of("(customer_id) -> customers(id)"), table.getForeignKeysOnlyInSource());
+		assertEquals(List.of("(customer_id) -> clients(id)"), table.getForeignKeysOnlyInDestination());
+	}
+
+	private static TableMetadata orders(String schema) {
+		return TableMetadata.builder()
+			.schema(schema)
+			.name("orders")
+			.columns(List.of(
+				column("id", 1, "BIGINT", false, "autoincrement"),
+				column("customer_id", 2, "BIGINT", false, null),
+				column("total", 3, "DECIMAL(10,2)", false, "0"),
+				column("status", 4, "VARCHAR(20)", false, "open")))
+			.primaryKey(List.of("id"))
+			.indexes(List.of(index("idx_orders_customer", false, "customer_id")))
+			.foreignKeys(List.of(foreignKey("fk_orders_customer", "customer_id", "customers", "id")))
+			.build();
+	}
+
+	private static TableMetadata customers(String schema) {
+		return TableMetadata.builder()
+			.schema(schema)
+			.name("customers")
+			.columns(List.of(column("id", 1, "BIGINT", false, "autoincrement"), column("email", 2, "TEXT", true, null)))
+			.primaryKey(List.of("id"))
+			.indexes(List.of(index("uq_customers_email", true, "email")))
+			.foreignKeys(List.of())
+			.build();
+	}
+
+	private static ColumnMetadata column(String name, int position, String type, boolean nullable, String defaultValue) {
+		return ColumnMetadata.builder()
+			.name(name)
+			.position(position)
+			.type(type)
+			.nullable(nullable)
+			.defaultValue(defaultValue)
+			.build();
+	}
+
+	private static IndexMetadata index(String name, boolean unique, String... columns) {
+		return IndexMetadata.builder().name(name).unique(unique).columns(List.of(columns)).build();
+	}
+
+	private static ForeignKeyMetadata foreignKey(String name, String column, String referencedTable,
+												 String referencedColumn) {
+		return ForeignKeyMetadata.builder()
+			.name(name)
+			.columns(List.of(column))
+			.referencedTable(referencedTable)
+			.referencedColumns(List.of(referencedColumn))
+			.build();
+	}
+}
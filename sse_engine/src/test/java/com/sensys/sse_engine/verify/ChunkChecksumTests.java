@@ -0,0 +1,39 @@
+package com.sensys.sse_engine.verify;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ChunkChecksumTests {
+
+	@Test
+	void subtractsCountAndChecksum() {
+		ChunkChecksum range = new ChunkChecksum(10, BigInteger.valueOf(100));
+		assertEquals(new ChunkChecksum(6, BigInteger.valueOf(70)), range.minus(new ChunkChecksum(4, BigInteger.valueOf(30))));
+		assertEquals(new ChunkChecksum(0, BigInteger.ZERO), range.minus(range));
+		assertEquals(range, range.minus(new ChunkChecksum(0, BigInteger.ZERO)));
+	}
+
+	@Test
+	void keepsSumsBeyondTheLongRange() {
+		// Sums of 60-bit row hashes exceed a long after a few thousand rows
+		BigInteger hash = BigInteger.ONE.shiftLeft(60).subtract(BigInteger.ONE);
+		ChunkChecksum lower = new ChunkChecksum(3000, hash.multiply(BigInteger.valueOf(3000)));
+		ChunkChecksum upper = new ChunkChecksum(5000, hash.multiply(BigInteger.valueOf(5000)));
+		ChunkChecksum range = new ChunkChecksum(8000, lower.checksum().add(upper.checksum()));
+		assertEquals(upper, range.minus(lower));
+		assertEquals(lower, range.minus(upper));
+	}
+
+	@Test
+	void upperHalfDiffersWhenRangesDifferOnlyThere() {
+		ChunkChecksum sourceRange = new ChunkChecksum(4, BigInteger.valueOf(40));
+		ChunkChecksum destinationRange = new ChunkChecksum(4, BigInteger.valueOf(41));
+		ChunkChecksum lowerHalf = new ChunkChecksum(2, BigInteger.valueOf(15));
+		assertNotEquals(sourceRange.minus(lowerHalf), destinationRange.minus(lowerHalf));
+		assertEquals(new ChunkChecksum(2, BigInteger.valueOf(26)), destinationRange.minus(lowerHalf));
+	}
+}
@@ -0,0 +1,72 @@
+package com.sensys.sse_engine.verify;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeyRangeTests {
+
+	@Test
+	void splitsIntoChunksOfTheGivenSize() {
+		assertEquals(List.of(new KeyRange(1, 3), new KeyRange(4, 6), new KeyRange(7, 9), new KeyRange(10, 10)),
+			KeyRange.split(1, 10, 3, 100));
+		assertEquals(List.of(new KeyRange(5, 5)), KeyRange.split(5, 5, 1000, 100));
+		assertEquals(List.of(new KeyRange(-3, 0), new KeyRange(1, 2)), KeyRange.split(-3, 2, 4, 100));
+		// A chunk size below 1 counts as 1
+		assertEquals(List.of(new KeyRange(7, 7), new KeyRange(8, 8)), KeyRange.split(7, 8, 0, 100));
+	}
+
+	@Test
+	void widensChunksToStayWithinMaxChunks() {
+		List<KeyRange> ranges = KeyRange.split(0, 999, 1, 10);
+		assertEquals(10, ranges.size());
+		assertEquals(new KeyRange(0, 99), ranges.get(0));
+		assertEquals(new KeyRange(900, 999), ranges.get(9));
+	}
+
+	@Test
+	void splitsTheFullLongRangeWithUnsignedWidths() {
+		long quarter = 1L << 62;
+		assertEquals(List.of(
+				new KeyRange(Long.MIN_VALUE, Long.MIN_VALUE + quarter - 1),
+				new KeyRange(Long.MIN_VALUE + quarter, -1),
+				new KeyRange(0, quarter - 1),
+				new KeyRange(quarter, Long.MAX_VALUE)),
+			KeyRange.split(Long.MIN_VALUE, Long.MAX_VALUE, 1, 4));
+	}
+
+	@Test
+	void stopsAtTheLargestKeyWithoutOverflowing() {
+		assertEquals(List.of(
+				new KeyRange(Long.MAX_VALUE - 4, Long.MAX_VALUE - 3),
+				new KeyRange(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1),
+				new KeyRange(Long.MAX_VALUE, Long.MAX_VALUE)),
+			KeyRange.split(Long.MAX_VALUE - 4, Long.MAX_VALUE, 2, 100));
+		assertEquals(List.of(new KeyRange(Long.MAX_VALUE - 1, Long.MAX_VALUE)),
+			KeyRange.split(Long.MAX_VALUE - 1, Long.MAX_VALUE, Long.MAX_VALUE, 100));
+	}
+
+	@Test
+	void halvesRanges() {
+		assertEquals(new KeyRange(1, 2), new KeyRange(1, 4).lowerHalf());
+		assertEquals(new KeyRange(3, 4), new KeyRange(1, 4).upperHalf());
+		// The lower half takes the middle key of an odd range
+		assertEquals(new KeyRange(1, 3), new KeyRange(1, 5).lowerHalf());
+		assertEquals(new KeyRange(4, 5), new KeyRange(1, 5).upperHalf());
+		assertEquals(new KeyRange(-6, -6), new KeyRange(-6, -5).lowerHalf());
+		assertEquals(new KeyRange(-5, -5), new KeyRange(-6, -5).upperHalf());
+	}
+
+	@Test
+	void halvesRangesWiderThanALong() {
+		KeyRange all = new KeyRange(Long.MIN_VALUE, Long.MAX_VALUE);
+		assertEquals(new KeyRange(Long.MIN_VALUE, -1), all.lowerHalf());
+		assertEquals(new KeyRange(0, Long.MAX_VALUE), all.upperHalf());
+
+		KeyRange top = new KeyRange(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+		assertEquals(new KeyRange(Long.MAX_VALUE - 1, Long.MAX_VALUE - 1), top.lowerHalf());
+		assertEquals(new KeyRange(Long.MAX_VALUE, Long.MAX_VALUE), top.upperHalf());
+	}
+}